@@ -0,0 +1,49 @@
+package com.karandev.paymaster.benchmark;
+
+import com.karandev.paymaster.benchmark.SyntheticPayrolls.Structure;
+import com.karandev.paymaster.calculation.IncomeTaxTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progressive annual income tax over synthetic annual incomes (twelve times a monthly gross).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class IncomeTaxBenchmark {
+
+	private static final int INCOMES = 4_096;
+
+	@Param({"LEGACY", "NEW_REGIME"})
+	private TaxRegime regime;
+
+	private IncomeTaxTable table;
+	private BigDecimal[] annualIncomes;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		table = IncomeTaxTable.compile(SyntheticPayrolls.configuration(regime, "MH"));
+		Structure[] structures = SyntheticPayrolls.structures(new Random(42), INCOMES);
+		annualIncomes = new BigDecimal[INCOMES];
+		for (int i = 0; i < INCOMES; i++) {
+			BigDecimal monthly = structures[i].basic().multiply(new BigDecimal("1.4"));
+			if (structures[i].special() != null) {
+				monthly = monthly.add(structures[i].special());
+			}
+			annualIncomes[i] = monthly.multiply(BigDecimal.valueOf(12));
+		}
+	}
+
+	@Benchmark
+	public BigDecimal calculateProgressiveIncomeTax() {
+		return table.annualTax(annualIncomes[next++ & (INCOMES - 1)]);
+	}
+}
@@ -0,0 +1,70 @@
+package com.karandev.paymaster.benchmark;
+
+import com.karandev.paymaster.benchmark.SyntheticPayrolls.Structure;
+import com.karandev.paymaster.calculation.PayrollAmounts;
+import com.karandev.paymaster.calculation.PayrollBatch;
+import com.karandev.paymaster.calculation.PayrollCalculationEngine;
+import com.karandev.paymaster.calculation.PayrollCalculator;
+import com.karandev.paymaster.calculation.PayrollCalculatorCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly payroll calculation, one employee at a time as the salary-structure API does it and
+ * one checkpoint-sized batch at a time as the payroll run does it. Both report employees per
+ * second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class PayrollCalculationBenchmark {
+
+	private static final int EMPLOYEES = 4_096;
+	private static final int BATCH_SIZE = 100;
+
+	@Param({"DECIMAL", "FIXED_POINT"})
+	private PayrollCalculationEngine engine;
+
+	@Param({"LEGACY", "NEW_REGIME"})
+	private TaxRegime regime;
+
+	private PayrollCalculator calculator;
+	private Structure[] structures;
+	private int[] months;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		calculator = new PayrollCalculatorCache(null, SyntheticPayrolls.professionalTaxRules(), engine)
+				.compile(SyntheticPayrolls.configuration(regime, "MH"));
+		structures = SyntheticPayrolls.structures(random, EMPLOYEES);
+		months = random.ints(EMPLOYEES, 1, 13).toArray();
+	}
+
+	@Benchmark
+	public PayrollAmounts calculatePayroll() {
+		int i = next++ & (EMPLOYEES - 1);
+		Structure structure = structures[i];
+		return calculator.calculate(structure.basic(), structure.special(), structure.bonus(), structure.gender(), months[i]);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public PayrollBatch calculateCheckpointBatch() {
+		int from = next;
+		next += BATCH_SIZE;
+		PayrollBatch batch = new PayrollBatch(BATCH_SIZE, months[from & (EMPLOYEES - 1)]);
+		for (int row = 0; row < BATCH_SIZE; row++) {
+			Structure structure = structures[(from + row) & (EMPLOYEES - 1)];
+			batch.add(structure.basic(), structure.special(), structure.bonus(), structure.gender());
+		}
+		calculator.calculate(batch);
+		return batch;
+	}
+}
@@ -0,0 +1,64 @@
+package com.karandev.paymaster.benchmark;
+
+import com.karandev.paymaster.benchmark.SyntheticPayrolls.Structure;
+import com.karandev.paymaster.calculation.ProfessionalTaxTable;
+import com.karandev.paymaster.entity.Gender;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly Professional Tax lookups per state, on rupee amounts (decimal engine) and on paise
+ * (fixed-point engine).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class ProfessionalTaxBenchmark {
+
+	private static final int EMPLOYEES = 4_096;
+
+	@Param({"MH", "KA", "WB", "GJ", "TS"})
+	private String state;
+
+	private ProfessionalTaxTable table;
+	private BigDecimal[] grossSalaries;
+	private long[] grossPaise;
+	private boolean[] female;
+	private int[] months;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		table = SyntheticPayrolls.professionalTaxRules().forState(state);
+		Structure[] structures = SyntheticPayrolls.structures(random, EMPLOYEES);
+		grossSalaries = new BigDecimal[EMPLOYEES];
+		grossPaise = new long[EMPLOYEES];
+		female = new boolean[EMPLOYEES];
+		for (int i = 0; i < EMPLOYEES; i++) {
+			grossSalaries[i] = structures[i].basic().multiply(new BigDecimal("1.4")).setScale(2, RoundingMode.HALF_UP);
+			grossPaise[i] = grossSalaries[i].movePointRight(2).longValueExact();
+			female[i] = structures[i].gender() == Gender.FEMALE;
+		}
+		months = random.ints(EMPLOYEES, 1, 13).toArray();
+	}
+
+	@Benchmark
+	public BigDecimal calculateProfessionalTax() {
+		int i = next++ & (EMPLOYEES - 1);
+		return table.amount(grossSalaries[i], female[i], months[i]);
+	}
+
+	@Benchmark
+	public long calculateProfessionalTaxInPaise() {
+		int i = next++ & (EMPLOYEES - 1);
+		return table.amount(grossPaise[i], female[i], months[i]);
+	}
+}
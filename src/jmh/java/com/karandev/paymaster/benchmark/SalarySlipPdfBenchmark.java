@@ -0,0 +1,89 @@
+package com.karandev.paymaster.benchmark;
+
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.helper.PdfGenerationService;
+import com.karandev.paymaster.helper.SalarySlipRenderMode;
+import com.karandev.paymaster.helper.SalarySlipTemplateRenderer;
+import com.lowagie.text.DocumentException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Salary-slip rendering with {@link PdfGenerationService#generateSalarySlipPdf}:
+ * <ul>
+ *     <li>{@code renderSlip}: single-thread latency distribution; the average PDF size is
+ *     printed at the end of each fork</li>
+ *     <li>{@code renderSlipsConcurrently}: slips per second with one thread per core, as the
+ *     delivery dispatcher renders them (override the thread count with {@code -t})</li>
+ * </ul>
+ * Allocation per slip is the gc profiler's {@code gc.alloc.rate.norm}. Each is measured for
+ * both {@link SalarySlipRenderMode}s.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SalarySlipPdfBenchmark {
+
+	private static final int SLIPS = 1_024;
+
+	@Param({"FLOW", "TEMPLATE"})
+	private SalarySlipRenderMode renderMode;
+
+	private PdfGenerationService pdfGenerationService;
+	private EmployeePayroll[] payrolls;
+
+	@Setup
+	public void setUp() {
+		pdfGenerationService = new PdfGenerationService(null, new SalarySlipTemplateRenderer(), renderMode, null);
+		payrolls = SyntheticPayrolls.payrolls(new Random(42), SLIPS, 3, 2025);
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int next;
+
+		int next() {
+			return next++ & (SLIPS - 1);
+		}
+	}
+
+	// Printed rather than an aux counter, which JMH would sum over the iterations
+	@State(Scope.Thread)
+	public static class SlipSize {
+		private long slips;
+		private long bytes;
+
+		@TearDown
+		public void report() {
+			if (slips > 0) {
+				System.out.printf("Average salary slip size: %d bytes over %d slips%n", bytes / slips, slips);
+			}
+		}
+
+		void record(byte[] pdf) {
+			slips++;
+			bytes += pdf.length;
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	@Threads(1)
+	public byte[] renderSlip(Cursor cursor, SlipSize size) throws DocumentException {
+		byte[] pdf = pdfGenerationService.generateSalarySlipPdf(payrolls[cursor.next()]);
+		size.record(pdf);
+		return pdf;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@Threads(Threads.MAX)
+	public byte[] renderSlipsConcurrently(Cursor cursor) throws DocumentException {
+		return pdfGenerationService.generateSalarySlipPdf(payrolls[cursor.next()]);
+	}
+}
@@ -0,0 +1,103 @@
+package com.karandev.paymaster.benchmark;
+
+import com.karandev.paymaster.benchmark.SyntheticPayrolls.Structure;
+import com.karandev.paymaster.calculation.PayrollCalculationEngine;
+import com.karandev.paymaster.calculation.PayrollCalculatorCache;
+import com.karandev.paymaster.dto.SalaryStructureRequestDto;
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.EmployeeSalaryStructure;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+import com.karandev.paymaster.repository.EmployeeRepository;
+import com.karandev.paymaster.repository.EmployeeSalaryStructureRepository;
+import com.karandev.paymaster.repository.PayrollConfigurationRepository;
+import com.karandev.paymaster.service.impl.EmployeeSalaryStructureServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Creating a salary structure through {@link EmployeeSalaryStructureServiceImpl}, with the
+ * repositories replaced by in-memory stubs so only the service and calculation are measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class SalaryStructureBenchmark {
+
+	private static final int EMPLOYEES = 4_096;
+
+	@Param({"DECIMAL", "FIXED_POINT"})
+	private PayrollCalculationEngine engine;
+
+	@Param({"LEGACY", "NEW_REGIME"})
+	private TaxRegime regime;
+
+	private EmployeeSalaryStructureServiceImpl service;
+	private SalaryStructureRequestDto[] requests;
+	private EmployeeSalaryStructure saved;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		PayrollConfiguration config = SyntheticPayrolls.configuration(regime, "MH");
+		Structure[] structures = SyntheticPayrolls.structures(new Random(42), EMPLOYEES);
+
+		Map<UUID, Employee> employees = new HashMap<>();
+		requests = new SalaryStructureRequestDto[EMPLOYEES];
+		for (int i = 0; i < EMPLOYEES; i++) {
+			Employee employee = new Employee();
+			employee.setEmployeeId(UUID.randomUUID());
+			employee.setCompany(config.getCompany());
+			employee.setEmpCode("EMP" + i);
+			employee.setName("Employee " + i);
+			employee.setGender(structures[i].gender());
+			employees.put(employee.getEmployeeId(), employee);
+
+			SalaryStructureRequestDto request = new SalaryStructureRequestDto();
+			request.setCompanyId(config.getCompany().getCompanyId());
+			request.setEmployeeId(employee.getEmployeeId());
+			request.setBasicSalary(structures[i].basic());
+			request.setSpecialAllowance(structures[i].special());
+			request.setBonusAmount(structures[i].bonus());
+			requests[i] = request;
+		}
+
+		PayrollConfigurationRepository configRepo = stub(PayrollConfigurationRepository.class, Map.of(
+				"findByCompany_CompanyIdAndIsActiveTrue", args -> Optional.of(config),
+				"findWithIncomeTaxSlabsById", args -> Optional.of(config)));
+		EmployeeRepository employeeRepo = stub(EmployeeRepository.class, Map.of(
+				"findById", args -> Optional.ofNullable(employees.get((UUID) args[0]))));
+		EmployeeSalaryStructureRepository structureRepo = stub(EmployeeSalaryStructureRepository.class, Map.of(
+				"save", args -> saved = (EmployeeSalaryStructure) args[0]));
+
+		service = new EmployeeSalaryStructureServiceImpl(structureRepo, employeeRepo, configRepo,
+				new PayrollCalculatorCache(configRepo, SyntheticPayrolls.professionalTaxRules(), engine));
+	}
+
+	@Benchmark
+	public EmployeeSalaryStructure buildSalaryStructure() {
+		service.setEmployeeSalaryStructure(requests[next++ & (EMPLOYEES - 1)]);
+		return saved;
+	}
+
+	private static <T> T stub(Class<T> repository, Map<String, Function<Object[], Object>> answers) {
+		return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+				(proxy, method, args) -> {
+					Function<Object[], Object> answer = answers.get(method.getName());
+					if (answer == null) {
+						throw new UnsupportedOperationException(repository.getSimpleName() + "." + method.getName());
+					}
+					return answer.apply(args);
+				}));
+	}
+}
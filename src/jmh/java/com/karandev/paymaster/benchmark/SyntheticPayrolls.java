@@ -0,0 +1,151 @@
+package com.karandev.paymaster.benchmark;
+
+import com.karandev.paymaster.calculation.DecimalPayrollCalculator;
+import com.karandev.paymaster.calculation.PayrollCalculator;
+import com.karandev.paymaster.calculation.ProfessionalTaxRules;
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.entity.Gender;
+import com.karandev.paymaster.entity.IncomeTaxSlab;
+import com.karandev.paymaster.entity.IncomeTaxSlabType;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeded synthetic companies and employees shaped like production data: monthly basic pay is
+ * log-normal around ₹25,000 with a long tail to ₹5,00,000, most amounts are whole rupees, a
+ * quarter of the structures have no special allowance and a third no bonus.
+ */
+final class SyntheticPayrolls {
+
+	static final String[] STATES = {"MH", "KA", "WB", "GJ", "TS"};
+
+	private static final String[] FIRST_NAMES = {"Aarav", "Ananya", "Vihaan", "Diya", "Arjun", "Ishita", "Sai",
+			"Kavya", "Rohan", "Meenakshi", "Venkataraman", "Priya"};
+	private static final String[] LAST_NAMES = {"Sharma", "Iyer", "Patel", "Reddy", "Mukherjee", "Deshpande",
+			"Nair", "Khan", "Subramanian", "Gupta"};
+	private static final String[] DESIGNATIONS = {"Software Engineer", "Senior Accountant", "HR Executive",
+			"Sales Manager", "Operations Lead", "Associate"};
+	private static final String[] DEPARTMENTS = {"Engineering", "Finance", "Human Resources", "Sales", "Operations", null};
+
+	private SyntheticPayrolls() {
+	}
+
+	record Structure(BigDecimal basic, BigDecimal special, BigDecimal bonus, Gender gender) {
+	}
+
+	static ProfessionalTaxRules professionalTaxRules() {
+		return new ProfessionalTaxRules(new ClassPathResource("professional-tax-rules.json"));
+	}
+
+	static PayrollConfiguration configuration(TaxRegime regime, String state) {
+		Company company = new Company();
+		company.setCompanyId(UUID.randomUUID());
+		company.setName("Benchmark " + state);
+		company.setState(state);
+
+		PayrollConfiguration config = new PayrollConfiguration();
+		config.setPayrollConfigurationId(UUID.randomUUID());
+		config.setCompany(company);
+		config.setHraApplicable(true);
+		config.setHraPercentage(new BigDecimal("40"));
+		config.setConveyanceApplicable(true);
+		config.setConveyanceAmount(new BigDecimal("1600"));
+		config.setMedicalApplicable(true);
+		config.setMedicalAllowanceAmount(new BigDecimal("1250"));
+		config.setPfApplicable(true);
+		config.setPfEmployeePercentage(new BigDecimal("12"));
+		config.setPfEmployerPercentage(new BigDecimal("12"));
+		config.setEsiApplicable(true);
+		config.setEsiEmployeePercentage(new BigDecimal("0.75"));
+		config.setEsiEmployerPercentage(new BigDecimal("3.25"));
+
+		if (regime == TaxRegime.LEGACY) {
+			config.setTaxSlab1Limit(new BigDecimal("250000"));
+			config.setTaxSlab1Rate(BigDecimal.ZERO);
+			config.setTaxSlab2Limit(new BigDecimal("500000"));
+			config.setTaxSlab2Rate(new BigDecimal("5"));
+			config.setTaxSlab3Rate(new BigDecimal("20"));
+		} else {
+			slab(config, IncomeTaxSlabType.TAX, "0", "0");
+			slab(config, IncomeTaxSlabType.TAX, "300000", "5");
+			slab(config, IncomeTaxSlabType.TAX, "700000", "10");
+			slab(config, IncomeTaxSlabType.TAX, "1000000", "15");
+			slab(config, IncomeTaxSlabType.TAX, "1200000", "20");
+			slab(config, IncomeTaxSlabType.TAX, "1500000", "30");
+			slab(config, IncomeTaxSlabType.SURCHARGE, "5000000", "10");
+			slab(config, IncomeTaxSlabType.SURCHARGE, "10000000", "15");
+			slab(config, IncomeTaxSlabType.SURCHARGE, "20000000", "25");
+			config.setTaxCessPercentage(new BigDecimal("4"));
+		}
+		return config;
+	}
+
+	static Structure[] structures(Random random, int count) {
+		Structure[] structures = new Structure[count];
+		for (int i = 0; i < count; i++) {
+			BigDecimal basic = monthlyAmount(random, 25_000, 8_000, 5_00_000);
+			BigDecimal special = random.nextInt(4) == 0 ? null : monthlyAmount(random, 6_000, 500, 1_00_000);
+			BigDecimal bonus = random.nextInt(3) == 0 ? null : monthlyAmount(random, 2_000, 100, 50_000);
+			Gender gender = random.nextInt(10) < 4 ? Gender.FEMALE : Gender.MALE;
+			structures[i] = new Structure(basic, special, bonus, gender);
+		}
+		return structures;
+	}
+
+	/**
+	 * Generated payrolls of one company for month/year, calculated by the decimal engine.
+	 */
+	static EmployeePayroll[] payrolls(Random random, int count, int month, int year) {
+		PayrollConfiguration config = configuration(TaxRegime.NEW_REGIME, "MH");
+		Company company = config.getCompany();
+		company.setName("Sahyadri Infotech Private Limited");
+		company.setAddress("4th Floor, Tower B, Magarpatta City, Hadapsar, Pune, Maharashtra 411013");
+		PayrollCalculator calculator = DecimalPayrollCalculator.compile(config, professionalTaxRules().forState("MH"));
+
+		Structure[] structures = structures(random, count);
+		EmployeePayroll[] payrolls = new EmployeePayroll[count];
+		for (int i = 0; i < count; i++) {
+			Employee employee = new Employee();
+			employee.setEmployeeId(UUID.randomUUID());
+			employee.setCompany(company);
+			employee.setEmpCode(String.format("EMP%05d", i));
+			employee.setName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+			employee.setDesignation(DESIGNATIONS[random.nextInt(DESIGNATIONS.length)]);
+			employee.setDepartment(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+			employee.setGender(structures[i].gender());
+
+			EmployeePayroll payroll = new EmployeePayroll();
+			payroll.setPayRollId(UUID.randomUUID());
+			payroll.setCompany(company);
+			payroll.setEmployee(employee);
+			payroll.setMonth(month);
+			payroll.setYear(year);
+			calculator.calculate(structures[i].basic(), structures[i].special(), structures[i].bonus(),
+					structures[i].gender(), month).applyTo(payroll);
+			payrolls[i] = payroll;
+		}
+		return payrolls;
+	}
+
+	// Log-normal around the median, clamped; one amount in ten carries paise
+	private static BigDecimal monthlyAmount(Random random, double median, double min, double max) {
+		double rupees = Math.min(max, Math.max(min, median * Math.exp(0.6 * random.nextGaussian())));
+		BigDecimal amount = BigDecimal.valueOf(Math.round(rupees));
+		return random.nextInt(10) == 0 ? amount.add(BigDecimal.valueOf(random.nextInt(100), 2)) : amount;
+	}
+
+	private static void slab(PayrollConfiguration config, IncomeTaxSlabType type, String from, String rate) {
+		IncomeTaxSlab slab = new IncomeTaxSlab();
+		slab.setPayrollConfiguration(config);
+		slab.setType(type);
+		slab.setFromAmount(new BigDecimal(from));
+		slab.setRate(new BigDecimal(rate));
+		config.getIncomeTaxSlabs().add(slab);
+	}
+}
@@ -0,0 +1,11 @@
+package com.karandev.paymaster.benchmark;
+
+/**
+ * Income-tax set-up of the synthetic payroll configuration.
+ */
+public enum TaxRegime {
+	/** Three slabs in the legacy {@code taxSlab1..3} columns. */
+	LEGACY,
+	/** Six income-tax slabs with surcharge and 4% cess. */
+	NEW_REGIME
+}
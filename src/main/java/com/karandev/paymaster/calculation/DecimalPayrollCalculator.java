@@ -0,0 +1,143 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.Gender;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+
+/**
+ * {@link PayrollCalculator} working on {@link BigDecimal} rupees. This is the reference engine:
+ * it accepts any precision in the configuration and salary structure.
+ */
+public final class DecimalPayrollCalculator implements PayrollCalculator {
+
+    private static final BigDecimal ZERO = BigDecimal.ZERO;
+    private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+    private static final BigDecimal ESI_LIMIT = new BigDecimal("21000");
+    private static final BigDecimal DEFAULT_ESI_EMPLOYEE_PERCENTAGE = new BigDecimal("0.75");
+    private static final BigDecimal DEFAULT_ESI_EMPLOYER_PERCENTAGE = new BigDecimal("3.25");
+
+    private final UUID configurationId;
+
+    // Rates are stored as fractions (percentage / 100); null means "not applicable"
+    private final BigDecimal hraRate;
+    private final BigDecimal conveyance;
+    private final BigDecimal medical;
+    private final BigDecimal pfEmployeeRate;
+    private final BigDecimal pfEmployerRate;
+    private final boolean esiApplicable;
+    private final BigDecimal esiEmployeeRate;
+    private final BigDecimal esiEmployerRate;
+
+    // Null when the configuration has no income tax
+    private final IncomeTaxTable incomeTaxTable;
+    private final ProfessionalTaxTable professionalTaxTable;
+
+    private DecimalPayrollCalculator(PayrollConfiguration config, ProfessionalTaxTable professionalTaxTable) {
+        this.configurationId = config.getPayrollConfigurationId();
+
+        this.hraRate = Boolean.TRUE.equals(config.getHraApplicable()) ? fraction(config.getHraPercentage()) : null;
+        this.conveyance = Boolean.TRUE.equals(config.getConveyanceApplicable()) && config.getConveyanceAmount() != null
+                ? config.getConveyanceAmount() : ZERO;
+        this.medical = Boolean.TRUE.equals(config.getMedicalApplicable()) && config.getMedicalAllowanceAmount() != null
+                ? config.getMedicalAllowanceAmount() : ZERO;
+
+        boolean pfApplicable = Boolean.TRUE.equals(config.getPfApplicable());
+        this.pfEmployeeRate = pfApplicable ? fraction(config.getPfEmployeePercentage()) : null;
+        this.pfEmployerRate = pfApplicable ? fraction(config.getPfEmployerPercentage()) : null;
+
+        this.esiApplicable = Boolean.TRUE.equals(config.getEsiApplicable());
+        this.esiEmployeeRate = fraction(config.getEsiEmployeePercentage() != null
+                ? config.getEsiEmployeePercentage() : DEFAULT_ESI_EMPLOYEE_PERCENTAGE);
+        this.esiEmployerRate = fraction(config.getEsiEmployerPercentage() != null
+                ? config.getEsiEmployerPercentage() : DEFAULT_ESI_EMPLOYER_PERCENTAGE);
+
+        this.incomeTaxTable = IncomeTaxTable.compile(config);
+        this.professionalTaxTable = professionalTaxTable;
+    }
+
+    public static DecimalPayrollCalculator compile(PayrollConfiguration config, ProfessionalTaxTable professionalTaxTable) {
+        return new DecimalPayrollCalculator(config, professionalTaxTable);
+    }
+
+    @Override
+    public UUID getConfigurationId() {
+        return configurationId;
+    }
+
+    @Override
+    public ProfessionalTaxTable getProfessionalTaxTable() {
+        return professionalTaxTable;
+    }
+
+    @Override
+    public PayrollAmounts calculate(BigDecimal basicSalary, BigDecimal specialAllowance, BigDecimal bonusAmount,
+                                    Gender gender, int month) {
+        BigDecimal basic = nullSafe(basicSalary);
+        BigDecimal special = nullSafe(specialAllowance);
+        BigDecimal bonus = nullSafe(bonusAmount);
+
+        BigDecimal hra = hraRate != null ? percentOf(basic, hraRate) : ZERO;
+
+        BigDecimal grossSalary = basic
+                .add(hra)
+                .add(conveyance)
+                .add(medical)
+                .add(special)
+                .add(bonus);
+
+        BigDecimal pfEmployee = pfEmployeeRate != null ? percentOf(basic, pfEmployeeRate) : ZERO;
+        BigDecimal pfEmployer = pfEmployerRate != null ? percentOf(basic, pfEmployerRate) : ZERO;
+
+        BigDecimal esiEmployee = ZERO;
+        BigDecimal esiEmployer = ZERO;
+        if (esiApplicable && grossSalary.compareTo(ESI_LIMIT) <= 0) {
+            esiEmployee = percentOf(grossSalary, esiEmployeeRate);
+            esiEmployer = percentOf(grossSalary, esiEmployerRate);
+        }
+
+        BigDecimal professionalTax = professionalTaxTable.amount(grossSalary, gender == Gender.FEMALE, month);
+        BigDecimal incomeTax = monthlyIncomeTax(grossSalary);
+
+        BigDecimal netSalary = grossSalary.subtract(pfEmployee
+                .add(esiEmployee)
+                .add(professionalTax)
+                .add(incomeTax));
+
+        return new PayrollAmounts(basic, hra, conveyance, medical, special, bonus, grossSalary,
+                pfEmployee, pfEmployer, esiEmployee, esiEmployer, professionalTax, incomeTax, netSalary);
+    }
+
+    @Override
+    public PayrollAmounts forMonth(PayrollAmounts calculated, Gender gender, int month) {
+        return calculated.withProfessionalTax(
+                professionalTaxTable.amount(calculated.grossSalary(), gender == Gender.FEMALE, month));
+    }
+
+    public BigDecimal monthlyIncomeTax(BigDecimal grossSalary) {
+        BigDecimal annualGross = grossSalary.multiply(TWELVE);
+        if (incomeTaxTable == null || annualGross.compareTo(ZERO) <= 0) {
+            return ZERO;
+        }
+        return incomeTaxTable.annualTax(annualGross).divide(TWELVE, 2, RoundingMode.HALF_UP);
+    }
+
+    IncomeTaxTable getIncomeTaxTable() {
+        return incomeTaxTable;
+    }
+
+    // amount * percentage / 100, rounded HALF_UP to paise
+    private static BigDecimal percentOf(BigDecimal amount, BigDecimal rate) {
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal fraction(BigDecimal percentage) {
+        return percentage != null ? percentage.movePointLeft(2) : null;
+    }
+
+    private static BigDecimal nullSafe(BigDecimal value) {
+        return value != null ? value : ZERO;
+    }
+}
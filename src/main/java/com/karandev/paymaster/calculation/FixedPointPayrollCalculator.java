@@ -0,0 +1,392 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.Gender;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * {@link PayrollCalculator} working on {@code long} paise with explicit HALF_UP rounding.
+ * Percentages are held in hundredths of a percent, so every rate and amount that fits in two
+ * decimal places is exact and the results match {@link DecimalPayrollCalculator} to the paisa.
+ * <p>
+ * {@link #calculate(long, long, long, boolean, int, long[])} does not allocate. The
+ * {@link BigDecimal} overload converts at the boundary and hands inputs with sub-paisa
+ * precision, or amounts that would overflow, to the decimal engine.
+ */
+public final class FixedPointPayrollCalculator implements PayrollCalculator {
+
+    // Output slots of calculate(long, long, long, boolean, int, long[])
+    public static final int HRA = 0;
+    public static final int CONVEYANCE = 1;
+    public static final int MEDICAL = 2;
+    public static final int GROSS = 3;
+    public static final int PF_EMPLOYEE = 4;
+    public static final int PF_EMPLOYER = 5;
+    public static final int ESI_EMPLOYEE = 6;
+    public static final int ESI_EMPLOYER = 7;
+    public static final int PROFESSIONAL_TAX = 8;
+    public static final int INCOME_TAX = 9;
+    public static final int NET = 10;
+    public static final int OUTPUT_SIZE = 11;
+
+    private static final long RATE_SCALE = 100 * 100; // hundredths of a percent
+    private static final long NOT_APPLICABLE = Long.MIN_VALUE;
+    private static final long MAX_RATE = 100_00; // 100%
+    // Amounts up to ₹1,000 crore keep every product of the columnar path within a long
+    private static final long MAX_BATCH_AMOUNT = 1_000_000_000_000L;
+    private static final long MAX_BATCH_SLAB = 100 * MAX_BATCH_AMOUNT;
+    private static final long ESI_LIMIT = 21_000_00;
+
+    private final DecimalPayrollCalculator fallback;
+    private final ProfessionalTaxTable professionalTaxTable;
+
+    // Amounts in paise, rates in hundredths of a percent
+    private final long hraRate;
+    private final long conveyance;
+    private final long medical;
+    private final long pfEmployeeRate;
+    private final long pfEmployerRate;
+    private final boolean esiApplicable;
+    private final long esiEmployeeRate;
+    private final long esiEmployerRate;
+
+    // Income-tax table in paise, see IncomeTaxTable
+    private final boolean incomeTaxApplicable;
+    private final long[] taxLowerBounds;
+    private final long[] taxRates;
+    private final long[] taxAtLowerBound;
+    private final long[] surchargeThresholds;
+    private final long[] surchargeRates;
+    private final long cessRate;
+
+    // Whether the columnar path may skip overflow checks for inputs up to MAX_BATCH_AMOUNT
+    private final boolean batchSafe;
+
+    private FixedPointPayrollCalculator(PayrollConfiguration config, ProfessionalTaxTable professionalTaxTable) {
+        this.fallback = DecimalPayrollCalculator.compile(config, professionalTaxTable);
+        this.professionalTaxTable = professionalTaxTable;
+
+        this.hraRate = Boolean.TRUE.equals(config.getHraApplicable()) && config.getHraPercentage() != null
+                ? rate(config.getHraPercentage()) : NOT_APPLICABLE;
+        this.conveyance = Boolean.TRUE.equals(config.getConveyanceApplicable())
+                ? paise(config.getConveyanceAmount()) : 0;
+        this.medical = Boolean.TRUE.equals(config.getMedicalApplicable())
+                ? paise(config.getMedicalAllowanceAmount()) : 0;
+
+        boolean pfApplicable = Boolean.TRUE.equals(config.getPfApplicable());
+        this.pfEmployeeRate = pfApplicable && config.getPfEmployeePercentage() != null
+                ? rate(config.getPfEmployeePercentage()) : NOT_APPLICABLE;
+        this.pfEmployerRate = pfApplicable && config.getPfEmployerPercentage() != null
+                ? rate(config.getPfEmployerPercentage()) : NOT_APPLICABLE;
+
+        this.esiApplicable = Boolean.TRUE.equals(config.getEsiApplicable());
+        this.esiEmployeeRate = config.getEsiEmployeePercentage() != null ? rate(config.getEsiEmployeePercentage()) : 75;
+        this.esiEmployerRate = config.getEsiEmployerPercentage() != null ? rate(config.getEsiEmployerPercentage()) : 325;
+
+        IncomeTaxTable table = fallback.getIncomeTaxTable();
+        this.incomeTaxApplicable = table != null;
+        this.taxLowerBounds = table != null ? paise(table.lowerBounds()) : new long[]{0};
+        this.taxRates = table != null ? rates(table.percentages()) : new long[]{0};
+        this.taxAtLowerBound = new long[taxLowerBounds.length];
+        for (int i = 1; i < taxLowerBounds.length; i++) {
+            taxAtLowerBound[i] = Math.addExact(taxAtLowerBound[i - 1],
+                    percentOf(Math.subtractExact(taxLowerBounds[i], taxLowerBounds[i - 1]), taxRates[i - 1]));
+        }
+        this.surchargeThresholds = table != null ? paise(table.surchargeThresholds()) : new long[0];
+        this.surchargeRates = table != null ? rates(table.surchargePercentages()) : new long[0];
+        this.cessRate = table != null && table.cessPercentage() != null ? rate(table.cessPercentage()) : NOT_APPLICABLE;
+
+        this.batchSafe = rateWithinBatchLimit(hraRate) && rateWithinBatchLimit(pfEmployeeRate)
+                && rateWithinBatchLimit(pfEmployerRate) && rateWithinBatchLimit(esiEmployeeRate)
+                && rateWithinBatchLimit(esiEmployerRate) && rateWithinBatchLimit(cessRate)
+                && ratesWithinBatchLimit(taxRates) && ratesWithinBatchLimit(surchargeRates)
+                && conveyance >= 0 && conveyance <= MAX_BATCH_AMOUNT
+                && medical >= 0 && medical <= MAX_BATCH_AMOUNT
+                && taxLowerBounds[taxLowerBounds.length - 1] <= MAX_BATCH_SLAB;
+    }
+
+    /**
+     * Compiles the configuration, or returns null when one of its amounts or rates has more
+     * than two decimal places or does not fit in paise.
+     */
+    public static FixedPointPayrollCalculator compile(PayrollConfiguration config, ProfessionalTaxTable professionalTaxTable) {
+        try {
+            return new FixedPointPayrollCalculator(config, professionalTaxTable);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public UUID getConfigurationId() {
+        return fallback.getConfigurationId();
+    }
+
+    @Override
+    public ProfessionalTaxTable getProfessionalTaxTable() {
+        return professionalTaxTable;
+    }
+
+    @Override
+    public PayrollAmounts calculate(BigDecimal basicSalary, BigDecimal specialAllowance, BigDecimal bonusAmount,
+                                    Gender gender, int month) {
+        long[] out = new long[OUTPUT_SIZE];
+        long basic;
+        long special;
+        long bonus;
+        try {
+            basic = paise(basicSalary);
+            special = paise(specialAllowance);
+            bonus = paise(bonusAmount);
+            calculate(basic, special, bonus, gender == Gender.FEMALE, month, out);
+        } catch (ArithmeticException e) {
+            return fallback.calculate(basicSalary, specialAllowance, bonusAmount, gender, month);
+        }
+
+        return new PayrollAmounts(rupees(basic), rupees(out[HRA]), rupees(out[CONVEYANCE]), rupees(out[MEDICAL]),
+                rupees(special), rupees(bonus), rupees(out[GROSS]),
+                rupees(out[PF_EMPLOYEE]), rupees(out[PF_EMPLOYER]),
+                rupees(out[ESI_EMPLOYEE]), rupees(out[ESI_EMPLOYER]),
+                rupees(out[PROFESSIONAL_TAX]), rupees(out[INCOME_TAX]), rupees(out[NET]));
+    }
+
+    @Override
+    public PayrollAmounts forMonth(PayrollAmounts calculated, Gender gender, int month) {
+        return fallback.forMonth(calculated, gender, month);
+    }
+
+    /**
+     * Calculates one employee's payroll from amounts in paise into {@code out}, indexed by the
+     * slot constants of this class.
+     *
+     * @throws ArithmeticException if an intermediate amount overflows a {@code long}
+     */
+    public void calculate(long basic, long special, long bonus, boolean female, int month, long[] out) {
+        long hra = hraRate != NOT_APPLICABLE ? percentOf(basic, hraRate) : 0;
+
+        long grossSalary = Math.addExact(Math.addExact(Math.addExact(basic, hra), conveyance + medical),
+                Math.addExact(special, bonus));
+
+        long pfEmployee = pfEmployeeRate != NOT_APPLICABLE ? percentOf(basic, pfEmployeeRate) : 0;
+        long pfEmployer = pfEmployerRate != NOT_APPLICABLE ? percentOf(basic, pfEmployerRate) : 0;
+
+        long esiEmployee = 0;
+        long esiEmployer = 0;
+        if (esiApplicable && grossSalary <= ESI_LIMIT) {
+            esiEmployee = percentOf(grossSalary, esiEmployeeRate);
+            esiEmployer = percentOf(grossSalary, esiEmployerRate);
+        }
+
+        long professionalTax = professionalTaxTable.amount(grossSalary, female, month);
+        long incomeTax = monthlyIncomeTax(grossSalary);
+
+        out[HRA] = hra;
+        out[CONVEYANCE] = conveyance;
+        out[MEDICAL] = medical;
+        out[GROSS] = grossSalary;
+        out[PF_EMPLOYEE] = pfEmployee;
+        out[PF_EMPLOYER] = pfEmployer;
+        out[ESI_EMPLOYEE] = esiEmployee;
+        out[ESI_EMPLOYER] = esiEmployer;
+        out[PROFESSIONAL_TAX] = professionalTax;
+        out[INCOME_TAX] = incomeTax;
+        out[NET] = grossSalary - pfEmployee - esiEmployee - professionalTax - incomeTax;
+    }
+
+    /**
+     * Calculates the batch one column at a time. Each loop runs over primitive arrays with
+     * loop-invariant rates, which the JIT can unroll and vectorise. Overflow cannot occur for
+     * inputs up to {@link #MAX_BATCH_AMOUNT}; larger inputs, or configurations outside the
+     * validated rate ranges, are calculated row by row with overflow checks instead.
+     */
+    @Override
+    public void calculate(PayrollBatch batch) {
+        if (!batchSafe || !batch.inputsWithin(MAX_BATCH_AMOUNT)) {
+            calculateRows(batch);
+            return;
+        }
+
+        int size = batch.size();
+        int month = batch.month();
+        long[] basic = batch.basic;
+        long[] special = batch.special;
+        long[] bonus = batch.bonus;
+        boolean[] female = batch.female;
+        long[] hra = batch.hra;
+        long[] gross = batch.gross;
+        long[] pfEmployee = batch.pfEmployee;
+        long[] pfEmployer = batch.pfEmployer;
+        long[] esiEmployee = batch.esiEmployee;
+        long[] esiEmployer = batch.esiEmployer;
+        long[] professionalTax = batch.professionalTax;
+        long[] incomeTax = batch.incomeTax;
+        long[] net = batch.net;
+
+        fill(hra, size, basic, hraRate);
+        Arrays.fill(batch.conveyance, 0, size, conveyance);
+        Arrays.fill(batch.medical, 0, size, medical);
+
+        long fixedAllowances = conveyance + medical;
+        for (int i = 0; i < size; i++) {
+            gross[i] = basic[i] + hra[i] + fixedAllowances + special[i] + bonus[i];
+        }
+
+        fill(pfEmployee, size, basic, pfEmployeeRate);
+        fill(pfEmployer, size, basic, pfEmployerRate);
+
+        if (esiApplicable) {
+            for (int i = 0; i < size; i++) {
+                boolean covered = gross[i] <= ESI_LIMIT;
+                esiEmployee[i] = covered ? roundRate(gross[i] * esiEmployeeRate) : 0;
+                esiEmployer[i] = covered ? roundRate(gross[i] * esiEmployerRate) : 0;
+            }
+        } else {
+            Arrays.fill(esiEmployee, 0, size, 0);
+            Arrays.fill(esiEmployer, 0, size, 0);
+        }
+
+        ProfessionalTaxTable professionalTaxTable = this.professionalTaxTable;
+        for (int i = 0; i < size; i++) {
+            professionalTax[i] = professionalTaxTable.amount(gross[i], female[i], month);
+        }
+
+        if (incomeTaxApplicable) {
+            for (int i = 0; i < size; i++) {
+                long annualGross = gross[i] * 12;
+                incomeTax[i] = annualGross > 0 ? roundHalfUp(annualIncomeTax(annualGross), 12) : 0;
+            }
+        } else {
+            Arrays.fill(incomeTax, 0, size, 0);
+        }
+
+        for (int i = 0; i < size; i++) {
+            net[i] = gross[i] - pfEmployee[i] - esiEmployee[i] - professionalTax[i] - incomeTax[i];
+        }
+    }
+
+    private void calculateRows(PayrollBatch batch) {
+        long[] out = new long[OUTPUT_SIZE];
+        try {
+            for (int row = 0; row < batch.size(); row++) {
+                calculate(batch.basic[row], batch.special[row], batch.bonus[row], batch.female[row], batch.month(), out);
+                batch.hra[row] = out[HRA];
+                batch.conveyance[row] = out[CONVEYANCE];
+                batch.medical[row] = out[MEDICAL];
+                batch.gross[row] = out[GROSS];
+                batch.pfEmployee[row] = out[PF_EMPLOYEE];
+                batch.pfEmployer[row] = out[PF_EMPLOYER];
+                batch.esiEmployee[row] = out[ESI_EMPLOYEE];
+                batch.esiEmployer[row] = out[ESI_EMPLOYER];
+                batch.professionalTax[row] = out[PROFESSIONAL_TAX];
+                batch.incomeTax[row] = out[INCOME_TAX];
+                batch.net[row] = out[NET];
+            }
+        } catch (ArithmeticException e) {
+            fallback.calculate(batch);
+        }
+    }
+
+    private static void fill(long[] column, int size, long[] base, long rate) {
+        if (rate == NOT_APPLICABLE) {
+            Arrays.fill(column, 0, size, 0);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            column[i] = roundRate(base[i] * rate);
+        }
+    }
+
+    public long monthlyIncomeTax(long grossSalary) {
+        long annualGross = Math.multiplyExact(grossSalary, 12L);
+        if (!incomeTaxApplicable || annualGross <= 0) {
+            return 0;
+        }
+        return roundHalfUp(annualIncomeTax(annualGross), 12);
+    }
+
+    public long annualIncomeTax(long annualIncome) {
+        int slab = slabOf(taxLowerBounds, annualIncome);
+        long tax = taxAtLowerBound[slab] + percentOf(annualIncome - taxLowerBounds[slab], taxRates[slab]);
+
+        if (surchargeThresholds.length > 0 && annualIncome > surchargeThresholds[0]) {
+            tax += percentOf(tax, surchargeRates[slabOf(surchargeThresholds, annualIncome)]);
+        }
+        if (cessRate != NOT_APPLICABLE) {
+            tax += percentOf(tax, cessRate);
+        }
+        return tax;
+    }
+
+    // Last index whose bound lies below the income, or 0
+    private static int slabOf(long[] bounds, long income) {
+        int low = 0;
+        int high = bounds.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (bounds[mid] < income) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // amount * (rate / 100) percent, rounded HALF_UP to paise
+    private static long percentOf(long amount, long rate) {
+        return roundHalfUp(Math.multiplyExact(amount, rate), RATE_SCALE);
+    }
+
+    private static long roundRate(long product) {
+        return roundHalfUp(product, RATE_SCALE);
+    }
+
+    private static boolean ratesWithinBatchLimit(long[] rates) {
+        for (long rate : rates) {
+            if (!rateWithinBatchLimit(rate)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean rateWithinBatchLimit(long rate) {
+        return rate == NOT_APPLICABLE || (rate >= 0 && rate <= MAX_RATE);
+    }
+
+    private static long roundHalfUp(long value, long divisor) {
+        long half = divisor / 2;
+        return value >= 0 ? (value + half) / divisor : -((-value + half) / divisor);
+    }
+
+    private static long rate(BigDecimal percentage) {
+        return percentage != null ? percentage.movePointRight(2).longValueExact() : 0;
+    }
+
+    private static long[] rates(BigDecimal[] percentages) {
+        long[] rates = new long[percentages.length];
+        for (int i = 0; i < percentages.length; i++) {
+            rates[i] = rate(percentages[i]);
+        }
+        return rates;
+    }
+
+    private static long[] paise(BigDecimal[] amounts) {
+        long[] paise = new long[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            paise[i] = paise(amounts[i]);
+        }
+        return paise;
+    }
+
+    private static long paise(BigDecimal rupees) {
+        return rupees != null ? rupees.movePointRight(2).longValueExact() : 0;
+    }
+
+    private static BigDecimal rupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
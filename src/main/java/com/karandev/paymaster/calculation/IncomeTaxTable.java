@@ -0,0 +1,168 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.IncomeTaxSlab;
+import com.karandev.paymaster.entity.IncomeTaxSlabType;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A configuration's annual income-tax slabs compiled into sorted arrays, with the tax due at
+ * every slab boundary precomputed. Annual tax is one binary search for the slab plus one
+ * multiply for the part of the income inside it; surcharge and cess, when configured, are a
+ * further lookup and multiply each.
+ * <p>
+ * Configurations without {@link IncomeTaxSlab} rows use the legacy {@code taxSlab1..3}
+ * columns: slab 1 from zero, slab 2 from {@code taxSlab1Limit}, slab 3 from
+ * {@code taxSlab2Limit}. {@code taxSlab3Limit} has never bounded slab 3.
+ */
+public final class IncomeTaxTable {
+
+    private static final BigDecimal ZERO = BigDecimal.ZERO;
+
+    // Slab i taxes income above lowerBounds[i] at percentages[i] until lowerBounds[i + 1]
+    private final BigDecimal[] lowerBounds;
+    private final BigDecimal[] percentages;
+    private final BigDecimal[] taxAtLowerBound;
+
+    private final BigDecimal[] surchargeThresholds;
+    private final BigDecimal[] surchargePercentages;
+    private final BigDecimal cessPercentage;
+
+    private IncomeTaxTable(List<BigDecimal[]> slabs, List<BigDecimal[]> surcharges, BigDecimal cessPercentage) {
+        int size = slabs.size();
+        this.lowerBounds = new BigDecimal[size];
+        this.percentages = new BigDecimal[size];
+        this.taxAtLowerBound = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            lowerBounds[i] = slabs.get(i)[0];
+            percentages[i] = slabs.get(i)[1];
+            taxAtLowerBound[i] = i == 0 ? ZERO
+                    : taxAtLowerBound[i - 1].add(percentOf(lowerBounds[i].subtract(lowerBounds[i - 1]), percentages[i - 1]));
+        }
+
+        this.surchargeThresholds = new BigDecimal[surcharges.size()];
+        this.surchargePercentages = new BigDecimal[surcharges.size()];
+        for (int i = 0; i < surcharges.size(); i++) {
+            surchargeThresholds[i] = surcharges.get(i)[0];
+            surchargePercentages[i] = surcharges.get(i)[1];
+        }
+        this.cessPercentage = cessPercentage;
+    }
+
+    /**
+     * Compiles the configuration's income-tax table, or returns null when the configuration
+     * has no income tax.
+     *
+     * @throws IllegalArgumentException if the slab rows are inconsistent
+     */
+    public static IncomeTaxTable compile(PayrollConfiguration config) {
+        List<BigDecimal[]> slabs = new ArrayList<>();
+        List<BigDecimal[]> surcharges = new ArrayList<>();
+
+        List<IncomeTaxSlab> rows = config.getIncomeTaxSlabs() != null ? config.getIncomeTaxSlabs() : List.of();
+        for (IncomeTaxSlab row : rows) {
+            if (row.getFromAmount() == null || row.getRate() == null) {
+                throw new IllegalArgumentException("Income tax slab start amount and rate are required");
+            }
+            BigDecimal[] slab = {row.getFromAmount(), row.getRate()};
+            (row.getType() == IncomeTaxSlabType.SURCHARGE ? surcharges : slabs).add(slab);
+        }
+        slabs.sort(Comparator.comparing(slab -> slab[0]));
+        surcharges.sort(Comparator.comparing(slab -> slab[0]));
+
+        if (slabs.isEmpty()) {
+            if (config.getTaxSlab1Limit() == null) {
+                return null;
+            }
+            BigDecimal slab1Limit = config.getTaxSlab1Limit();
+            BigDecimal slab2Limit = nullSafe(config.getTaxSlab2Limit()).max(slab1Limit);
+            slabs.add(new BigDecimal[]{ZERO, nullSafe(config.getTaxSlab1Rate())});
+            slabs.add(new BigDecimal[]{slab1Limit, nullSafe(config.getTaxSlab2Rate())});
+            slabs.add(new BigDecimal[]{slab2Limit, nullSafe(config.getTaxSlab3Rate())});
+        } else {
+            validate(slabs, "Income tax");
+        }
+        if (!surcharges.isEmpty()) {
+            validate(surcharges, "Surcharge");
+        }
+
+        return new IncomeTaxTable(slabs, surcharges, config.getTaxCessPercentage());
+    }
+
+    private static void validate(List<BigDecimal[]> slabs, String kind) {
+        if (kind.equals("Income tax") && slabs.get(0)[0].signum() != 0) {
+            throw new IllegalArgumentException("The first income tax slab must start at 0");
+        }
+        for (int i = 0; i < slabs.size(); i++) {
+            BigDecimal[] slab = slabs.get(i);
+            if (slab[0].signum() < 0 || slab[1].signum() < 0 || slab[1].compareTo(BigDecimal.valueOf(100)) > 0) {
+                throw new IllegalArgumentException(kind + " slabs need a start amount >= 0 and a rate between 0 and 100");
+            }
+            if (i > 0 && slab[0].compareTo(slabs.get(i - 1)[0]) == 0) {
+                throw new IllegalArgumentException(kind + " slabs must start at distinct amounts: " + slab[0]);
+            }
+        }
+    }
+
+    public BigDecimal annualTax(BigDecimal annualIncome) {
+        int slab = slabOf(lowerBounds, annualIncome);
+        BigDecimal tax = taxAtLowerBound[slab]
+                .add(percentOf(annualIncome.subtract(lowerBounds[slab]), percentages[slab]));
+
+        if (surchargeThresholds.length > 0 && annualIncome.compareTo(surchargeThresholds[0]) > 0) {
+            tax = tax.add(percentOf(tax, surchargePercentages[slabOf(surchargeThresholds, annualIncome)]));
+        }
+        if (cessPercentage != null) {
+            tax = tax.add(percentOf(tax, cessPercentage));
+        }
+        return tax;
+    }
+
+    // Last index whose bound lies below the income, or 0
+    private static int slabOf(BigDecimal[] bounds, BigDecimal income) {
+        int low = 0;
+        int high = bounds.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (bounds[mid].compareTo(income) < 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    BigDecimal[] lowerBounds() {
+        return lowerBounds;
+    }
+
+    BigDecimal[] percentages() {
+        return percentages;
+    }
+
+    BigDecimal[] surchargeThresholds() {
+        return surchargeThresholds;
+    }
+
+    BigDecimal[] surchargePercentages() {
+        return surchargePercentages;
+    }
+
+    BigDecimal cessPercentage() {
+        return cessPercentage;
+    }
+
+    private static BigDecimal percentOf(BigDecimal amount, BigDecimal percentage) {
+        return amount.multiply(percentage).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal nullSafe(BigDecimal value) {
+        return value != null ? value : ZERO;
+    }
+}
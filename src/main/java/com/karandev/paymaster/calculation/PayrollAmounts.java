@@ -0,0 +1,97 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.entity.EmployeeSalaryStructure;
+
+import java.math.BigDecimal;
+
+/**
+ * Monthly salary components produced by a {@link PayrollCalculator}.
+ */
+public record PayrollAmounts(BigDecimal basicSalary,
+                             BigDecimal hra,
+                             BigDecimal conveyance,
+                             BigDecimal medicalAllowance,
+                             BigDecimal specialAllowance,
+                             BigDecimal bonusAmount,
+                             BigDecimal grossSalary,
+                             BigDecimal pfEmployee,
+                             BigDecimal pfEmployer,
+                             BigDecimal esiEmployee,
+                             BigDecimal esiEmployer,
+                             BigDecimal professionalTax,
+                             BigDecimal incomeTax,
+                             BigDecimal netSalary) {
+
+    /**
+     * The components stored on a salary structure, or null when it predates stored components.
+     */
+    public static PayrollAmounts of(EmployeeSalaryStructure structure) {
+        if (structure.getGrossSalary() == null || structure.getHra() == null || structure.getConveyance() == null
+                || structure.getMedicalAllowance() == null || structure.getPfEmployee() == null
+                || structure.getPfEmployer() == null || structure.getEsiEmployee() == null
+                || structure.getEsiEmployer() == null || structure.getIncomeTax() == null) {
+            return null;
+        }
+        return new PayrollAmounts(structure.getBasicSalary(), structure.getHra(), structure.getConveyance(),
+                structure.getMedicalAllowance(), nullSafe(structure.getSpecialAllowance()),
+                nullSafe(structure.getBonusAmount()), structure.getGrossSalary(),
+                structure.getPfEmployee(), structure.getPfEmployer(),
+                structure.getEsiEmployee(), structure.getEsiEmployer(),
+                structure.getProfessionalTax(), structure.getIncomeTax(), structure.getNetSalary());
+    }
+
+    /**
+     * The same amounts with Professional Tax, the only month-dependent component, replaced.
+     */
+    public PayrollAmounts withProfessionalTax(BigDecimal professionalTax) {
+        BigDecimal netSalary = grossSalary.subtract(pfEmployee
+                .add(esiEmployee)
+                .add(professionalTax)
+                .add(incomeTax));
+        return new PayrollAmounts(basicSalary, hra, conveyance, medicalAllowance, specialAllowance, bonusAmount,
+                grossSalary, pfEmployee, pfEmployer, esiEmployee, esiEmployer, professionalTax, incomeTax, netSalary);
+    }
+
+    public void applyTo(EmployeeSalaryStructure structure) {
+        structure.setBasicSalary(basicSalary);
+        structure.setHra(hra);
+        structure.setConveyance(conveyance);
+        structure.setMedicalAllowance(medicalAllowance);
+        structure.setSpecialAllowance(specialAllowance);
+        structure.setBonusAmount(bonusAmount);
+        structure.setGrossSalary(grossSalary);
+
+        structure.setPfEmployee(pfEmployee);
+        structure.setPfEmployer(pfEmployer);
+        structure.setEsiEmployee(esiEmployee);
+        structure.setEsiEmployer(esiEmployer);
+        structure.setProfessionalTax(professionalTax);
+        structure.setIncomeTax(incomeTax);
+
+        structure.setNetSalary(netSalary);
+    }
+
+    public void applyTo(EmployeePayroll payroll) {
+        payroll.setBasicSalary(basicSalary);
+        payroll.setHra(hra);
+        payroll.setConveyance(conveyance);
+        payroll.setMedicalAllowance(medicalAllowance);
+        payroll.setSpecialAllowance(specialAllowance);
+        payroll.setBonusAmount(bonusAmount);
+        payroll.setGrossSalary(grossSalary);
+
+        payroll.setPfEmployeeAmount(pfEmployee);
+        payroll.setPfEmployerAmount(pfEmployer);
+        payroll.setEsiEmployeeAmount(esiEmployee);
+        payroll.setEsiEmployerAmount(esiEmployer);
+        payroll.setProfessionalTaxAmount(professionalTax);
+        payroll.setIncomeTaxAmount(incomeTax);
+
+        payroll.setNetSalary(netSalary);
+    }
+
+    private static BigDecimal nullSafe(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
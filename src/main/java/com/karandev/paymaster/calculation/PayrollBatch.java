@@ -0,0 +1,140 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.Gender;
+
+import java.math.BigDecimal;
+
+/**
+ * Salary structures of many employees laid out as primitive columns of paise, together with
+ * the calculated output columns. Filled with {@link #add}, calculated with
+ * {@link PayrollCalculator#calculate(PayrollBatch)} and read back with {@link #amounts(int)}
+ * when the results are persisted.
+ */
+public final class PayrollBatch {
+
+    private final int month;
+    private int size;
+
+    // Inputs
+    public final long[] basic;
+    public final long[] special;
+    public final long[] bonus;
+    public final boolean[] female;
+
+    // Outputs
+    public final long[] hra;
+    public final long[] conveyance;
+    public final long[] medical;
+    public final long[] gross;
+    public final long[] pfEmployee;
+    public final long[] pfEmployer;
+    public final long[] esiEmployee;
+    public final long[] esiEmployer;
+    public final long[] professionalTax;
+    public final long[] incomeTax;
+    public final long[] net;
+
+    public PayrollBatch(int capacity, int month) {
+        this.month = month;
+        this.basic = new long[capacity];
+        this.special = new long[capacity];
+        this.bonus = new long[capacity];
+        this.female = new boolean[capacity];
+        this.hra = new long[capacity];
+        this.conveyance = new long[capacity];
+        this.medical = new long[capacity];
+        this.gross = new long[capacity];
+        this.pfEmployee = new long[capacity];
+        this.pfEmployer = new long[capacity];
+        this.esiEmployee = new long[capacity];
+        this.esiEmployer = new long[capacity];
+        this.professionalTax = new long[capacity];
+        this.incomeTax = new long[capacity];
+        this.net = new long[capacity];
+    }
+
+    /**
+     * Appends an employee and returns its row.
+     *
+     * @throws ArithmeticException if an amount has sub-paisa precision or does not fit in paise
+     */
+    public int add(BigDecimal basicSalary, BigDecimal specialAllowance, BigDecimal bonusAmount, Gender gender) {
+        int row = size;
+        basic[row] = paise(basicSalary);
+        special[row] = paise(specialAllowance);
+        bonus[row] = paise(bonusAmount);
+        female[row] = gender == Gender.FEMALE;
+        size++;
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int month() {
+        return month;
+    }
+
+    public PayrollAmounts amounts(int row) {
+        return new PayrollAmounts(rupees(basic[row]), rupees(hra[row]), rupees(conveyance[row]), rupees(medical[row]),
+                rupees(special[row]), rupees(bonus[row]), rupees(gross[row]),
+                rupees(pfEmployee[row]), rupees(pfEmployer[row]),
+                rupees(esiEmployee[row]), rupees(esiEmployer[row]),
+                rupees(professionalTax[row]), rupees(incomeTax[row]), rupees(net[row]));
+    }
+
+    /**
+     * Stores amounts calculated outside the columnar path.
+     *
+     * @throws ArithmeticException if an amount has sub-paisa precision or does not fit in paise
+     */
+    void set(int row, PayrollAmounts amounts) {
+        hra[row] = paise(amounts.hra());
+        conveyance[row] = paise(amounts.conveyance());
+        medical[row] = paise(amounts.medicalAllowance());
+        gross[row] = paise(amounts.grossSalary());
+        pfEmployee[row] = paise(amounts.pfEmployee());
+        pfEmployer[row] = paise(amounts.pfEmployer());
+        esiEmployee[row] = paise(amounts.esiEmployee());
+        esiEmployer[row] = paise(amounts.esiEmployer());
+        professionalTax[row] = paise(amounts.professionalTax());
+        incomeTax[row] = paise(amounts.incomeTax());
+        net[row] = paise(amounts.netSalary());
+    }
+
+    BigDecimal basicSalary(int row) {
+        return rupees(basic[row]);
+    }
+
+    BigDecimal specialAllowance(int row) {
+        return rupees(special[row]);
+    }
+
+    BigDecimal bonusAmount(int row) {
+        return rupees(bonus[row]);
+    }
+
+    // Only the female flag takes part in the calculation
+    Gender gender(int row) {
+        return female[row] ? Gender.FEMALE : Gender.MALE;
+    }
+
+    /** True when every input amount lies within {@code [-limit, limit]}. */
+    boolean inputsWithin(long limit) {
+        for (int row = 0; row < size; row++) {
+            if (Math.abs(basic[row]) > limit || Math.abs(special[row]) > limit || Math.abs(bonus[row]) > limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long paise(BigDecimal rupees) {
+        return rupees != null ? rupees.movePointRight(2).longValueExact() : 0;
+    }
+
+    private static BigDecimal rupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
@@ -0,0 +1,14 @@
+package com.karandev.paymaster.calculation;
+
+/**
+ * Arithmetic used by compiled payroll calculators, selected with
+ * {@code app.payroll.calculation.engine}.
+ */
+public enum PayrollCalculationEngine {
+
+    /** {@link java.math.BigDecimal} rupees, see {@link DecimalPayrollCalculator}. */
+    DECIMAL,
+
+    /** {@code long} paise, see {@link FixedPointPayrollCalculator}. */
+    FIXED_POINT
+}
@@ -0,0 +1,40 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.Gender;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A {@link PayrollConfiguration} compiled into pre-resolved rates and tax slabs. Instances are
+ * immutable and shared between threads; calculating an employee's payroll only does
+ * arithmetic, no configuration interpretation.
+ */
+public interface PayrollCalculator {
+
+    UUID getConfigurationId();
+
+    ProfessionalTaxTable getProfessionalTaxTable();
+
+    PayrollAmounts calculate(BigDecimal basicSalary, BigDecimal specialAllowance, BigDecimal bonusAmount,
+                             Gender gender, int month);
+
+    /**
+     * Recalculates the month-dependent part of amounts this calculator produced earlier for the
+     * same employee: Professional Tax, and with it the net salary.
+     */
+    PayrollAmounts forMonth(PayrollAmounts calculated, Gender gender, int month);
+
+    /**
+     * Fills the output columns of every row in the batch.
+     *
+     * @throws ArithmeticException if a calculated amount cannot be held in paise
+     */
+    default void calculate(PayrollBatch batch) {
+        for (int row = 0; row < batch.size(); row++) {
+            batch.set(row, calculate(batch.basicSalary(row), batch.specialAllowance(row), batch.bonusAmount(row),
+                    batch.gender(row), batch.month()));
+        }
+    }
+}
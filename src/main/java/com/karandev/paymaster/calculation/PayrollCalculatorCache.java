@@ -0,0 +1,69 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.PayrollConfiguration;
+import com.karandev.paymaster.exception.PayrollConfigurationNotFoundException;
+import com.karandev.paymaster.repository.PayrollConfigurationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled {@link PayrollCalculator}s keyed by payroll configuration id.
+ */
+@Component
+public class PayrollCalculatorCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollCalculatorCache.class);
+
+    private final PayrollConfigurationRepository payrollConfigurationRepository;
+    private final ProfessionalTaxRules professionalTaxRules;
+    private final PayrollCalculationEngine engine;
+    private final Map<UUID, PayrollCalculator> calculators = new ConcurrentHashMap<>();
+
+    public PayrollCalculatorCache(PayrollConfigurationRepository payrollConfigurationRepository,
+                                  ProfessionalTaxRules professionalTaxRules,
+                                  @Value("${app.payroll.calculation.engine:decimal}") PayrollCalculationEngine engine) {
+        this.payrollConfigurationRepository = payrollConfigurationRepository;
+        this.professionalTaxRules = professionalTaxRules;
+        this.engine = engine;
+    }
+
+    public PayrollCalculator get(UUID payrollConfigurationId) {
+        return calculators.computeIfAbsent(payrollConfigurationId, id -> {
+            log.debug("Compiling {} payroll calculator for configuration {}", engine, id);
+            return compile(payrollConfigurationRepository.findWithIncomeTaxSlabsById(id)
+                    .orElseThrow(() -> new PayrollConfigurationNotFoundException(
+                            "Payroll configuration not found with ID: " + id)));
+        });
+    }
+
+    public PayrollCalculator compile(PayrollConfiguration config) {
+        ProfessionalTaxTable professionalTaxTable = professionalTaxRules.forState(config.getCompany().getState());
+        if (engine == PayrollCalculationEngine.FIXED_POINT) {
+            PayrollCalculator calculator = FixedPointPayrollCalculator.compile(config, professionalTaxTable);
+            if (calculator != null) {
+                return calculator;
+            }
+            log.info("Payroll configuration {} is not representable in paise, using the decimal engine",
+                    config.getPayrollConfigurationId());
+        }
+        return DecimalPayrollCalculator.compile(config, professionalTaxTable);
+    }
+
+    // A company's Professional Tax state is compiled into its calculators
+    public void evictAll() {
+        calculators.clear();
+        log.debug("Evicted all payroll calculators");
+    }
+
+    public void evict(UUID payrollConfigurationId) {
+        if (payrollConfigurationId != null && calculators.remove(payrollConfigurationId) != null) {
+            log.debug("Evicted payroll calculator for configuration {}", payrollConfigurationId);
+        }
+    }
+}
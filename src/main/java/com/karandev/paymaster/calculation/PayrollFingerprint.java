@@ -0,0 +1,49 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.EmployeeSalaryStructure;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * SHA-256 over everything a monthly payroll is calculated from: the salary-structure inputs,
+ * the payroll configuration version, the Professional Tax rules of the company's state and the
+ * employee's gender and status. Two payrolls of the same month with the same fingerprint have the same
+ * amounts, so a regeneration run only rewrites rows whose fingerprint changed.
+ */
+public final class PayrollFingerprint {
+
+    private PayrollFingerprint() {
+    }
+
+    public static String of(EmployeeSalaryStructure structure, Employee employee, UUID configurationId,
+                            ProfessionalTaxTable professionalTax) {
+        String canonical = String.join("|",
+                amount(structure.getBasicSalary()),
+                amount(structure.getSpecialAllowance()),
+                amount(structure.getBonusAmount()),
+                String.valueOf(configurationId),
+                professionalTax.getRules(),
+                String.valueOf(employee.getGender()),
+                String.valueOf(employee.getStatus()));
+        return HexFormat.of().formatHex(sha256().digest(canonical.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // 50000, 50000.0 and 50000.00 calculate identically
+    private static String amount(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "-";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
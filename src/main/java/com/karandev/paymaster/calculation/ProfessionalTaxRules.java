@@ -0,0 +1,131 @@
+package com.karandev.paymaster.calculation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * State-wise Professional Tax rules, read once at startup from
+ * {@code app.payroll.professional-tax.rules} and compiled into immutable
+ * {@link ProfessionalTaxTable}s. Companies pick their state by code; companies without one
+ * use the file's default state.
+ */
+@Component
+public class ProfessionalTaxRules {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfessionalTaxRules.class);
+
+    private final String defaultState;
+    private final Map<String, ProfessionalTaxTable> tables;
+
+    public ProfessionalTaxRules(@Value("${app.payroll.professional-tax.rules:classpath:professional-tax-rules.json}") Resource rules) {
+        RuleFile ruleFile;
+        try (InputStream in = rules.getInputStream()) {
+            ruleFile = new ObjectMapper().readValue(in, RuleFile.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read Professional Tax rules from " + rules, e);
+        }
+
+        Map<String, ProfessionalTaxTable> compiled = new HashMap<>();
+        ruleFile.states().forEach((state, stateRules) -> {
+            String code = normalise(state);
+            compiled.put(code, compile(code, stateRules));
+        });
+        this.tables = Map.copyOf(compiled);
+        this.defaultState = normalise(ruleFile.defaultState());
+
+        if (!tables.containsKey(defaultState)) {
+            throw new IllegalStateException("Professional Tax rules have no entry for the default state " + defaultState);
+        }
+        log.info("Loaded Professional Tax rules for states {} (default {})", tables.keySet(), defaultState);
+    }
+
+    /**
+     * @throws IllegalArgumentException if there are no rules for the state
+     */
+    public ProfessionalTaxTable forState(String state) {
+        String code = state == null || state.isBlank() ? defaultState : normalise(state);
+        ProfessionalTaxTable table = tables.get(code);
+        if (table == null) {
+            throw new IllegalArgumentException("No Professional Tax rules for state: " + state);
+        }
+        return table;
+    }
+
+    /**
+     * Normalises a state code for storage on a company, rejecting states without rules.
+     */
+    public String requireSupported(String state) {
+        if (state == null || state.isBlank()) {
+            return null;
+        }
+        return forState(state).getState();
+    }
+
+    private static ProfessionalTaxTable compile(String state, StateRules rules) {
+        List<Slab> slabs = sorted(state, rules.slabs());
+        List<Slab> femaleSlabs = rules.femaleSlabs() != null ? sorted(state, rules.femaleSlabs()) : slabs;
+        List<MonthOverride> overrides = rules.monthOverrides() != null ? rules.monthOverrides() : List.of();
+
+        long[][] monthOverrides = new long[overrides.size()][];
+        for (int i = 0; i < overrides.size(); i++) {
+            MonthOverride override = overrides.get(i);
+            if (override.month() < 1 || override.month() > 12) {
+                throw new IllegalStateException("Invalid Professional Tax month override for " + state + ": " + override.month());
+            }
+            monthOverrides[i] = new long[]{override.month(), paise(override.amount()), paise(override.replacement())};
+        }
+
+        return new ProfessionalTaxTable(state,
+                slabs.stream().mapToLong(slab -> paise(slab.above())).toArray(),
+                slabs.stream().mapToLong(slab -> paise(slab.amount())).toArray(),
+                femaleSlabs.stream().mapToLong(slab -> paise(slab.above())).toArray(),
+                femaleSlabs.stream().mapToLong(slab -> paise(slab.amount())).toArray(),
+                monthOverrides);
+    }
+
+    private static List<Slab> sorted(String state, List<Slab> slabs) {
+        if (slabs == null) {
+            throw new IllegalStateException("Professional Tax rules for " + state + " have no slabs");
+        }
+        for (Slab slab : slabs) {
+            if (slab.above() == null || slab.amount() == null || slab.above().signum() < 0 || slab.amount().signum() < 0) {
+                throw new IllegalStateException("Invalid Professional Tax slab for " + state + ": " + slab);
+            }
+        }
+        return slabs.stream().sorted(Comparator.comparing(Slab::above)).toList();
+    }
+
+    private static long paise(BigDecimal rupees) {
+        return rupees.movePointRight(2).longValueExact();
+    }
+
+    private static String normalise(String state) {
+        return state.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record RuleFile(String defaultState, Map<String, StateRules> states) {
+    }
+
+    private record StateRules(String name, List<Slab> slabs, List<Slab> femaleSlabs, List<MonthOverride> monthOverrides) {
+    }
+
+    private record Slab(BigDecimal above, BigDecimal amount) {
+    }
+
+    private record MonthOverride(int month, BigDecimal amount, BigDecimal replacement) {
+    }
+}
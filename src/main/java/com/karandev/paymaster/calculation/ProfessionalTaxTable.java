@@ -0,0 +1,100 @@
+package com.karandev.paymaster.calculation;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * One state's monthly Professional Tax compiled into sorted threshold arrays. The amount for
+ * every slab is resolved per month and gender up front, so a lookup is a search over the
+ * thresholds and an array read, with no allocation.
+ */
+public final class ProfessionalTaxTable {
+
+    private final String state;
+
+    // Slab i applies to gross salary above thresholds[i]; indexed [female ? 1 : 0][month]
+    private final long[][] thresholds;
+    private final BigDecimal[][] decimalThresholds;
+    private final long[][][] amounts;
+    private final BigDecimal[][][] decimalAmounts;
+    private final String rules;
+
+    ProfessionalTaxTable(String state, long[] thresholds, long[] amounts, long[] femaleThresholds, long[] femaleAmounts,
+                         long[][] monthOverrides) {
+        this.state = state;
+        this.thresholds = new long[][]{thresholds, femaleThresholds};
+        this.decimalThresholds = new BigDecimal[][]{rupees(thresholds), rupees(femaleThresholds)};
+        this.amounts = new long[2][13][];
+        this.decimalAmounts = new BigDecimal[2][13][];
+        for (int month = 1; month <= 12; month++) {
+            this.amounts[0][month] = override(amounts, monthOverrides, month);
+            this.amounts[1][month] = override(femaleAmounts, monthOverrides, month);
+            this.decimalAmounts[0][month] = rupees(this.amounts[0][month]);
+            this.decimalAmounts[1][month] = rupees(this.amounts[1][month]);
+        }
+        this.rules = state + Arrays.deepToString(this.thresholds) + Arrays.deepToString(this.amounts);
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * The state with its resolved slabs; equal for two tables exactly when they tax every salary
+     * the same.
+     */
+    public String getRules() {
+        return rules;
+    }
+
+    /** Monthly Professional Tax in paise for a gross salary in paise. */
+    public long amount(long grossSalary, boolean female, int month) {
+        int gender = female ? 1 : 0;
+        long[] bounds = thresholds[gender];
+        int slab = -1;
+        for (int i = bounds.length - 1; i >= 0; i--) {
+            if (grossSalary > bounds[i]) {
+                slab = i;
+                break;
+            }
+        }
+        return slab < 0 ? 0 : amounts[gender][month][slab];
+    }
+
+    public BigDecimal amount(BigDecimal grossSalary, boolean female, int month) {
+        int gender = female ? 1 : 0;
+        BigDecimal[] bounds = decimalThresholds[gender];
+        int slab = -1;
+        for (int i = bounds.length - 1; i >= 0; i--) {
+            if (grossSalary.compareTo(bounds[i]) > 0) {
+                slab = i;
+                break;
+            }
+        }
+        return slab < 0 ? BigDecimal.ZERO : decimalAmounts[gender][month][slab];
+    }
+
+    // monthOverrides rows are {month, amount, replacement}
+    private static long[] override(long[] amounts, long[][] monthOverrides, int month) {
+        long[] resolved = amounts.clone();
+        for (long[] monthOverride : monthOverrides) {
+            if (monthOverride[0] != month) {
+                continue;
+            }
+            for (int i = 0; i < resolved.length; i++) {
+                if (amounts[i] == monthOverride[1]) {
+                    resolved[i] = monthOverride[2];
+                }
+            }
+        }
+        return resolved;
+    }
+
+    private static BigDecimal[] rupees(long[] paise) {
+        BigDecimal[] rupees = new BigDecimal[paise.length];
+        for (int i = 0; i < paise.length; i++) {
+            rupees[i] = BigDecimal.valueOf(paise[i], 2);
+        }
+        return rupees;
+    }
+}
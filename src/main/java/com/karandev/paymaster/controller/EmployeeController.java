@@ -3,7 +3,6 @@ package com.karandev.paymaster.controller;
 import com.karandev.paymaster.dto.EmployeeRequestDto;
 import com.karandev.paymaster.dto.EmployeeResponseDto;
 import com.karandev.paymaster.dto.EmployeeUpdateRequestDto;
-import com.karandev.paymaster.helper.EmailService;
 import com.karandev.paymaster.service.EmployeeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,13 +18,11 @@ import java.util.UUID;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
-    private final EmailService emailService;
     private static final Logger log = LoggerFactory.getLogger(EmployeeController.class);
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService, EmailService emailService) {
+    public EmployeeController(EmployeeService employeeService) {
         this.employeeService = employeeService;
-        this.emailService = emailService;
     }
 
     @PostMapping
@@ -89,9 +86,9 @@ public class EmployeeController {
     @PostMapping("/send-passwordreset")
     public ResponseEntity<String> sendSetPasswordEmail(@RequestParam UUID employeeId) {
         log.info("Sending set-password email to employeeId: {}", employeeId);
-        emailService.sendSetPasswordEmail(employeeId);
-        log.info("Set-password email sent to employeeId: {}", employeeId);
-        return ResponseEntity.ok("Set-password email sent!");
+        employeeService.sendSetPasswordEmail(employeeId);
+        log.info("Set-password email queued for employeeId: {}", employeeId);
+        return ResponseEntity.ok("Set-password email queued!");
     }
 
     @PatchMapping("/{employeeId}/deactivate")
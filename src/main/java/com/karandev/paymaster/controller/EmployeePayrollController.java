@@ -1,18 +1,33 @@
 package com.karandev.paymaster.controller;
 
 import com.karandev.paymaster.dto.EmployeePayrollResponseDto;
+import com.karandev.paymaster.dto.PayrollRunResponseDto;
+import com.karandev.paymaster.dto.SalarySlipDeadLetterResponseDto;
 import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.entity.PayrollRunMode;
 import com.karandev.paymaster.helper.PdfGenerationService;
+import com.karandev.paymaster.helper.SalarySlipArchiver;
+import com.karandev.paymaster.helper.SalarySlipLinks;
+import com.karandev.paymaster.helper.SalarySlipStore;
 import com.karandev.paymaster.repository.EmployeePayrollRepository;
 import com.karandev.paymaster.service.EmployeePayrollService;
+import com.lowagie.text.DocumentException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Month;
 import java.util.List;
 import java.util.UUID;
@@ -21,13 +36,21 @@ import java.util.UUID;
 @RequestMapping("/api/payrolls")
 public class EmployeePayrollController {
 
+    private static final Logger log = LoggerFactory.getLogger(EmployeePayrollController.class);
+
     private final EmployeePayrollService employeePayrollService;
     private final EmployeePayrollRepository employeePayrollRepository;
+    private final SalarySlipStore salarySlipStore;
+    private final SalarySlipArchiver salarySlipArchiver;
     private final PdfGenerationService pdfGenerationService;
-    public EmployeePayrollController(EmployeePayrollService employeePayrollService, EmployeePayrollRepository employeePayrollRepository, PdfGenerationService pdfGenerationService) {
+    private final SalarySlipLinks salarySlipLinks;
+    public EmployeePayrollController(EmployeePayrollService employeePayrollService, EmployeePayrollRepository employeePayrollRepository, SalarySlipStore salarySlipStore, SalarySlipArchiver salarySlipArchiver, PdfGenerationService pdfGenerationService, SalarySlipLinks salarySlipLinks) {
         this.employeePayrollService = employeePayrollService;
         this.employeePayrollRepository = employeePayrollRepository;
+        this.salarySlipStore = salarySlipStore;
+        this.salarySlipArchiver = salarySlipArchiver;
         this.pdfGenerationService = pdfGenerationService;
+        this.salarySlipLinks = salarySlipLinks;
     }
 
     @GetMapping("/company/{companyId}")
@@ -53,34 +76,126 @@ public class EmployeePayrollController {
 //        return ResponseEntity.ok("Payroll generated successfully for company.");
 //    }
 
+    @GetMapping("/runs")
+    public ResponseEntity<List<PayrollRunResponseDto>> getPayrollRuns() {
+        return ResponseEntity.ok(employeePayrollService.fetchPayrollRuns());
+    }
+
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<PayrollRunResponseDto> getPayrollRun(@PathVariable UUID runId) {
+        return ResponseEntity.ok(employeePayrollService.fetchPayrollRun(runId));
+    }
+
+    @PostMapping("/runs")
+    public ResponseEntity<PayrollRunResponseDto> startPayrollRun(@RequestParam int month, @RequestParam int year,
+                                                                 @RequestParam(defaultValue = "GENERATE") PayrollRunMode mode) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(employeePayrollService.startPayrollRun(month, year, mode));
+    }
+
+    @PostMapping("/runs/{runId}/resume")
+    public ResponseEntity<PayrollRunResponseDto> resumePayrollRun(@PathVariable UUID runId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(employeePayrollService.resumePayrollRun(runId));
+    }
+
+    @GetMapping("/deliveries/dead-letters")
+    public ResponseEntity<List<SalarySlipDeadLetterResponseDto>> getSlipDeadLetters(@RequestParam(required = false) UUID companyId) {
+        return ResponseEntity.ok(employeePayrollService.fetchSlipDeadLetters(companyId));
+    }
+
+    @PostMapping("/deliveries/dead-letters/replay")
+    public ResponseEntity<String> replaySlipDeadLetters(@RequestParam(required = false) UUID companyId,
+                                                        @RequestBody(required = false) List<UUID> deadLetterIds) {
+        int replayed = employeePayrollService.replaySlipDeadLetters(companyId, deadLetterIds);
+        return ResponseEntity.ok("Replayed " + replayed + " salary slip deliveries.");
+    }
+
     @GetMapping("/download/{payRollId}")
-    public ResponseEntity<byte[]> downloadSalarySlip(@PathVariable UUID payRollId) {
-        try {
-            EmployeePayroll payroll = employeePayrollRepository.findById(payRollId)
-                    .orElseThrow(() -> new RuntimeException("Payroll not found"));
+    public ResponseEntity<Resource> downloadSalarySlip(@PathVariable UUID payRollId) {
+        EmployeePayroll payroll = employeePayrollRepository.findById(payRollId).orElse(null);
+        if (payroll == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(new ByteArrayResource(("Payroll not found for ID: " + payRollId).getBytes()));
+        }
 
-            byte[] pdfBytes = pdfGenerationService.generateSalarySlipPdf(payroll);
+        try {
+            Path slip = salarySlipStore.slipFor(payroll);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.setContentLength(Files.size(slip));
             headers.setContentDispositionFormData("attachment",
                     payroll.getEmployee().getEmpCode() + "_" +
                             Month.of(payroll.getMonth()) + "_" +
                             payroll.getYear() + ".pdf");
 
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            // Streamed from disk, never held in memory as a whole
+            return new ResponseEntity<>(new FileSystemResource(slip), headers, HttpStatus.OK);
 
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .contentType(MediaType.TEXT_PLAIN)
-                    .body(("Payroll not found for ID: " + payRollId).getBytes());
+        } catch (IOException e) {
+            log.error("Could not store or read the salary slip for payroll {}", payRollId, e);
+            return slipUnavailable(HttpStatus.INTERNAL_SERVER_ERROR, "Salary slip could not be read, please retry");
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .contentType(MediaType.TEXT_PLAIN)
-                    .body(("PDF generation failed: " + e.getMessage()).getBytes());
+        } catch (DocumentException e) {
+            log.error("Could not render the salary slip for payroll {}", payRollId, e);
+            return slipUnavailable(HttpStatus.INTERNAL_SERVER_ERROR, "PDF generation failed");
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return slipUnavailable(HttpStatus.SERVICE_UNAVAILABLE, "Salary slip rendering was interrupted, please retry");
         }
     }
 
+    private static ResponseEntity<Resource> slipUnavailable(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(new ByteArrayResource(message.getBytes()));
+    }
+
+    @GetMapping("/slips/{token}")
+    public ResponseEntity<Resource> downloadLinkedSalarySlip(@PathVariable String token) {
+        // Only mailed links get here; the slip is rendered on the first download
+        return downloadSalarySlip(salarySlipLinks.verify(token));
+    }
+
+    @GetMapping("/company/{companyId}/slips")
+    public ResponseEntity<StreamingResponseBody> downloadSalarySlips(@PathVariable UUID companyId,
+                                                                     @RequestParam int month, @RequestParam int year) {
+        List<UUID> payrollIds = salarySlipArchiver.payrollIds(companyId, month, year);
+        if (payrollIds.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment",
+                "Salary_Slips_" + Month.of(month) + "_" + year + ".zip");
+
+        StreamingResponseBody body = out -> salarySlipArchiver.writeZip(payrollIds, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @GetMapping("/company/{companyId}/register")
+    public ResponseEntity<StreamingResponseBody> downloadPayrollRegister(@PathVariable UUID companyId,
+                                                                         @RequestParam int month, @RequestParam int year) {
+        if (!employeePayrollRepository.existsByCompany_CompanyIdAndMonthAndYear(companyId, month, year)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment",
+                "Payroll_Register_" + Month.of(month) + "_" + year + ".pdf");
+
+        StreamingResponseBody body = out -> {
+            try {
+                pdfGenerationService.writePayrollRegister(companyId, month, year, out);
+            } catch (DocumentException e) {
+                throw new IOException("Payroll register generation failed", e);
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
 }
@@ -12,6 +12,9 @@ public class CompanyRegisterWithAdminDto {
     private String contactNumber;
     private String address;
     private String registrationNumber;
+    private String state;
+    private Integer payDay;
+    private Integer payrollCutoffDay;
 
     private String adminName;
     private String adminEmail;
@@ -2,6 +2,7 @@ package com.karandev.paymaster.dto;
 
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -14,4 +15,8 @@ public class CompanyResponseDto {
     private String contactNumber;
     private String address;
     private String registrationNumber;
+    private String state;
+    private Integer payDay;
+    private Integer payrollCutoffDay;
+    private LocalDateTime nextPayrollRunAt;
 }
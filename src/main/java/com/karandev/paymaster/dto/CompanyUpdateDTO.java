@@ -9,4 +9,7 @@ public class CompanyUpdateDTO {
     private String contactNumber;
     private String address;
     private String registrationNumber;
+    private String state;
+    private Integer payDay;
+    private Integer payrollCutoffDay;
 }
@@ -0,0 +1,25 @@
+package com.karandev.paymaster.dto;
+
+import com.karandev.paymaster.entity.IncomeTaxSlabType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class IncomeTaxSlabDto {
+
+    // Defaults to TAX
+    private IncomeTaxSlabType type;
+
+    @NotNull(message = "Slab start amount is required")
+    @DecimalMin(value = "0", message = "Slab start amount must be >= 0")
+    private BigDecimal fromAmount;
+
+    @NotNull(message = "Slab rate is required")
+    @DecimalMin(value = "0", message = "Slab rate must be >= 0")
+    @DecimalMax(value = "100", message = "Slab rate must be <= 100")
+    private BigDecimal rate;
+}
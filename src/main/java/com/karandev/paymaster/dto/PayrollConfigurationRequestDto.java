@@ -1,11 +1,13 @@
 package com.karandev.paymaster.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -76,4 +78,12 @@ public class PayrollConfigurationRequestDto {
     @DecimalMin(value = "0", message = "Tax slab 3 rate must be >= 0")
     @DecimalMax(value = "100", message = "Tax slab 3 rate must be <= 100")
     private BigDecimal taxSlab3Rate;
+
+    // Any number of slabs; replaces the three fixed slabs above when present
+    @Valid
+    private List<IncomeTaxSlabDto> incomeTaxSlabs;
+
+    @DecimalMin(value = "0", message = "Tax cess % must be >= 0")
+    @DecimalMax(value = "100", message = "Tax cess % must be <= 100")
+    private BigDecimal taxCessPercentage;
 }
\ No newline at end of file
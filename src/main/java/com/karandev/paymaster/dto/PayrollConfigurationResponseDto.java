@@ -3,6 +3,7 @@ package com.karandev.paymaster.dto;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -39,6 +40,8 @@ public class PayrollConfigurationResponseDto {
     private BigDecimal taxSlab2Rate;
     private BigDecimal taxSlab3Limit;
     private BigDecimal taxSlab3Rate;
+    private List<IncomeTaxSlabDto> incomeTaxSlabs;
+    private BigDecimal taxCessPercentage;
 
     private Boolean isActive;
 }
\ No newline at end of file
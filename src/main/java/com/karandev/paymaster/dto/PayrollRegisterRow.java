@@ -0,0 +1,25 @@
+package com.karandev.paymaster.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One employee's line of a payroll register: what their summary row and salary slip print, read
+ * as a flat projection so streaming a register never loads entities.
+ */
+public record PayrollRegisterRow(String empCode,
+                                 String name,
+                                 String designation,
+                                 String department,
+                                 BigDecimal basicSalary,
+                                 BigDecimal hra,
+                                 BigDecimal conveyance,
+                                 BigDecimal medicalAllowance,
+                                 BigDecimal specialAllowance,
+                                 BigDecimal bonusAmount,
+                                 BigDecimal grossSalary,
+                                 BigDecimal pfEmployeeAmount,
+                                 BigDecimal esiEmployeeAmount,
+                                 BigDecimal professionalTaxAmount,
+                                 BigDecimal incomeTaxAmount,
+                                 BigDecimal netSalary) {
+}
@@ -0,0 +1,28 @@
+package com.karandev.paymaster.dto;
+
+import com.karandev.paymaster.entity.PayrollRunStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class PayrollRunPartitionResponseDto {
+
+    private UUID partitionId;
+    private UUID companyId;
+    private String companyName;
+    private Integer chunkIndex;
+
+    private PayrollRunStatus status;
+
+    private Integer plannedEmployees;
+    private Integer processedEmployees;
+    private Integer generatedPayrolls;
+
+    private UUID cursorEmployeeId;     // last employee committed
+    private String lastError;
+
+    private LocalDateTime completedAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.karandev.paymaster.dto;
+
+import com.karandev.paymaster.entity.PayrollRunMode;
+import com.karandev.paymaster.entity.PayrollRunStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class PayrollRunResponseDto {
+
+    private UUID runId;
+    private Integer month;
+    private Integer year;
+
+    private PayrollRunMode mode;
+    private PayrollRunStatus status;
+    private Boolean executing;           // true while this instance is working on the run
+
+    // --------------------- PROGRESS ---------------------
+    private Integer totalPartitions;
+    private Integer completedPartitions;
+    private Integer failedPartitions;
+
+    private Integer plannedEmployees;
+    private Integer processedEmployees;
+    private Integer generatedPayrolls;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    private List<PayrollRunPartitionResponseDto> partitions;
+}
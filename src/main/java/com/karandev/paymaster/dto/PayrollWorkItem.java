@@ -0,0 +1,13 @@
+package com.karandev.paymaster.dto;
+
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.EmployeeSalaryStructure;
+
+/**
+ * An employee prefetched for a payroll run together with its salary structure (may be null)
+ * and whether the payroll for the requested month already exists.
+ */
+public record PayrollWorkItem(Employee employee,
+                              EmployeeSalaryStructure structure,
+                              boolean alreadyGenerated) {
+}
@@ -0,0 +1,25 @@
+package com.karandev.paymaster.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class SalarySlipDeadLetterResponseDto {
+
+    private UUID deadLetterId;
+    private UUID deliveryId;
+    private UUID payrollId;
+
+    private UUID companyId;
+    private String employeeName;
+    private String empCode;
+    private Integer month;
+    private Integer year;
+
+    private String recipientEmail;
+    private Integer attempts;
+    private String lastError;
+    private LocalDateTime failedAt;
+}
@@ -9,7 +9,8 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "company")
+@Table(name = "company",
+        indexes = @Index(name = "idx_company_next_payroll_run", columnList = "next_payroll_run_at"))
 @Data
 public class Company {
 
@@ -24,6 +25,15 @@ public class Company {
     private String address;
     private String registrationNumber;
 
+    // Professional Tax state code (e.g. MH); null means the default state of the PT rules
+    @Column(length = 8)
+    private String state;
+
+    // Pay calendar: payroll is generated on the cut-off day, slips are released on the pay day
+    private Integer payDay;
+    private Integer payrollCutoffDay;
+    private LocalDateTime nextPayrollRunAt;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
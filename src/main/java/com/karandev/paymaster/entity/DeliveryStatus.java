@@ -0,0 +1,8 @@
+package com.karandev.paymaster.entity;
+
+public enum DeliveryStatus {
+    PENDING,
+    IN_PROGRESS,
+    SENT,
+    FAILED
+}
@@ -71,6 +71,14 @@ public class EmployeePayroll {
 
     private LocalDateTime generatedAt;
 
+    // PayrollFingerprint of the inputs the amounts were calculated from; null on older rows
+    @Column(length = 64)
+    private String fingerprint;
+
+    // SHA-256 of the stored salary slip (see SalarySlipStore); null until first rendered
+    @Column(length = 64)
+    private String slipHash;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -54,6 +54,10 @@ public class EmployeeSalaryStructure {
 
     private BigDecimal ctc;
 
+    // Configuration version the components above were calculated with; while it is still the
+    // active one the monthly run reuses them and only recalculates Professional Tax
+    private UUID calculatedConfigurationId;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -0,0 +1,50 @@
+package com.karandev.paymaster.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One row of a {@link PayrollConfiguration}'s annual income-tax table. A {@code TAX} slab
+ * taxes the income above {@code fromAmount} up to the next slab at {@code rate} percent; a
+ * {@code SURCHARGE} row adds {@code rate} percent of the tax once income exceeds
+ * {@code fromAmount}.
+ */
+@Entity
+@Table(name = "income_tax_slab",
+        indexes = @Index(name = "idx_income_tax_slab_configuration", columnList = "payroll_configuration_id"))
+@Data
+public class IncomeTaxSlab {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(updatable = false, nullable = false)
+    private UUID incomeTaxSlabId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payroll_configuration_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PayrollConfiguration payrollConfiguration;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private IncomeTaxSlabType type = IncomeTaxSlabType.TAX;
+
+    @NotNull
+    @DecimalMin("0")
+    @Column(nullable = false)
+    private BigDecimal fromAmount;
+
+    @NotNull
+    @DecimalMin("0") @DecimalMax("100")
+    @Column(nullable = false)
+    private BigDecimal rate;
+}
@@ -0,0 +1,6 @@
+package com.karandev.paymaster.entity;
+
+public enum IncomeTaxSlabType {
+    TAX,
+    SURCHARGE
+}
@@ -0,0 +1,64 @@
+package com.karandev.paymaster.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox row for a set-password invitation. Written in the same transaction as the employee
+ * and drained asynchronously by the invitation dispatcher, which issues the token when it sends.
+ */
+@Entity
+@Table(name = "invitation_outbox",
+        indexes = @Index(name = "idx_invitation_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@Data
+public class InvitationDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID invitationId;
+
+    // Deleting the employee drops their invitations with them
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Employee employee;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeliveryStatus status = DeliveryStatus.PENDING;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    // Bumped by every claim, so an outcome is not recorded over a claim made since
+    @Version
+    private long version;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
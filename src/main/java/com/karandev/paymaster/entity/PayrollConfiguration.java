@@ -5,9 +5,13 @@ import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -71,6 +75,17 @@ public class PayrollConfiguration {
     @DecimalMin("0") @DecimalMax("100")
     private BigDecimal taxSlab3Rate;
 
+    // Health and education cess on income tax plus surcharge
+    @DecimalMin("0") @DecimalMax("100")
+    private BigDecimal taxCessPercentage;
+
+    // Takes precedence over the taxSlab1..3 columns when it has TAX rows
+    @OneToMany(mappedBy = "payrollConfiguration", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("fromAmount ASC")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<IncomeTaxSlab> incomeTaxSlabs = new ArrayList<>();
+
     private Boolean isActive = true;
 
 
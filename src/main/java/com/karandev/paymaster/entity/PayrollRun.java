@@ -0,0 +1,59 @@
+package com.karandev.paymaster.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ledger entry of one monthly payroll run. The run is split into {@link PayrollRunPartition}s
+ * whose committed cursors let an interrupted run resume where it stopped.
+ */
+@Entity
+@Table(name = "payroll_run")
+@Data
+public class PayrollRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID runId;
+
+    private Integer month;
+    private Integer year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayrollRunStatus status = PayrollRunStatus.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayrollRunMode mode = PayrollRunMode.GENERATE;
+
+    @OneToMany(mappedBy = "run", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("chunkIndex")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<PayrollRunPartition> partitions = new ArrayList<>();
+
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,10 @@
+package com.karandev.paymaster.entity;
+
+/**
+ * GENERATE creates the payrolls that are missing for the month. REGENERATE additionally
+ * recalculates and re-delivers existing payrolls whose inputs changed since they were generated.
+ */
+public enum PayrollRunMode {
+    GENERATE,
+    REGENERATE
+}
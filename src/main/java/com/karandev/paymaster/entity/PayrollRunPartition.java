@@ -0,0 +1,72 @@
+package com.karandev.paymaster.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A slice of one company's employees within a {@link PayrollRun}, bounded by employee id
+ * (lower bound exclusive, upper bound inclusive, null meaning open). The cursor is the id of
+ * the last employee whose payroll was committed.
+ */
+@Entity
+@Table(name = "payroll_run_partition")
+@Data
+public class PayrollRunPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID partitionId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PayrollRun run;
+
+    @ManyToOne
+    @JoinColumn(name = "company_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Company company;
+
+    @Column(nullable = false)
+    private UUID payrollConfigurationId;
+
+    private int chunkIndex;
+
+    private UUID lowerBoundEmployeeId;
+    private UUID upperBoundEmployeeId;
+    private UUID cursorEmployeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayrollRunStatus status = PayrollRunStatus.PENDING;
+
+    private int plannedEmployees;
+    private int processedEmployees;
+    private int generatedPayrolls;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime completedAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
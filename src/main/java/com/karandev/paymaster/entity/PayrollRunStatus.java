@@ -0,0 +1,8 @@
+package com.karandev.paymaster.entity;
+
+public enum PayrollRunStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
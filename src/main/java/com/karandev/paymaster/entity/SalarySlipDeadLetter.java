@@ -0,0 +1,40 @@
+package com.karandev.paymaster.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A salary slip delivery the dispatcher gave up on, kept with the error it failed with until an
+ * operator replays it. Replaying hands the delivery back to the outbox; the dead letter stays as
+ * a record of the failure.
+ */
+@Entity
+@Table(name = "salary_slip_dead_letter",
+        indexes = @Index(name = "idx_slip_dead_letter_replayed_failed", columnList = "replayed_at, failed_at"))
+@Data
+public class SalarySlipDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID deadLetterId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "delivery_id", nullable = false)
+    private SalarySlipDelivery delivery;
+
+    @Column(nullable = false)
+    private String recipientEmail;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime failedAt;
+
+    private LocalDateTime replayedAt;
+}
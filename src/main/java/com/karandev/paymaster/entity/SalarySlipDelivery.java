@@ -0,0 +1,74 @@
+package com.karandev.paymaster.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox row for a salary slip email. Written in the same transaction as the payroll and
+ * drained asynchronously by the slip delivery dispatcher.
+ */
+@Entity
+@Table(name = "salary_slip_outbox",
+        indexes = @Index(name = "idx_slip_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@Data
+public class SalarySlipDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID deliveryId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payroll_id", nullable = false)
+    private EmployeePayroll payroll;
+
+    @Column(nullable = false)
+    private String recipientEmail;
+
+    private String subject;
+
+    @Column(length = 2000)
+    private String body;
+
+    private String fileName;
+
+    // Null on rows queued before links existed, which were all attachments
+    @Enumerated(EnumType.STRING)
+    private SalarySlipDeliveryMode mode = SalarySlipDeliveryMode.ATTACHMENT;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeliveryStatus status = DeliveryStatus.PENDING;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    // Bumped by every claim, so a dispatcher can tell whether the row is still its claim
+    @Version
+    private long version;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
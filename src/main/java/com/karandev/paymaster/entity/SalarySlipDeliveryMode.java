@@ -0,0 +1,10 @@
+package com.karandev.paymaster.entity;
+
+/**
+ * ATTACHMENT mails the rendered slip with the email. LINK mails a signed, expiring download
+ * link instead, and the slip is only rendered once somebody opens it.
+ */
+public enum SalarySlipDeliveryMode {
+    ATTACHMENT,
+    LINK
+}
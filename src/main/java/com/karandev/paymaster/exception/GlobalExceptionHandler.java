@@ -4,6 +4,7 @@ import com.karandev.paymaster.exception.CompanyNotFoundException;
 import com.karandev.paymaster.exception.EmployeeNotFoundException;
 import com.karandev.paymaster.exception.PayrollAlreadyExistsException;
 import com.karandev.paymaster.exception.PayrollConfigurationNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -49,6 +50,22 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(PayrollRunNotFoundException.class)
+    public ResponseEntity<Object> handlePayrollRunNotFound(PayrollRunNotFoundException ex) {
+        return new ResponseEntity<>(
+                buildResponse(HttpStatus.NOT_FOUND, ex.getMessage()),
+                HttpStatus.NOT_FOUND
+        );
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleIllegalArgument(IllegalArgumentException ex) {
+        return new ResponseEntity<>(
+                buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage()),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGeneral(Exception ex) {
         return new ResponseEntity<>(
@@ -66,4 +83,26 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(InvalidSalarySlipLinkException.class)
+    public ResponseEntity<Object> handleInvalidSalarySlipLink(InvalidSalarySlipLinkException ex) {
+        return new ResponseEntity<>(
+                buildResponse(HttpStatus.FORBIDDEN, ex.getMessage()),
+                HttpStatus.FORBIDDEN
+        );
+    }
+
+    @ExceptionHandler(SalarySlipRenderingBusyException.class)
+    public ResponseEntity<Object> handleSalarySlipRenderingBusy(SalarySlipRenderingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    @ExceptionHandler(SalarySlipOutdatedException.class)
+    public ResponseEntity<Object> handleSalarySlipOutdated(SalarySlipOutdatedException ex) {
+        return new ResponseEntity<>(
+                buildResponse(HttpStatus.CONFLICT, ex.getMessage()),
+                HttpStatus.CONFLICT
+        );
+    }
 }
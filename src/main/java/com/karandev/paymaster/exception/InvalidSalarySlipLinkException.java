@@ -0,0 +1,7 @@
+package com.karandev.paymaster.exception;
+
+public class InvalidSalarySlipLinkException extends RuntimeException {
+    public InvalidSalarySlipLinkException(String message) {
+        super(message);
+    }
+}
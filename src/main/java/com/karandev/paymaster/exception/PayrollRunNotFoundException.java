@@ -0,0 +1,13 @@
+package com.karandev.paymaster.exception;
+
+import java.util.UUID;
+
+public class PayrollRunNotFoundException extends RuntimeException {
+    public PayrollRunNotFoundException(String message) {
+        super(message);
+    }
+
+    public PayrollRunNotFoundException(UUID runId) {
+        super("Payroll run not found with ID: " + runId);
+    }
+}
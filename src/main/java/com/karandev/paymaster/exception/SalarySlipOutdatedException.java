@@ -0,0 +1,7 @@
+package com.karandev.paymaster.exception;
+
+public class SalarySlipOutdatedException extends RuntimeException {
+    public SalarySlipOutdatedException() {
+        super("The payroll was regenerated while its salary slip was rendered, please retry");
+    }
+}
@@ -0,0 +1,7 @@
+package com.karandev.paymaster.exception;
+
+public class SalarySlipRenderingBusyException extends RuntimeException {
+    public SalarySlipRenderingBusyException() {
+        super("Salary slip rendering is at capacity, please retry shortly");
+    }
+}
@@ -1,29 +1,25 @@
 package com.karandev.paymaster.helper;
 
-import com.karandev.paymaster.entity.Employee;
-import com.karandev.paymaster.repository.EmployeeRepository;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.activation.DataSource;
 import jakarta.mail.util.ByteArrayDataSource;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 @Service
 public class EmailService {
 
     private final JavaMailSender mailSender;
-    private final EmployeeRepository employeeRepository;
-    public EmailService(JavaMailSender mailSender, EmployeeRepository employeeRepository) {
+    private final SmtpTransportPool transportPool;
+    public EmailService(JavaMailSender mailSender, SmtpTransportPool transportPool) {
         this.mailSender = mailSender;
-        this.employeeRepository = employeeRepository;
+        this.transportPool = transportPool;
     }
 
     @Value("${app.frontend-url}")
@@ -34,45 +30,64 @@ public class EmailService {
             String subject,
             String body,
             byte[] pdfBytes,
-            String pdfFilename) {
+            String pdfFilename) throws MessagingException, InterruptedException {
 
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        MessagingException failure = transportPool.send(
+                List.of(createSalarySlipMessage(toEmail, subject, body, pdfBytes, pdfFilename))).get(0);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Builds a salary slip email, with the slip attached unless {@code pdfBytes} is null.
+     */
+    public MimeMessage createSalarySlipMessage(
+            String toEmail,
+            String subject,
+            String body,
+            byte[] pdfBytes,
+            String pdfFilename) throws MessagingException {
 
-            helper.setTo(toEmail);
-            helper.setSubject(subject);
-            helper.setText(body, true);
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, pdfBytes != null);
 
+        helper.setTo(toEmail);
+        helper.setSubject(subject);
+        helper.setText(body, true);
+
+        if (pdfBytes != null) {
             DataSource dataSource = new ByteArrayDataSource(pdfBytes, "application/pdf");
             helper.addAttachment(Objects.requireNonNull(pdfFilename), dataSource);
-
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.err.println("Failed to send email to " + toEmail + ": " + e.getMessage());
         }
-    }
-
-    @Transactional
-    public void sendSetPasswordEmail(UUID employeeId) {
 
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+        return message;
+    }
 
-        String token = UUID.randomUUID().toString();
-        employee.setPasswordToken(token);
-        employee.setTokenExpiry(LocalDateTime.now().plusHours(24));
+    /**
+     * Sends prepared messages over the pooled SMTP connections, several at a time.
+     *
+     * @return one entry per message: null if it was sent, otherwise why it was not
+     */
+    public List<MessagingException> sendAll(List<MimeMessage> messages) throws InterruptedException {
+        return transportPool.sendAll(messages);
+    }
 
-        employeeRepository.save(employee);
+    /**
+     * Builds the set-password invitation; sent through {@link InvitationDispatcher}.
+     */
+    public MimeMessage createSetPasswordMessage(String toEmail, String token) throws MessagingException {
 
         String setPasswordUrl = frontendUrl + "/set-password?token=" + token;
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(employee.getEmail());
-        message.setSubject("Set Your Password");
-        message.setText("Welcome! Please set your password using this link: " + setPasswordUrl);
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false);
+
+        helper.setTo(toEmail);
+        helper.setSubject("Set Your Password");
+        helper.setText("Welcome! Please set your password using this link: " + setPasswordUrl);
 
-        mailSender.send(message);
+        return message;
     }
 
 
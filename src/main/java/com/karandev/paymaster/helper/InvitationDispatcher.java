@@ -0,0 +1,197 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.entity.DeliveryStatus;
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.InvitationDelivery;
+import com.karandev.paymaster.repository.EmployeeRepository;
+import com.karandev.paymaster.repository.InvitationDeliveryRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sends set-password invitations from the invitation outbox. {@link #invite} only writes an
+ * outbox row, in the caller's transaction, so onboarding requests never wait on SMTP, a
+ * rolled-back employee is never invited and a queued invitation survives a restart. An employee
+ * invited again before their mail goes out gets the one mail, carrying the latest token.
+ * <p>
+ * Every {@code app.invitations.poll-interval-ms} the dispatcher claims up to
+ * {@code app.invitations.batch-size} due invitations, skipping rows another instance holds,
+ * issues their tokens in the claiming transaction and sends the mails together over the pooled
+ * SMTP connections. Failed mails are retried after {@code retry-delay-ms}, up to
+ * {@code max-attempts} times, and then left FAILED. Claims of an instance that died mid-send go
+ * stale and are handed back after {@code stale-claim-ms}.
+ */
+@Component
+public class InvitationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(InvitationDispatcher.class);
+
+    private final InvitationDeliveryRepository invitationRepository;
+    private final EmployeeRepository employeeRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.invitations.linger-ms:1000}")
+    private long lingerMs;
+
+    @Value("${app.invitations.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.invitations.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.invitations.retry-delay-ms:60000}")
+    private long retryDelayMs;
+
+    @Value("${app.invitations.stale-claim-ms:600000}")
+    private long staleClaimMs;
+
+    public InvitationDispatcher(InvitationDeliveryRepository invitationRepository,
+                                EmployeeRepository employeeRepository,
+                                EmailService emailService,
+                                PlatformTransactionManager transactionManager) {
+        this.invitationRepository = invitationRepository;
+        this.employeeRepository = employeeRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queues a set-password invitation for the employee in the outbox, as part of the current
+     * transaction if there is one.
+     */
+    @Transactional
+    public void invite(UUID employeeId) {
+        if (invitationRepository.existsByEmployee_EmployeeIdAndStatus(employeeId, DeliveryStatus.PENDING)) {
+            // The token is issued when the mail goes out, so the queued one already carries the latest
+            return;
+        }
+        InvitationDelivery invitation = new InvitationDelivery();
+        invitation.setEmployee(employeeRepository.getReferenceById(employeeId));
+        // Give repeated invitations time to arrive and collapse into this one
+        invitation.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(lingerMs)));
+        invitationRepository.save(invitation);
+    }
+
+    @Scheduled(fixedDelayString = "${app.invitations.poll-interval-ms:2000}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int released = transactionTemplate.execute(status ->
+                invitationRepository.releaseStaleClaims(now.minus(Duration.ofMillis(staleClaimMs))));
+        if (released > 0) {
+            log.warn("Released {} set-password invitations abandoned by a previous dispatcher", released);
+        }
+
+        LocalDateTime tokenExpiry = now.plusHours(24);
+        List<InvitationDelivery> claimed = transactionTemplate.execute(status -> {
+            List<InvitationDelivery> due = invitationRepository.findDueForUpdate(
+                    DeliveryStatus.PENDING, now, PageRequest.of(0, batchSize));
+            for (InvitationDelivery invitation : due) {
+                invitation.setStatus(DeliveryStatus.IN_PROGRESS);
+                Employee employee = invitation.getEmployee();
+                employee.setPasswordToken(UUID.randomUUID().toString());
+                employee.setTokenExpiry(tokenExpiry);
+            }
+            invitationRepository.flush();
+            return due;
+        });
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<InvitationDelivery> recipients = new ArrayList<>(claimed.size());
+        List<MimeMessage> messages = new ArrayList<>(claimed.size());
+        for (InvitationDelivery invitation : claimed) {
+            Employee employee = invitation.getEmployee();
+            try {
+                messages.add(emailService.createSetPasswordMessage(employee.getEmail(), employee.getPasswordToken()));
+                recipients.add(invitation);
+            } catch (MessagingException | RuntimeException e) {
+                // A bad address will not get better by retrying
+                invitation.setAttempts(invitation.getAttempts() + 1);
+                invitation.setLastError(truncate(e.getMessage()));
+                invitation.setStatus(DeliveryStatus.FAILED);
+                log.error("Cannot invite employee {} at {}: {}", employee.getEmployeeId(), employee.getEmail(), e.getMessage());
+            }
+        }
+
+        List<MessagingException> failures;
+        try {
+            failures = emailService.sendAll(messages);
+        } catch (InterruptedException e) {
+            // Shutting down: hand the claims back untouched
+            Thread.currentThread().interrupt();
+            recipients.forEach(invitation -> invitation.setStatus(DeliveryStatus.PENDING));
+            record(claimed);
+            return;
+        } catch (RuntimeException e) {
+            log.error("Could not send {} set-password invitations", messages.size(), e);
+            failures = Collections.nCopies(messages.size(), new MessagingException(e.getMessage(), e));
+        }
+
+        int sent = 0;
+        for (int i = 0; i < recipients.size(); i++) {
+            InvitationDelivery invitation = recipients.get(i);
+            MessagingException failure = failures.get(i);
+            if (failure == null) {
+                invitation.setStatus(DeliveryStatus.SENT);
+                invitation.setSentAt(LocalDateTime.now());
+                invitation.setLastError(null);
+                sent++;
+            } else {
+                retry(invitation, failure.getMessage());
+            }
+        }
+        record(claimed);
+        log.info("Sent {} of {} set-password invitations", sent, claimed.size());
+    }
+
+    private void retry(InvitationDelivery invitation, String error) {
+        UUID employeeId = invitation.getEmployee().getEmployeeId();
+        int attempts = invitation.getAttempts() + 1;
+        invitation.setAttempts(attempts);
+        invitation.setLastError(truncate(error));
+
+        if (attempts >= maxAttempts) {
+            invitation.setStatus(DeliveryStatus.FAILED);
+            log.error("Giving up on the set-password invitation for employee {} after {} attempts: {}",
+                    employeeId, attempts, error);
+            return;
+        }
+        invitation.setStatus(DeliveryStatus.PENDING);
+        invitation.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(retryDelayMs)));
+        log.warn("Set-password invitation for employee {} failed (attempt {}), retrying in {} ms: {}",
+                employeeId, attempts, retryDelayMs, error);
+    }
+
+    private void record(List<InvitationDelivery> invitations) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> invitationRepository.saveAll(invitations));
+        } catch (OptimisticLockingFailureException e) {
+            log.error("Set-password invitations were claimed again while they were being sent; their outcomes were not recorded");
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
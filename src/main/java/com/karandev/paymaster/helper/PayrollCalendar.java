@@ -0,0 +1,58 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.entity.Company;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Resolves a company's pay calendar. Payroll for a month is generated at the company's
+ * cut-off day of that month and salary slips are released on its pay day. Days beyond the
+ * end of a month fall on the month's last day.
+ */
+public final class PayrollCalendar {
+
+    public static final int DEFAULT_CUTOFF_DAY = 1;
+
+    private PayrollCalendar() {
+    }
+
+    public static void validate(Integer payDay, Integer cutoffDay) {
+        if (payDay != null && (payDay < 1 || payDay > 31)) {
+            throw new IllegalArgumentException("Pay day must be between 1 and 31");
+        }
+        if (cutoffDay != null && (cutoffDay < 1 || cutoffDay > 31)) {
+            throw new IllegalArgumentException("Payroll cut-off day must be between 1 and 31");
+        }
+        if (payDay != null && cutoffDay != null && cutoffDay > payDay) {
+            throw new IllegalArgumentException("Payroll cut-off day must not be after the pay day");
+        }
+    }
+
+    public static LocalDateTime cutoff(Company company, YearMonth period) {
+        int day = company.getPayrollCutoffDay() != null ? company.getPayrollCutoffDay() : DEFAULT_CUTOFF_DAY;
+        return atDay(period, day);
+    }
+
+    public static LocalDateTime defaultCutoff(YearMonth period) {
+        return atDay(period, DEFAULT_CUTOFF_DAY);
+    }
+
+    /**
+     * @return when slips of the period may be sent, or null to send them right away
+     */
+    public static LocalDateTime payDate(Company company, YearMonth period) {
+        return company.getPayDay() != null ? atDay(period, company.getPayDay()) : null;
+    }
+
+    /**
+     * The payroll period a company's next scheduled run belongs to.
+     */
+    public static YearMonth period(LocalDateTime nextPayrollRunAt) {
+        return YearMonth.from(nextPayrollRunAt);
+    }
+
+    private static LocalDateTime atDay(YearMonth period, int day) {
+        return period.atDay(Math.min(day, period.lengthOfMonth())).atStartOfDay();
+    }
+}
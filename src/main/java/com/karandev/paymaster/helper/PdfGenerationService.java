@@ -1,19 +1,31 @@
 package com.karandev.paymaster.helper;
 
+import com.karandev.paymaster.dto.PayrollRegisterRow;
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.Employee;
 import com.karandev.paymaster.entity.EmployeePayroll;
 import com.karandev.paymaster.repository.EmployeePayrollRepository;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 public class PdfGenerationService {
@@ -21,53 +33,210 @@ public class PdfGenerationService {
     private final EmployeePayrollRepository payrollRepository;
 
     // Modern Color Scheme
-    private static final Color PRIMARY_COLOR = new Color(41, 128, 185);
-    private static final Color SECONDARY_COLOR = new Color(52, 73, 94);
-    private static final Color EARNINGS_COLOR = new Color(39, 174, 96);      // Green
-    private static final Color DEDUCTIONS_COLOR = new Color(231, 76, 60);    // Red
-    private static final Color NET_SALARY_COLOR = new Color(22, 160, 133);   // Teal
-    private static final Color TOTAL_ROW_BG = new Color(236, 240, 241);      // Light Grey
-    private static final Color LABEL_COLOR = new Color(44, 62, 80);          // Dark Grey
-
-    private static final NumberFormat INR = NumberFormat.getCurrencyInstance(new Locale("en", "IN"));
+    static final Color PRIMARY_COLOR = new Color(41, 128, 185);
+    static final Color SECONDARY_COLOR = new Color(52, 73, 94);
+    static final Color EARNINGS_COLOR = new Color(39, 174, 96);      // Green
+    static final Color DEDUCTIONS_COLOR = new Color(231, 76, 60);    // Red
+    static final Color NET_SALARY_COLOR = new Color(22, 160, 133);   // Teal
+    static final Color TOTAL_ROW_BG = new Color(236, 240, 241);      // Light Grey
+    static final Color LABEL_COLOR = new Color(44, 62, 80);          // Dark Grey
+
+    static final Color HEADER_BG = new Color(236, 240, 241);
+    static final Color BORDER_COLOR = new Color(189, 195, 199);
+    static final Color INFO_LABEL_BG = new Color(250, 250, 250);
+
+    // NumberFormat is not thread-safe and slips are rendered concurrently
+    private static final ThreadLocal<NumberFormat> INR =
+            ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(new Locale("en", "IN")));
+
+    private static final String[] ONES = {"", "One", "Two", "Three", "Four", "Five", "Six", "Seven", "Eight", "Nine", "Ten",
+            "Eleven", "Twelve", "Thirteen", "Fourteen", "Fifteen", "Sixteen", "Seventeen", "Eighteen", "Nineteen"};
+    private static final String[] TENS = {"", "", "Twenty", "Thirty", "Forty", "Fifty", "Sixty", "Seventy", "Eighty", "Ninety"};
 
     // Fonts
-    private static final Font COMPANY_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 22, PRIMARY_COLOR);
-    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, SECONDARY_COLOR);
-    private static final Font SUBTITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, new Color(127, 140, 141));
-    private static final Font LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, LABEL_COLOR);
-    private static final Font VALUE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.BLACK);
-    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.WHITE);
-    private static final Font TOTAL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, LABEL_COLOR);
-    private static final Font NET_PAY_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, Color.WHITE);
-
-    public PdfGenerationService(EmployeePayrollRepository payrollRepository) {
+    static final Font COMPANY_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 22, PRIMARY_COLOR);
+    static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, SECONDARY_COLOR);
+    static final Font SUBTITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, new Color(127, 140, 141));
+    static final Font LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, LABEL_COLOR);
+    static final Font VALUE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.BLACK);
+    static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.WHITE);
+    static final Font TOTAL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, LABEL_COLOR);
+    static final Font NET_PAY_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, Color.WHITE);
+    static final Font WORDS_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, LABEL_COLOR);
+    static final Font FOOTER_FONT = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 9, new Color(149, 165, 166));
+    static final Font REGISTER_HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 8, Color.WHITE);
+    static final Font REGISTER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 8, Color.BLACK);
+    static final Font REGISTER_TOTAL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 8, LABEL_COLOR);
+
+    static final String FOOTER_NOTE = "This is a computer-generated salary slip and does not require a signature.";
+
+    // Summary rows laid out per step; laid out rows are written out and dropped from memory
+    private static final int REGISTER_CHUNK = 50;
+
+    private final SalarySlipTemplateRenderer templateRenderer;
+    private final SalarySlipRenderMode renderMode;
+    private final EntityManager entityManager;
+
+    public PdfGenerationService(EmployeePayrollRepository payrollRepository,
+                                SalarySlipTemplateRenderer templateRenderer,
+                                @Value("${app.payroll.slip.render-mode:flow}") SalarySlipRenderMode renderMode,
+                                @Value("${app.payroll.slip.fonts.required-scripts:" + SlipFonts.INDIC_SCRIPTS + "}")
+                                List<Character.UnicodeScript> requiredScripts,
+                                EntityManager entityManager) {
+        // Fails startup rather than leaving names out of slips
+        SlipFonts.requireScripts(requiredScripts);
         this.payrollRepository = payrollRepository;
+        this.templateRenderer = templateRenderer;
+        this.renderMode = renderMode;
+        this.entityManager = entityManager;
     }
 
     public byte[] generateSalarySlipPdf(EmployeePayroll p) throws DocumentException {
+        if (renderMode == SalarySlipRenderMode.TEMPLATE) {
+            return templateRenderer.render(p);
+        }
+
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         Document document = new Document(PageSize.A4, 40, 40, 60, 60);
         PdfWriter.getInstance(document, out);
         document.open();
 
-        addCompanyHeader(document, p);
-        addEmployeeInfo(document, p);
-        addEarningsAndDeductionsTable(document, p);
-        addNetPaySummary(document, p);
-        addFooterNote(document);
+        addSlip(document, p);
 
         document.close();
         return out.toByteArray();
     }
 
-    private void addCompanyHeader(Document doc, EmployeePayroll p) throws DocumentException {
+    /**
+     * Writes a company's payroll register for the month to {@code out}: a summary table of all
+     * employees followed by one slip page per employee. The rows are read once, through a cursor
+     * over a projection, and each slip page is flushed as it fills. Only the rows themselves are
+     * kept, for the summary, which is written after the slips and moved in front of them.
+     */
+    @Transactional(readOnly = true)
+    public void writePayrollRegister(UUID companyId, int month, int year, OutputStream out) throws DocumentException {
+        Company company = entityManager.find(Company.class, companyId);
+        Document document = new Document(PageSize.A4, 40, 40, 60, 60);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setLinearPageMode();
+        document.open();
+
+        List<PayrollRegisterRow> rows = new ArrayList<>();
+        try (Stream<PayrollRegisterRow> payrolls = payrollRepository.streamRegisterRows(companyId, month, year)) {
+            Iterator<PayrollRegisterRow> it = payrolls.iterator();
+            while (it.hasNext()) {
+                PayrollRegisterRow row = it.next();
+                document.newPage();
+                addSlip(document, payrollOf(company, month, year, row));
+                rows.add(row);
+            }
+        }
+        document.newPage();
+        int slipPages = writer.getPageNumber() - 1;
+
+        addRegisterSummary(document, company, "Payroll Register - " + monthAndYear(month, year), rows);
+        document.newPage();
+        int pages = writer.getPageNumber() - 1;
+
+        int[] order = new int[pages];
+        for (int i = 0; i < pages; i++) {
+            order[i] = (i + slipPages) % pages + 1;
+        }
+        writer.reorderPages(order);
+
+        document.close();
+    }
+
+    private void addSlip(Document doc, EmployeePayroll p) throws DocumentException {
+        addCompanyHeader(doc, p.getCompany(), title(p));
+        addEmployeeInfo(doc, p);
+        addEarningsAndDeductionsTable(doc, p);
+        addNetPaySummary(doc, p);
+        addFooterNote(doc);
+    }
+
+    private void addRegisterSummary(Document doc, Company company, String title, List<PayrollRegisterRow> rows)
+            throws DocumentException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        addCompanyHeader(doc, company, title);
+
+        PdfPTable table = new PdfPTable(8);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{11, 21, 12, 10, 10, 10, 12, 14});
+        table.setHeaderRows(1);
+        // Added to the document in chunks so laid out rows can be dropped
+        table.setComplete(false);
+
+        for (String header : new String[]{"Emp Code", "Employee", "Gross", "PF", "ESI", "Prof. Tax", "Income Tax", "Net Pay"}) {
+            table.addCell(createRegisterCell(header, REGISTER_HEADER_FONT, Element.ALIGN_CENTER, SECONDARY_COLOR));
+        }
+
+        BigDecimal[] totals = {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO};
+        for (int row = 0; row < rows.size(); row++) {
+            PayrollRegisterRow r = rows.get(row);
+            BigDecimal[] amounts = {r.grossSalary(), r.pfEmployeeAmount(), r.esiEmployeeAmount(),
+                    r.professionalTaxAmount(), r.incomeTaxAmount(), r.netSalary()};
+
+            table.addCell(createRegisterCell(r.empCode(), REGISTER_FONT, Element.ALIGN_LEFT, null));
+            table.addCell(createRegisterCell(r.name(), REGISTER_FONT, Element.ALIGN_LEFT, null));
+            for (int i = 0; i < amounts.length; i++) {
+                table.addCell(createRegisterCell(formatCurrency(amounts[i]), REGISTER_FONT, Element.ALIGN_RIGHT, null));
+                totals[i] = totals[i].add(nullSafe(amounts[i]));
+            }
+
+            if ((row + 1) % REGISTER_CHUNK == 0) {
+                doc.add(table);
+            }
+        }
+
+        PdfPCell totalLabel = createRegisterCell("Total (" + rows.size() + " employees)", REGISTER_TOTAL_FONT, Element.ALIGN_LEFT, TOTAL_ROW_BG);
+        totalLabel.setColspan(2);
+        table.addCell(totalLabel);
+        for (BigDecimal total : totals) {
+            table.addCell(createRegisterCell(formatCurrency(total), REGISTER_TOTAL_FONT, Element.ALIGN_RIGHT, TOTAL_ROW_BG));
+        }
+
+        table.setComplete(true);
+        doc.add(table);
+    }
+
+    // Unmanaged, carrying only what a slip prints
+    private static EmployeePayroll payrollOf(Company company, int month, int year, PayrollRegisterRow row) {
+        Employee employee = new Employee();
+        employee.setEmpCode(row.empCode());
+        employee.setName(row.name());
+        employee.setDesignation(row.designation());
+        employee.setDepartment(row.department());
+
+        EmployeePayroll p = new EmployeePayroll();
+        p.setCompany(company);
+        p.setEmployee(employee);
+        p.setMonth(month);
+        p.setYear(year);
+        p.setBasicSalary(row.basicSalary());
+        p.setHra(row.hra());
+        p.setConveyance(row.conveyance());
+        p.setMedicalAllowance(row.medicalAllowance());
+        p.setSpecialAllowance(row.specialAllowance());
+        p.setBonusAmount(row.bonusAmount());
+        p.setGrossSalary(row.grossSalary());
+        p.setPfEmployeeAmount(row.pfEmployeeAmount());
+        p.setEsiEmployeeAmount(row.esiEmployeeAmount());
+        p.setProfessionalTaxAmount(row.professionalTaxAmount());
+        p.setIncomeTaxAmount(row.incomeTaxAmount());
+        p.setNetSalary(row.netSalary());
+        return p;
+    }
+
+    private void addCompanyHeader(Document doc, Company company, String title) throws DocumentException {
         // Company Name with colored background
         PdfPTable headerTable = new PdfPTable(1);
         headerTable.setWidthPercentage(100);
 
-        PdfPCell headerCell = new PdfPCell(new Phrase(p.getCompany().getName(), COMPANY_FONT));
-        headerCell.setBackgroundColor(new Color(236, 240, 241));
+        PdfPCell headerCell = new PdfPCell(SlipFonts.phrase(company.getName(), COMPANY_FONT));
+        headerCell.setBackgroundColor(HEADER_BG);
         headerCell.setHorizontalAlignment(Element.ALIGN_CENTER);
         headerCell.setPadding(15);
         headerCell.setBorder(Rectangle.NO_BORDER);
@@ -75,22 +244,18 @@ public class PdfGenerationService {
 
         doc.add(headerTable);
 
-        if (p.getCompany().getAddress() != null) {
-            Paragraph address = new Paragraph(p.getCompany().getAddress(), SUBTITLE_FONT);
+        if (company.getAddress() != null) {
+            Paragraph address = new Paragraph(SlipFonts.phrase(company.getAddress(), SUBTITLE_FONT));
             address.setAlignment(Element.ALIGN_CENTER);
             address.setSpacingBefore(8);
             doc.add(address);
         }
 
-        Paragraph title = new Paragraph(
-                "Salary Slip - " + Month.of(p.getMonth()).name().substring(0, 1).toUpperCase()
-                        + Month.of(p.getMonth()).name().substring(1).toLowerCase() + " " + p.getYear(),
-                TITLE_FONT
-        );
-        title.setAlignment(Element.ALIGN_CENTER);
-        title.setSpacingBefore(15);
-        title.setSpacingAfter(20);
-        doc.add(title);
+        Paragraph heading = new Paragraph(title, TITLE_FONT);
+        heading.setAlignment(Element.ALIGN_CENTER);
+        heading.setSpacingBefore(15);
+        heading.setSpacingAfter(20);
+        doc.add(heading);
     }
 
     private void addEmployeeInfo(Document doc, EmployeePayroll p) throws DocumentException {
@@ -130,10 +295,7 @@ public class PdfGenerationService {
 
         // Total Row with modern styling
         BigDecimal totalEarnings = p.getGrossSalary();
-        BigDecimal totalDeductions = p.getPfEmployeeAmount()
-                .add(nullSafe(p.getEsiEmployeeAmount()))
-                .add(p.getProfessionalTaxAmount())
-                .add(p.getIncomeTaxAmount());
+        BigDecimal totalDeductions = totalDeductions(p);
 
         table.addCell(createTotalLabelCell("Gross Salary"));
         table.addCell(createTotalAmountCell(formatCurrency(totalEarnings)));
@@ -168,7 +330,7 @@ public class PdfGenerationService {
         labelCell.setBorder(Rectangle.NO_BORDER);
         table.addCell(labelCell);
 
-        PdfPCell amountCell = new PdfPCell(new Phrase(formatCurrency(p.getNetSalary()), NET_PAY_FONT));
+        PdfPCell amountCell = new PdfPCell(SlipFonts.phrase(formatCurrency(p.getNetSalary()), NET_PAY_FONT));
         amountCell.setBackgroundColor(NET_SALARY_COLOR);
         amountCell.setHorizontalAlignment(Element.ALIGN_CENTER);
         amountCell.setPadding(14);
@@ -177,20 +339,14 @@ public class PdfGenerationService {
 
         doc.add(table);
 
-        Paragraph inWords = new Paragraph(
-                "Amount in Words: " + toWords(p.getNetSalary()) + " Only",
-                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, LABEL_COLOR)
-        );
+        Paragraph inWords = new Paragraph(amountInWords(p), WORDS_FONT);
         inWords.setAlignment(Element.ALIGN_RIGHT);
         inWords.setSpacingBefore(12);
         doc.add(inWords);
     }
 
     private void addFooterNote(Document doc) throws DocumentException {
-        Paragraph note = new Paragraph(
-                "This is a computer-generated salary slip and does not require a signature.",
-                FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 9, new Color(149, 165, 166))
-        );
+        Paragraph note = new Paragraph(FOOTER_NOTE, FOOTER_FONT);
         note.setAlignment(Element.ALIGN_CENTER);
         note.setSpacingBefore(35);
         doc.add(note);
@@ -205,13 +361,13 @@ public class PdfGenerationService {
         PdfPCell cell = new PdfPCell(new Phrase(text, LABEL_FONT));
         cell.setBorder(Rectangle.NO_BORDER);
         cell.setPaddingBottom(10);
-        cell.setBackgroundColor(new Color(250, 250, 250));
+        cell.setBackgroundColor(INFO_LABEL_BG);
         cell.setPadding(8);
         return cell;
     }
 
     private PdfPCell createInfoValueCell(String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, VALUE_FONT));
+        PdfPCell cell = new PdfPCell(SlipFonts.phrase(text, VALUE_FONT));
         cell.setBorder(Rectangle.NO_BORDER);
         cell.setPaddingBottom(10);
         cell.setPadding(8);
@@ -231,17 +387,17 @@ public class PdfGenerationService {
         PdfPCell cell = new PdfPCell(new Phrase(text, VALUE_FONT));
         cell.setPadding(8);
         cell.setBorder(Rectangle.BOX);
-        cell.setBorderColor(new Color(189, 195, 199));
+        cell.setBorderColor(BORDER_COLOR);
         cell.setBorderWidth(0.5f);
         return cell;
     }
 
     private PdfPCell createAmountCell(String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, VALUE_FONT));
+        PdfPCell cell = new PdfPCell(SlipFonts.phrase(text, VALUE_FONT));
         cell.setPadding(8);
         cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
         cell.setBorder(Rectangle.BOX);
-        cell.setBorderColor(new Color(189, 195, 199));
+        cell.setBorderColor(BORDER_COLOR);
         cell.setBorderWidth(0.5f);
         return cell;
     }
@@ -251,35 +407,72 @@ public class PdfGenerationService {
         cell.setBackgroundColor(TOTAL_ROW_BG);
         cell.setPadding(10);
         cell.setBorder(Rectangle.BOX);
-        cell.setBorderColor(new Color(189, 195, 199));
+        cell.setBorderColor(BORDER_COLOR);
         cell.setBorderWidth(1f);
         return cell;
     }
 
     private PdfPCell createTotalAmountCell(String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, TOTAL_FONT));
+        PdfPCell cell = new PdfPCell(SlipFonts.phrase(text, TOTAL_FONT));
         cell.setBackgroundColor(TOTAL_ROW_BG);
         cell.setPadding(10);
         cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
         cell.setBorder(Rectangle.BOX);
-        cell.setBorderColor(new Color(189, 195, 199));
+        cell.setBorderColor(BORDER_COLOR);
         cell.setBorderWidth(1f);
         return cell;
     }
 
-    private String formatCurrency(BigDecimal amount) {
-        return amount != null ? INR.format(amount) : "₹0.00";
+    private PdfPCell createRegisterCell(String text, Font font, int alignment, Color bg) {
+        PdfPCell cell = new PdfPCell(SlipFonts.phrase(nullSafe(text), font));
+        cell.setPadding(5);
+        cell.setHorizontalAlignment(alignment);
+        cell.setBorder(Rectangle.BOX);
+        cell.setBorderColor(BORDER_COLOR);
+        cell.setBorderWidth(0.5f);
+        if (bg != null) {
+            cell.setBackgroundColor(bg);
+        }
+        return cell;
+    }
+
+    static String title(EmployeePayroll p) {
+        return "Salary Slip - " + monthAndYear(p);
     }
 
-    private String nullSafe(String str) {
+    private static String monthAndYear(EmployeePayroll p) {
+        return monthAndYear(p.getMonth(), p.getYear());
+    }
+
+    private static String monthAndYear(int month, int year) {
+        String name = Month.of(month).name();
+        return name.charAt(0) + name.substring(1).toLowerCase() + " " + year;
+    }
+
+    static BigDecimal totalDeductions(EmployeePayroll p) {
+        return p.getPfEmployeeAmount()
+                .add(nullSafe(p.getEsiEmployeeAmount()))
+                .add(p.getProfessionalTaxAmount())
+                .add(p.getIncomeTaxAmount());
+    }
+
+    static String amountInWords(EmployeePayroll p) {
+        return "Amount in Words: " + toWords(p.getNetSalary()) + " Only";
+    }
+
+    static String formatCurrency(BigDecimal amount) {
+        return amount != null ? INR.get().format(amount) : "₹0.00";
+    }
+
+    static String nullSafe(String str) {
         return str != null && !str.isBlank() ? str : "N/A";
     }
 
-    private BigDecimal nullSafe(BigDecimal val) {
+    private static BigDecimal nullSafe(BigDecimal val) {
         return val != null ? val : BigDecimal.ZERO;
     }
 
-    private String toWords(BigDecimal number) {
+    private static String toWords(BigDecimal number) {
         if (number == null || number.compareTo(BigDecimal.ZERO) == 0) return "Zero Rupees";
 
         long rupees = number.longValue();
@@ -295,17 +488,13 @@ public class PdfGenerationService {
         return words.toString();
     }
 
-    private String numberToWords(long number) {
-        String[] ones = {"", "One", "Two", "Three", "Four", "Five", "Six", "Seven", "Eight", "Nine", "Ten",
-                "Eleven", "Twelve", "Thirteen", "Fourteen", "Fifteen", "Sixteen", "Seventeen", "Eighteen", "Nineteen"};
-        String[] tens = {"", "", "Twenty", "Thirty", "Forty", "Fifty", "Sixty", "Seventy", "Eighty", "Ninety"};
-
-        if (number < 20) return ones[(int) number];
-        if (number < 100) return tens[(int) (number / 10)] + (number % 10 != 0 ? " " + ones[(int) (number % 10)] : "");
-        if (number < 1000) return ones[(int) (number / 100)] + " Hundred" + (number % 100 != 0 ? " " + numberToWords(number % 100) : "");
+    private static String numberToWords(long number) {
+        if (number < 20) return ONES[(int) number];
+        if (number < 100) return TENS[(int) (number / 10)] + (number % 10 != 0 ? " " + ONES[(int) (number % 10)] : "");
+        if (number < 1000) return ONES[(int) (number / 100)] + " Hundred" + (number % 100 != 0 ? " " + numberToWords(number % 100) : "");
         if (number < 100000) return numberToWords(number / 1000) + " Thousand" + (number % 1000 != 0 ? " " + numberToWords(number % 1000) : "");
         if (number < 10000000) return numberToWords(number / 100000) + " Lakh" + (number % 100000 != 0 ? " " + numberToWords(number % 100000) : "");
 
         return numberToWords(number / 10000000) + " Crore" + (number % 10000000 != 0 ? " " + numberToWords(number % 10000000) : "");
     }
-}
\ No newline at end of file
+}
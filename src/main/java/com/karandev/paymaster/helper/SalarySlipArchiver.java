@@ -0,0 +1,120 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.repository.EmployeePayrollRepository;
+import com.lowagie.text.DocumentException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Month;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes every salary slip of a company's month into one ZIP stream.
+ * <p>
+ * Slips are fetched from the {@link SalarySlipStore} (rendering any that are missing) a
+ * window ahead of the writer, so rendering runs in parallel while entries are written in
+ * employee-code order. Only the window's payrolls are held at a time and slips are copied
+ * from disk, so memory stays flat however many employees the company has.
+ */
+@Component
+public class SalarySlipArchiver {
+
+    private final EmployeePayrollRepository employeePayrollRepository;
+    private final SalarySlipStore slipStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int window;
+
+    public SalarySlipArchiver(EmployeePayrollRepository employeePayrollRepository,
+                              SalarySlipStore slipStore,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.payroll.slip.export.window:0}") int window) {
+        this.employeePayrollRepository = employeePayrollRepository;
+        this.slipStore = slipStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.window = window > 0 ? window : 2 * Runtime.getRuntime().availableProcessors();
+    }
+
+    public List<UUID> payrollIds(UUID companyId, int month, int year) {
+        return employeePayrollRepository.findPayrollIdsByCompanyAndMonth(companyId, month, year);
+    }
+
+    public void writeZip(List<UUID> payrollIds, OutputStream out) throws IOException {
+        Deque<Future<StoredSlip>> pending = new ArrayDeque<>();
+        Iterator<UUID> ids = payrollIds.iterator();
+
+        // Fetchers mostly wait on the render pool, which bounds the actual rendering
+        try (ExecutorService fetchers = Executors.newVirtualThreadPerTaskExecutor();
+             ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.setLevel(Deflater.BEST_SPEED); // PDF streams are already compressed
+            try {
+                while (pending.size() < window && ids.hasNext()) {
+                    UUID id = ids.next();
+                    pending.add(fetchers.submit(() -> fetch(id)));
+                }
+                while (!pending.isEmpty()) {
+                    StoredSlip slip = await(pending.removeFirst());
+                    if (ids.hasNext()) {
+                        UUID id = ids.next();
+                        pending.add(fetchers.submit(() -> fetch(id)));
+                    }
+
+                    zip.putNextEntry(new ZipEntry(slip.fileName()));
+                    Files.copy(slip.path(), zip);
+                    zip.closeEntry();
+                }
+            } finally {
+                // The client may have gone away; stop rendering for it
+                pending.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+
+    private StoredSlip fetch(UUID payrollId) throws DocumentException, InterruptedException, IOException {
+        EmployeePayroll payroll = transactionTemplate.execute(status -> {
+            EmployeePayroll p = employeePayrollRepository.findById(payrollId).orElseThrow();
+            // Initialise the payroll graph while the session is open
+            p.getEmployee().getName();
+            return p;
+        });
+        String fileName = String.format("Salary_Slip_%s_%s_%d.pdf",
+                payroll.getEmployee().getEmpCode(), Month.of(payroll.getMonth()), payroll.getYear());
+        return new StoredSlip(fileName, slipStore.awaitSlip(payroll));
+    }
+
+    private static StoredSlip await(Future<StoredSlip> slip) throws IOException {
+        try {
+            return slip.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Salary slip export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Could not render salary slip for export", e.getCause());
+        }
+    }
+
+    private record StoredSlip(String fileName, Path path) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.entity.DeliveryStatus;
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.entity.SalarySlipDeadLetter;
+import com.karandev.paymaster.entity.SalarySlipDelivery;
+import com.karandev.paymaster.entity.SalarySlipDeliveryMode;
+import com.karandev.paymaster.repository.SalarySlipDeadLetterRepository;
+import com.karandev.paymaster.repository.SalarySlipDeliveryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the salary slip outbox. Due deliveries are claimed and mailed on a dedicated worker
+ * pool: ATTACHMENT deliveries carry the slip from the {@link SalarySlipStore}, rendered on first
+ * use, and LINK deliveries carry a {@link SalarySlipLinks} download link instead. Failures are
+ * retried with exponential backoff. Deliveries that fail {@code max-attempts} times are marked
+ * FAILED and recorded as a {@link SalarySlipDeadLetter} for an operator to replay.
+ * <p>
+ * Claims are IN_PROGRESS rows. Every poll refreshes the claims this dispatcher still holds,
+ * including those queued behind the mail rate limit, so only the claims of a dispatcher that
+ * died go stale and are handed back after {@code stale-claim-ms}. A worker only sends after
+ * taking its claim over with a conditional update on the claim's version; a claim that was
+ * handed back and claimed again in the meantime is left to its new owner.
+ */
+@Service
+public class SalarySlipDeliveryDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SalarySlipDeliveryDispatcher.class);
+
+    private final SalarySlipDeliveryRepository deliveryRepository;
+    private final SalarySlipDeadLetterRepository deadLetterRepository;
+    private final SalarySlipStore slipStore;
+    private final SalarySlipLinks slipLinks;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+
+    // Claimed by this dispatcher and not yet finished
+    private final Set<UUID> claims = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.slip-delivery.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.slip-delivery.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.slip-delivery.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${app.slip-delivery.max-backoff-ms:1800000}")
+    private long maxBackoffMs;
+
+    @Value("${app.slip-delivery.stale-claim-ms:600000}")
+    private long staleClaimMs;
+
+    public SalarySlipDeliveryDispatcher(SalarySlipDeliveryRepository deliveryRepository,
+                                        SalarySlipDeadLetterRepository deadLetterRepository,
+                                        SalarySlipStore slipStore,
+                                        SalarySlipLinks slipLinks,
+                                        EmailService emailService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.slip-delivery.workers:4}") int workerCount,
+                                        @Value("${app.slip-delivery.queue-capacity:200}") int queueCapacity) {
+        this.deliveryRepository = deliveryRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.slipStore = slipStore;
+        this.slipLinks = slipLinks;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("slip-delivery-"));
+    }
+
+    @Scheduled(fixedDelayString = "${app.slip-delivery.poll-interval-ms:5000}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int released = transactionTemplate.execute(status -> {
+            if (!claims.isEmpty()) {
+                deliveryRepository.touchClaims(List.copyOf(claims), now);
+            }
+            return deliveryRepository.releaseStaleClaims(now.minus(Duration.ofMillis(staleClaimMs)));
+        });
+        if (released > 0) {
+            log.warn("Released {} salary slip deliveries abandoned by a previous dispatcher", released);
+        }
+
+        // Only claim what the worker queue can take right now; the rest stays in the outbox.
+        int capacity = Math.min(batchSize, workers.getQueue().remainingCapacity());
+        if (capacity <= 0) {
+            return;
+        }
+
+        // Delivery id to the version the claim left the row at
+        Map<UUID, Long> claimed = transactionTemplate.execute(status -> {
+            List<SalarySlipDelivery> due = deliveryRepository.findDueForUpdate(
+                    DeliveryStatus.PENDING, now, PageRequest.of(0, capacity));
+            due.forEach(delivery -> delivery.setStatus(DeliveryStatus.IN_PROGRESS));
+            deliveryRepository.flush();
+            return due.stream().collect(Collectors.toMap(SalarySlipDelivery::getDeliveryId, SalarySlipDelivery::getVersion,
+                    (a, b) -> a, LinkedHashMap::new));
+        });
+
+        claimed.forEach((deliveryId, version) -> {
+            claims.add(deliveryId);
+            try {
+                workers.execute(() -> {
+                    try {
+                        deliver(deliveryId, version);
+                    } finally {
+                        claims.remove(deliveryId);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down: stop refreshing the claim, so it goes stale and is handed back
+                claims.remove(deliveryId);
+                throw e;
+            }
+        });
+
+        if (!claimed.isEmpty()) {
+            log.info("Dispatched {} salary slip deliveries", claimed.size());
+        }
+    }
+
+    private void deliver(UUID deliveryId, long claimedVersion) {
+        SalarySlipDelivery delivery = transactionTemplate.execute(status -> {
+            if (deliveryRepository.takeClaim(deliveryId, claimedVersion, LocalDateTime.now()) == 0) {
+                return null;
+            }
+            SalarySlipDelivery d = deliveryRepository.findById(deliveryId).orElseThrow();
+            // Initialise the payroll graph while the session is open
+            d.getPayroll().getEmployee().getName();
+            return d;
+        });
+
+        if (delivery == null) {
+            log.warn("Salary slip delivery {} was handed back and claimed again before it was sent; leaving it to the new claim",
+                    deliveryId);
+            return;
+        }
+
+        SalarySlipDeadLetter deadLetter = null;
+
+        try {
+            EmployeePayroll payroll = delivery.getPayroll();
+
+            if (delivery.getMode() == SalarySlipDeliveryMode.LINK) {
+                // Rendered only if and when the link is opened
+                emailService.sendSalarySlip(
+                        delivery.getRecipientEmail(),
+                        delivery.getSubject(),
+                        delivery.getBody().replace(SalarySlipLinks.PLACEHOLDER, slipLinks.linkFor(payroll.getPayRollId())),
+                        null,
+                        null
+                );
+            } else {
+                byte[] pdf = slipStore.bytesFor(payroll);
+
+                emailService.sendSalarySlip(
+                        delivery.getRecipientEmail(),
+                        delivery.getSubject(),
+                        delivery.getBody(),
+                        pdf,
+                        delivery.getFileName()
+                );
+            }
+
+            delivery.setStatus(DeliveryStatus.SENT);
+            delivery.setSentAt(LocalDateTime.now());
+            delivery.setLastError(null);
+            log.info("Salary slip emailed to {} ({})", payroll.getEmployee().getName(), payroll.getEmployee().getEmpCode());
+
+        } catch (InterruptedException e) {
+            // Shutting down: hand the claim back untouched
+            Thread.currentThread().interrupt();
+            delivery.setStatus(DeliveryStatus.PENDING);
+        } catch (Exception e) {
+            int attempts = delivery.getAttempts() + 1;
+            delivery.setAttempts(attempts);
+            delivery.setLastError(truncate(e.getMessage()));
+
+            if (attempts >= maxAttempts) {
+                delivery.setStatus(DeliveryStatus.FAILED);
+                deadLetter = deadLetter(delivery);
+                log.error("Giving up on salary slip delivery {} to {} after {} attempts",
+                        deliveryId, delivery.getRecipientEmail(), attempts, e);
+            } else {
+                long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+                delivery.setStatus(DeliveryStatus.PENDING);
+                delivery.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+                log.warn("Salary slip delivery {} to {} failed (attempt {}), retrying in {} ms: {}",
+                        deliveryId, delivery.getRecipientEmail(), attempts, backoff, e.getMessage());
+            }
+        }
+
+        SalarySlipDeadLetter failed = deadLetter;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                deliveryRepository.save(delivery);
+                if (failed != null) {
+                    deadLetterRepository.save(failed);
+                }
+            });
+        } catch (OptimisticLockingFailureException e) {
+            log.error("Salary slip delivery {} was claimed again while it was being sent; its outcome ({}) was not recorded",
+                    deliveryId, delivery.getStatus());
+        }
+    }
+
+    private static SalarySlipDeadLetter deadLetter(SalarySlipDelivery delivery) {
+        SalarySlipDeadLetter deadLetter = new SalarySlipDeadLetter();
+        deadLetter.setDelivery(delivery);
+        deadLetter.setRecipientEmail(delivery.getRecipientEmail());
+        deadLetter.setAttempts(delivery.getAttempts());
+        deadLetter.setLastError(delivery.getLastError());
+        deadLetter.setFailedAt(LocalDateTime.now());
+        return deadLetter;
+    }
+
+    private String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
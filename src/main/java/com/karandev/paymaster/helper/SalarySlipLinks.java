@@ -0,0 +1,145 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.entity.SalarySlipDeliveryMode;
+import com.karandev.paymaster.exception.InvalidSalarySlipLinkException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Signed, expiring download links for salary slips mailed in {@link SalarySlipDeliveryMode#LINK}
+ * mode. A token carries the payroll id and its expiry, followed by an HMAC-SHA256 of both, so a
+ * link is checked without a database lookup and cannot be pointed at another payroll or
+ * extended. Link mode needs {@code app.slip-delivery.link.secret}, shared by all instances, and
+ * the application does not start without it. Attachment mode mails no links of its own, so
+ * there a random key per start stands in for a missing secret.
+ */
+@Component
+public class SalarySlipLinks {
+
+    /** Stands in for the link in a delivery's body until the email is sent. */
+    public static final String PLACEHOLDER = "{slipLink}";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SalarySlipDeliveryMode mode;
+    private final String baseUrl;
+    private final Duration ttl;
+    private final SecretKeySpec key;
+    private final Clock clock;
+
+    @Autowired
+    public SalarySlipLinks(@Value("${app.slip-delivery.mode:attachment}") SalarySlipDeliveryMode mode,
+                           @Value("${app.slip-delivery.link.base-url:http://localhost:8080}") String baseUrl,
+                           @Value("${app.slip-delivery.link.ttl:7d}") Duration ttl,
+                           @Value("${app.slip-delivery.link.secret:}") String secret) {
+        this(mode, baseUrl, ttl, secret, Clock.systemUTC());
+    }
+
+    SalarySlipLinks(SalarySlipDeliveryMode mode, String baseUrl, Duration ttl, String secret, Clock clock) {
+        this.mode = mode;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.ttl = ttl;
+        this.clock = clock;
+
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            if (mode == SalarySlipDeliveryMode.LINK) {
+                // A random key would break every mailed link on restart, and on all other instances
+                throw new IllegalStateException("app.slip-delivery.link.secret (SLIP_LINK_SECRET) must be set "
+                        + "when salary slips are delivered as links");
+            }
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /**
+     * How newly queued salary slips are delivered.
+     */
+    public SalarySlipDeliveryMode mode() {
+        return mode;
+    }
+
+    /**
+     * How long a link stays valid, for the email body, e.g. "7 days".
+     */
+    public String validity() {
+        long days = ttl.toDays();
+        if (days > 0 && ttl.equals(Duration.ofDays(days))) {
+            return days == 1 ? "1 day" : days + " days";
+        }
+        long hours = Math.max(1, ttl.toHours());
+        return hours == 1 ? "1 hour" : hours + " hours";
+    }
+
+    /**
+     * Returns a download link for the payroll's slip, valid from now for the configured time.
+     */
+    public String linkFor(UUID payrollId) {
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        byte[] payload = ByteBuffer.allocate(24)
+                .putLong(payrollId.getMostSignificantBits())
+                .putLong(payrollId.getLeastSignificantBits())
+                .putLong(expiresAt)
+                .array();
+
+        return baseUrl + "/api/payrolls/slips/" + ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Returns the payroll a link token was issued for.
+     *
+     * @throws InvalidSalarySlipLinkException if the token was not issued by us or has expired
+     */
+    public UUID verify(String token) {
+        int dot = token.indexOf('.');
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, Math.max(dot, 0)));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSalarySlipLinkException("Salary slip link is invalid");
+        }
+
+        if (dot < 0 || payload.length != 24 || !MessageDigest.isEqual(sign(payload), signature)) {
+            throw new InvalidSalarySlipLinkException("Salary slip link is invalid");
+        }
+
+        ByteBuffer fields = ByteBuffer.wrap(payload);
+        UUID payrollId = new UUID(fields.getLong(), fields.getLong());
+        if (clock.instant().getEpochSecond() >= fields.getLong()) {
+            throw new InvalidSalarySlipLinkException("Salary slip link has expired");
+        }
+        return payrollId;
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            // Mac instances are not thread-safe, and cheap to create
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
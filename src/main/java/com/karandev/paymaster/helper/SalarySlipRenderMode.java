@@ -0,0 +1,10 @@
+package com.karandev.paymaster.helper;
+
+/**
+ * FLOW lays out every salary slip from scratch. TEMPLATE renders each company's static layout
+ * once and only writes the employee's fields onto a copy of it.
+ */
+public enum SalarySlipRenderMode {
+    FLOW,
+    TEMPLATE
+}
@@ -0,0 +1,105 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.exception.SalarySlipRenderingBusyException;
+import com.lowagie.text.DocumentException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rendering stage for salary slips: a pool with one thread per core behind a bounded queue.
+ * A caller holds a slot from submission until it has the rendered document in hand or gives up,
+ * so at most {@code threads + queue-capacity} slips are queued, being rendered or waiting to be
+ * collected at once, however many producers there are. A caller interrupted while waiting
+ * cancels its render and frees its slot straight away.
+ * <p>
+ * Background producers (slip delivery, exports) wait for a slot with {@link #render}. Request
+ * threads use {@link #renderOrShed}, which gives up after {@code shed-after-ms} so that a large
+ * payroll run cannot tie up the web threads.
+ */
+@Component
+public class SalarySlipRenderPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SalarySlipRenderPool.class);
+
+    private final PdfGenerationService pdfGenerationService;
+    private final ThreadPoolExecutor renderers;
+    private final Semaphore slots;
+    private final long shedAfterMs;
+
+    public SalarySlipRenderPool(PdfGenerationService pdfGenerationService,
+                                @Value("${app.payroll.slip.render.threads:0}") int threads,
+                                @Value("${app.payroll.slip.render.queue-capacity:0}") int queueCapacity,
+                                @Value("${app.payroll.slip.render.shed-after-ms:2000}") long shedAfterMs) {
+        int threadCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : 2 * threadCount;
+
+        this.pdfGenerationService = pdfGenerationService;
+        this.slots = new Semaphore(threadCount + capacity);
+        this.shedAfterMs = shedAfterMs;
+        // Slots keep submissions within threads + capacity, so the queue never rejects
+        this.renderers = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threadCount + capacity),
+                new CustomizableThreadFactory("slip-render-"));
+        log.info("Salary slip rendering uses {} threads with room for {} queued slips", threadCount, capacity);
+    }
+
+    /**
+     * Renders the slip on the pool, waiting for a slot while the pool is saturated.
+     */
+    public byte[] render(EmployeePayroll payroll) throws DocumentException, InterruptedException {
+        slots.acquire();
+        return renderInSlot(payroll);
+    }
+
+    /**
+     * Renders the slip on the pool, or sheds the request if no slot frees up in time.
+     *
+     * @throws SalarySlipRenderingBusyException if the pool stayed saturated
+     */
+    public byte[] renderOrShed(EmployeePayroll payroll) throws DocumentException, InterruptedException {
+        if (!slots.tryAcquire(shedAfterMs, TimeUnit.MILLISECONDS)) {
+            throw new SalarySlipRenderingBusyException();
+        }
+        return renderInSlot(payroll);
+    }
+
+    private byte[] renderInSlot(EmployeePayroll payroll) throws DocumentException, InterruptedException {
+        try {
+            Future<byte[]> pdf = renderers.submit(() -> pdfGenerationService.generateSalarySlipPdf(payroll));
+            try {
+                return pdf.get();
+            } catch (InterruptedException e) {
+                pdf.cancel(true);
+                throw e;
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DocumentException documentException) {
+                throw documentException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Salary slip rendering failed", cause);
+        } finally {
+            slots.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderers.shutdown();
+    }
+}
@@ -0,0 +1,197 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.exception.SalarySlipOutdatedException;
+import com.karandev.paymaster.repository.EmployeePayrollRepository;
+import com.lowagie.text.DocumentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Rendered salary slips on local disk, stored once and read back on every later download or
+ * delivery. A slip lives at {@code <store-dir>/<payrollId>/<sha256>.pdf}, and
+ * {@link EmployeePayroll#getSlipHash()} names the current file. Regenerating a payroll clears
+ * the hash, so the next access renders a fresh slip and removes the old file. A slip rendered
+ * from a payroll that was regenerated in the meantime is discarded rather than recorded, and the
+ * caller gets a {@link SalarySlipOutdatedException}.
+ * <p>
+ * Renders are not byte-for-byte reproducible (OpenPDF stamps each document with its creation
+ * time and a random file ID), so a payroll is only rendered by one caller at a time here; the
+ * others wait and share its file. Across instances the first slip recorded wins and later ones
+ * are discarded. Only files written before the current slip are ever removed.
+ */
+@Component
+public class SalarySlipStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SalarySlipStore.class);
+
+    private final SalarySlipRenderPool renderPool;
+    private final EmployeePayrollRepository employeePayrollRepository;
+    private final Path root;
+    private final ConcurrentMap<UUID, CompletableFuture<Path>> renders = new ConcurrentHashMap<>();
+
+    public SalarySlipStore(SalarySlipRenderPool renderPool,
+                           EmployeePayrollRepository employeePayrollRepository,
+                           @Value("${app.payroll.slip.store-dir:data/slips}") Path root) throws IOException {
+        this.renderPool = renderPool;
+        this.employeePayrollRepository = employeePayrollRepository;
+        this.root = Files.createDirectories(root.toAbsolutePath().normalize());
+        log.info("Salary slips are stored under {}", this.root);
+    }
+
+    /**
+     * Returns the stored slip for a download, rendering it first if it is missing. Rendering
+     * sheds like {@link SalarySlipRenderPool#renderOrShed} when the pool is saturated.
+     */
+    public Path slipFor(EmployeePayroll payroll) throws DocumentException, InterruptedException, IOException {
+        Path stored = lookup(payroll);
+        return stored != null ? stored : renderOnce(payroll, renderPool::renderOrShed);
+    }
+
+    /**
+     * Returns the stored slip for a batch consumer, rendering it first if it is missing. Waits
+     * for a rendering slot rather than shedding.
+     */
+    public Path awaitSlip(EmployeePayroll payroll) throws DocumentException, InterruptedException, IOException {
+        Path stored = lookup(payroll);
+        return stored != null ? stored : renderOnce(payroll, renderPool::render);
+    }
+
+    /**
+     * Returns the slip's bytes for a background consumer, rendering and storing it first if it
+     * is missing. Waits for a rendering slot rather than shedding.
+     */
+    public byte[] bytesFor(EmployeePayroll payroll) throws DocumentException, InterruptedException, IOException {
+        Path stored = lookup(payroll);
+        return Files.readAllBytes(stored != null ? stored : renderOnce(payroll, renderPool::render));
+    }
+
+    private Path lookup(EmployeePayroll payroll) {
+        if (payroll.getSlipHash() == null) {
+            return null;
+        }
+        Path path = directoryOf(payroll).resolve(payroll.getSlipHash() + ".pdf");
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    private Path renderOnce(EmployeePayroll payroll, Renderer renderer)
+            throws DocumentException, InterruptedException, IOException {
+        CompletableFuture<Path> rendering = new CompletableFuture<>();
+        CompletableFuture<Path> running = renders.putIfAbsent(payroll.getPayRollId(), rendering);
+        if (running != null) {
+            try {
+                return running.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof InterruptedException) {
+                    // The other caller gave up, not this one
+                    return renderOnce(payroll, renderer);
+                }
+                if (cause instanceof IOException io) {
+                    throw io;
+                }
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Salary slip rendering failed", cause);
+            }
+        }
+
+        try {
+            Path stored = store(payroll, renderer.render(payroll));
+            rendering.complete(stored);
+            return stored;
+        } catch (Throwable e) {
+            rendering.completeExceptionally(e);
+            throw e;
+        } finally {
+            renders.remove(payroll.getPayRollId(), rendering);
+        }
+    }
+
+    private Path store(EmployeePayroll payroll, byte[] pdf) throws IOException {
+        String hash = sha256(pdf);
+        Path directory = Files.createDirectories(directoryOf(payroll));
+        Path target = directory.resolve(hash + ".pdf");
+
+        if (!Files.exists(target)) {
+            // Readers only ever see complete files
+            Path temp = Files.createTempFile(directory, hash, ".tmp");
+            try {
+                Files.write(temp, pdf);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently with the same content
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        if (employeePayrollRepository.updateSlipHash(payroll.getPayRollId(), payroll.getFingerprint(),
+                payroll.getSlipHash(), hash) == 0) {
+            // Regenerated in the meantime, or another instance stored its slip first
+            String current = employeePayrollRepository.findSlipHash(payroll.getPayRollId(), payroll.getFingerprint())
+                    .orElse(null);
+            if (!hash.equals(current)) {
+                Files.deleteIfExists(target);
+            }
+            Path stored = current != null ? directory.resolve(current + ".pdf") : null;
+            if (stored == null || !Files.isRegularFile(stored)) {
+                throw new SalarySlipOutdatedException();
+            }
+            payroll.setSlipHash(current);
+            return stored;
+        }
+        payroll.setSlipHash(hash);
+        removeSupersededSlips(directory, target);
+        return target;
+    }
+
+    // Slips written before the current one; a newer file belongs to a render still in flight
+    private void removeSupersededSlips(Path directory, Path current) {
+        try (DirectoryStream<Path> slips = Files.newDirectoryStream(directory, "*.pdf")) {
+            FileTime written = Files.getLastModifiedTime(current);
+            for (Path slip : slips) {
+                if (!slip.equals(current) && Files.getLastModifiedTime(slip).compareTo(written) < 0) {
+                    Files.deleteIfExists(slip);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not remove superseded salary slips in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private Path directoryOf(EmployeePayroll payroll) {
+        return root.resolve(payroll.getPayRollId().toString());
+    }
+
+    private static String sha256(byte[] pdf) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(pdf));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private interface Renderer {
+        byte[] render(EmployeePayroll payroll) throws DocumentException, InterruptedException;
+    }
+}
@@ -0,0 +1,285 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.lowagie.text.*;
+import com.lowagie.text.pdf.*;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders salary slips from a per-company template: the header, address, table skeleton,
+ * labels and footer are drawn once into a one-page PDF, and every slip places that page as a
+ * form XObject and writes only the employee's fields on top of it at fixed positions. The layout
+ * is parsed once per company and rendering thread, not for every slip, and its content stream is
+ * copied into each slip as it is. Templates are rebuilt when the company's name or address
+ * changes.
+ * <p>
+ * The layout mirrors the flow layout of {@link PdfGenerationService}.
+ */
+@Component
+public class SalarySlipTemplateRenderer {
+
+    // A4 with 40pt side margins
+    private static final float LEFT = 40;
+    private static final float RIGHT = 555;
+    private static final float WIDTH = RIGHT - LEFT;
+    private static final float CENTER = LEFT + WIDTH / 2;
+
+    // Header
+    private static final float HEADER_TOP = 782;
+    private static final float HEADER_BOTTOM = 732;
+    private static final float TITLE_BASELINE = 680;
+
+    // Employee information, four columns of two rows
+    private static final float INFO_TOP = 650;
+    private static final float INFO_ROW_HEIGHT = 30;
+    private static final float INFO_COLUMN_WIDTH = WIDTH / 4;
+    private static final String[] INFO_LABELS = {"Employee Name:", "Employee Code:", "Designation:", "Department:"};
+
+    // Earnings and deductions: 35/15/35/15 columns, a header row, six rows and a total row
+    private static final float[] TABLE_COLUMNS = {LEFT, LEFT + WIDTH * 0.35f, LEFT + WIDTH * 0.5f, LEFT + WIDTH * 0.85f, RIGHT};
+    private static final float TABLE_TOP = 570;
+    private static final float TABLE_HEADER_HEIGHT = 30;
+    private static final float TABLE_ROW_HEIGHT = 26;
+    private static final float TABLE_TOTAL_HEIGHT = 30;
+    private static final String[] EARNING_LABELS = {"Basic Salary", "HRA", "Conveyance Allowance", "Medical Allowance",
+            "Special Allowance", "Bonus"};
+    private static final String[] DEDUCTION_LABELS = {"PF (Employee)", "ESI (Employee)", "Professional Tax", "Income Tax (TDS)"};
+    private static final float TABLE_BOTTOM = TABLE_TOP - TABLE_HEADER_HEIGHT - EARNING_LABELS.length * TABLE_ROW_HEIGHT - TABLE_TOTAL_HEIGHT;
+
+    // Net pay box, right-aligned at 65% of the width
+    private static final float NET_LEFT = RIGHT - WIDTH * 0.65f;
+    private static final float NET_MIDDLE = (NET_LEFT + RIGHT) / 2;
+    private static final float NET_TOP = TABLE_BOTTOM - 25;
+    private static final float NET_BOTTOM = NET_TOP - 56;
+    private static final float NET_PADDING = 14;
+    private static final float NET_BASELINE = NET_TOP - NET_PADDING - 12;
+
+    private static final float WORDS_TOP = NET_BOTTOM - 26;
+    private static final float WORDS_BOTTOM = WORDS_TOP - 40;
+    private static final float FOOTER_BASELINE = WORDS_BOTTOM - 30;
+
+    private static final float PADDING = 8;
+
+    private final Map<UUID, Template> templates = new ConcurrentHashMap<>();
+
+    public byte[] render(EmployeePayroll p) throws DocumentException {
+        Template template = templateFor(p.getCompany());
+        ByteArrayOutputStream out = new ByteArrayOutputStream(template.size() + 2048);
+        Document document = new Document(PageSize.A4);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setFullCompression();
+        document.open();
+        PdfContentByte cb = writer.getDirectContent();
+        cb.addTemplate(writer.getImportedPage(template.reader(), 1), 0, 0);
+        writeFields(cb, p);
+        document.close();
+        return out.toByteArray();
+    }
+
+    public void evict(UUID companyId) {
+        templates.remove(companyId);
+    }
+
+    private Template templateFor(Company company) {
+        // Atomic per company, so a run's first slips wait for one layout instead of each drawing their own
+        return templates.compute(company.getCompanyId(), (id, template) ->
+                template != null && template.isFor(company) ? template : new Template(company, renderLayout(company)));
+    }
+
+    private void writeFields(PdfContentByte cb, EmployeePayroll p) throws DocumentException {
+        ColumnText.showTextAligned(cb, Element.ALIGN_CENTER,
+                new Phrase(PdfGenerationService.title(p), PdfGenerationService.TITLE_FONT), CENTER, TITLE_BASELINE, 0);
+
+        String[] info = {p.getEmployee().getName(), p.getEmployee().getEmpCode(), p.getEmployee().getDesignation(),
+                p.getEmployee().getDepartment()};
+        for (int i = 0; i < info.length; i++) {
+            float left = LEFT + (2 * (i % 2) + 1) * INFO_COLUMN_WIDTH;
+            float top = INFO_TOP - (i / 2) * INFO_ROW_HEIGHT;
+            column(cb, PdfGenerationService.nullSafe(info[i]), PdfGenerationService.VALUE_FONT, Element.ALIGN_LEFT,
+                    left + PADDING, top - INFO_ROW_HEIGHT, left + INFO_COLUMN_WIDTH - PADDING, top - 7, 11);
+        }
+
+        BigDecimal[] earnings = {p.getBasicSalary(), p.getHra(), p.getConveyance(), p.getMedicalAllowance(),
+                p.getSpecialAllowance(), p.getBonusAmount()};
+        BigDecimal[] deductions = {p.getPfEmployeeAmount(), p.getEsiEmployeeAmount(), p.getProfessionalTaxAmount(),
+                p.getIncomeTaxAmount()};
+        float rowTop = TABLE_TOP - TABLE_HEADER_HEIGHT;
+        for (int row = 0; row < earnings.length; row++, rowTop -= TABLE_ROW_HEIGHT) {
+            float baseline = rowTop - TABLE_ROW_HEIGHT + 9;
+            amount(cb, earnings[row], PdfGenerationService.VALUE_FONT, TABLE_COLUMNS[2] - PADDING, baseline);
+            if (row < deductions.length) {
+                amount(cb, deductions[row], PdfGenerationService.VALUE_FONT, RIGHT - PADDING, baseline);
+            }
+        }
+        float totalBaseline = TABLE_BOTTOM + 11;
+        amount(cb, p.getGrossSalary(), PdfGenerationService.TOTAL_FONT, TABLE_COLUMNS[2] - PADDING, totalBaseline);
+        amount(cb, PdfGenerationService.totalDeductions(p), PdfGenerationService.TOTAL_FONT, RIGHT - PADDING, totalBaseline);
+
+        ColumnText.showTextAligned(cb, Element.ALIGN_CENTER,
+                SlipFonts.phrase(PdfGenerationService.formatCurrency(p.getNetSalary()), PdfGenerationService.NET_PAY_FONT),
+                (NET_MIDDLE + RIGHT) / 2, NET_BASELINE, 0);
+
+        column(cb, PdfGenerationService.amountInWords(p), PdfGenerationService.WORDS_FONT, Element.ALIGN_RIGHT,
+                LEFT, WORDS_BOTTOM, RIGHT, WORDS_TOP, 13);
+    }
+
+    private byte[] renderLayout(Company company) throws DocumentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document(PageSize.A4);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setFullCompression();
+        document.open();
+        PdfContentByte cb = writer.getDirectContent();
+
+        // Company header
+        fill(cb, PdfGenerationService.HEADER_BG, LEFT, HEADER_BOTTOM, RIGHT, HEADER_TOP);
+        Font companyFont = fitted(PdfGenerationService.COMPANY_FONT, company.getName(), WIDTH - 2 * 15);
+        ColumnText.showTextAligned(cb, Element.ALIGN_CENTER, SlipFonts.phrase(company.getName(), companyFont),
+                CENTER, (HEADER_TOP + HEADER_BOTTOM) / 2 - companyFont.getSize() / 3, 0);
+        if (company.getAddress() != null) {
+            column(cb, company.getAddress(), PdfGenerationService.SUBTITLE_FONT, Element.ALIGN_CENTER,
+                    LEFT, TITLE_BASELINE + 20, RIGHT, HEADER_BOTTOM - 6, 12);
+        }
+
+        // Employee information labels
+        for (int i = 0; i < INFO_LABELS.length; i++) {
+            float left = LEFT + 2 * (i % 2) * INFO_COLUMN_WIDTH;
+            float top = INFO_TOP - (i / 2) * INFO_ROW_HEIGHT;
+            fill(cb, PdfGenerationService.INFO_LABEL_BG, left, top - INFO_ROW_HEIGHT, left + INFO_COLUMN_WIDTH, top);
+            ColumnText.showTextAligned(cb, Element.ALIGN_LEFT, new Phrase(INFO_LABELS[i], PdfGenerationService.LABEL_FONT),
+                    left + PADDING, top - 18, 0);
+        }
+
+        // Earnings and deductions skeleton
+        float headerBottom = TABLE_TOP - TABLE_HEADER_HEIGHT;
+        String[] headers = {"EARNINGS", "AMOUNT", "DEDUCTIONS", "AMOUNT"};
+        for (int column = 0; column < headers.length; column++) {
+            Color background = column < 2 ? PdfGenerationService.EARNINGS_COLOR : PdfGenerationService.DEDUCTIONS_COLOR;
+            fill(cb, background, TABLE_COLUMNS[column], headerBottom, TABLE_COLUMNS[column + 1], TABLE_TOP);
+            ColumnText.showTextAligned(cb, Element.ALIGN_CENTER, new Phrase(headers[column], PdfGenerationService.HEADER_FONT),
+                    (TABLE_COLUMNS[column] + TABLE_COLUMNS[column + 1]) / 2, headerBottom + 11, 0);
+        }
+
+        float rowTop = headerBottom;
+        for (int row = 0; row < EARNING_LABELS.length; row++, rowTop -= TABLE_ROW_HEIGHT) {
+            float rowBottom = rowTop - TABLE_ROW_HEIGHT;
+            for (int column = 0; column < 4; column++) {
+                stroke(cb, 0.5f, TABLE_COLUMNS[column], rowBottom, TABLE_COLUMNS[column + 1], rowTop);
+            }
+            label(cb, EARNING_LABELS[row], PdfGenerationService.VALUE_FONT, TABLE_COLUMNS[0] + PADDING, rowBottom + 9);
+            if (row < DEDUCTION_LABELS.length) {
+                label(cb, DEDUCTION_LABELS[row], PdfGenerationService.VALUE_FONT, TABLE_COLUMNS[2] + PADDING, rowBottom + 9);
+            }
+        }
+
+        fill(cb, PdfGenerationService.TOTAL_ROW_BG, LEFT, TABLE_BOTTOM, RIGHT, rowTop);
+        for (int column = 0; column < 4; column++) {
+            stroke(cb, 1f, TABLE_COLUMNS[column], TABLE_BOTTOM, TABLE_COLUMNS[column + 1], rowTop);
+        }
+        label(cb, "Gross Salary", PdfGenerationService.TOTAL_FONT, TABLE_COLUMNS[0] + PADDING, TABLE_BOTTOM + 11);
+        label(cb, "Total Deductions", PdfGenerationService.TOTAL_FONT, TABLE_COLUMNS[2] + PADDING, TABLE_BOTTOM + 11);
+
+        // Net pay box
+        fill(cb, PdfGenerationService.NET_SALARY_COLOR, NET_LEFT, NET_BOTTOM, RIGHT, NET_TOP);
+        column(cb, "NET SALARY PAYABLE", PdfGenerationService.NET_PAY_FONT, Element.ALIGN_CENTER,
+                NET_LEFT + NET_PADDING, NET_BOTTOM, NET_MIDDLE - NET_PADDING, NET_BASELINE + 14, 14);
+
+        ColumnText.showTextAligned(cb, Element.ALIGN_CENTER, new Phrase(PdfGenerationService.FOOTER_NOTE, PdfGenerationService.FOOTER_FONT),
+                CENTER, FOOTER_BASELINE, 0);
+
+        document.close();
+        return out.toByteArray();
+    }
+
+    private static void label(PdfContentByte cb, String text, Font font, float x, float baseline) {
+        ColumnText.showTextAligned(cb, Element.ALIGN_LEFT, new Phrase(text, font), x, baseline, 0);
+    }
+
+    private static void amount(PdfContentByte cb, BigDecimal amount, Font font, float right, float baseline) {
+        ColumnText.showTextAligned(cb, Element.ALIGN_RIGHT, SlipFonts.phrase(PdfGenerationService.formatCurrency(amount), font),
+                right, baseline, 0);
+    }
+
+    // Wrapping text inside a box; text that does not fit is cut off rather than overlapping the next field
+    private static void column(PdfContentByte cb, String text, Font font, int alignment,
+                               float llx, float lly, float urx, float ury, float leading) throws DocumentException {
+        ColumnText column = new ColumnText(cb);
+        column.setSimpleColumn(SlipFonts.phrase(text, font), llx, lly, urx, ury, leading, alignment);
+        column.go();
+    }
+
+    private static void fill(PdfContentByte cb, Color color, float llx, float lly, float urx, float ury) {
+        cb.saveState();
+        cb.setColorFill(color);
+        cb.rectangle(llx, lly, urx - llx, ury - lly);
+        cb.fill();
+        cb.restoreState();
+    }
+
+    private static void stroke(PdfContentByte cb, float width, float llx, float lly, float urx, float ury) {
+        cb.saveState();
+        cb.setColorStroke(PdfGenerationService.BORDER_COLOR);
+        cb.setLineWidth(width);
+        cb.rectangle(llx, lly, urx - llx, ury - lly);
+        cb.stroke();
+        cb.restoreState();
+    }
+
+    // Long company names are shrunk to fit the header band instead of wrapping
+    private static Font fitted(Font font, String text, float width) {
+        float textWidth = font.getCalculatedBaseFont(false).getWidthPoint(text, font.getSize());
+        if (textWidth <= width) {
+            return font;
+        }
+        Font smaller = new Font(font);
+        smaller.setSize(font.getSize() * width / textWidth);
+        return smaller;
+    }
+
+    private static final class Template {
+
+        private final String companyName;
+        private final String address;
+        private final byte[] pdf;
+        // A reader is not safe to import from on several threads at once
+        private final ThreadLocal<PdfReader> readers;
+
+        Template(Company company, byte[] pdf) {
+            this.companyName = company.getName();
+            this.address = company.getAddress();
+            this.pdf = pdf;
+            this.readers = ThreadLocal.withInitial(this::parse);
+        }
+
+        boolean isFor(Company company) {
+            return Objects.equals(companyName, company.getName()) && Objects.equals(address, company.getAddress());
+        }
+
+        int size() {
+            return pdf.length;
+        }
+
+        PdfReader reader() {
+            return readers.get();
+        }
+
+        private PdfReader parse() {
+            try {
+                return new PdfReader(pdf);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read salary slip template", e);
+            }
+        }
+    }
+}
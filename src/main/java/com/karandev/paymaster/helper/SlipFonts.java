@@ -0,0 +1,206 @@
+package com.karandev.paymaster.helper;
+
+import com.lowagie.text.Chunk;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.LayoutProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unicode fallback for the built-in Helvetica that salary slips and registers are set in.
+ * Helvetica costs nothing to embed but only covers Latin-1, so glyphs it lacks are taken from
+ * the bundled DejaVu Sans, cut down to currency signs (₹ above all) and Latin Extended-A, and
+ * after that from TrueType fonts found under {@code fonts/fallback/} on the classpath, in
+ * file-name order. The container build puts subsets of Noto Sans for the Indian scripts there
+ * (see the {@code Dockerfile}); other builds have to put fonts for the scripts listed in
+ * {@code app.payroll.slip.fonts.required-scripts} under {@code src/main/resources/fonts/fallback/}
+ * for the application to start. Fallback fonts are shaped through the AWT layout engine so that
+ * Indic conjuncts and vowel signs come out right. A character no font covers is left out, with
+ * a warning the first time it turns up.
+ * <p>
+ * Every face is parsed once per JVM and the {@link BaseFont}s are shared by all renders: they
+ * hold no per-document state, and a document embeds only the glyphs it took from them.
+ */
+final class SlipFonts {
+
+    private static final Logger log = LoggerFactory.getLogger(SlipFonts.class);
+
+    // The scripts the Docker build bundles fonts for
+    static final String INDIC_SCRIPTS = "DEVANAGARI,BENGALI,GURMUKHI,GUJARATI,ORIYA,TAMIL,TELUGU,KANNADA,MALAYALAM";
+
+    private static final SecureRandom SUBSET_PREFIXES = new SecureRandom();
+
+    private static final BaseFont UNICODE = load(new ClassPathResource("fonts/DejaVuSans.ttf"));
+    private static final List<BaseFont> FALLBACKS = loadFallbacks();
+
+    // Characters already warned about
+    private static final Set<Integer> MISSING = ConcurrentHashMap.newKeySet();
+
+    // DejaVu Sans sets about 10% larger than Helvetica at the same size
+    private static final float SCALE = 0.9f;
+
+    private SlipFonts() {
+    }
+
+    /**
+     * A phrase of the text in the font, taking glyphs the font has not got from the Unicode
+     * fallbacks. Text Helvetica can set on its own is passed through as is.
+     */
+    static Phrase phrase(String text, Font font) {
+        BaseFont primary = font.getCalculatedBaseFont(false);
+        if (covered(text, primary)) {
+            return new Phrase(text, font);
+        }
+
+        Font[] fonts = candidates(font, primary);
+        Phrase phrase = new Phrase();
+        phrase.setFont(font);
+        Font current = null;
+        int start = 0;
+        for (int i = 0, c; i < text.length(); i += Character.charCount(c)) {
+            c = text.codePointAt(i);
+            // Spaces stay with the run they are in
+            Font next = current != null && Character.isWhitespace(c) ? current : fontFor(c, fonts);
+            if (next != current) {
+                if (current != null) {
+                    phrase.add(new Chunk(text.substring(start, i), current));
+                }
+                current = next;
+                start = i;
+            }
+        }
+        phrase.add(new Chunk(text.substring(start), current));
+        return phrase;
+    }
+
+    private static Font[] candidates(Font font, BaseFont primary) {
+        // The fallback faces are regular only, so bold and italic are emulated
+        String name = primary.getPostscriptFontName();
+        boolean bold = font.isBold() || name.contains("Bold");
+        boolean italic = font.isItalic() || name.contains("Oblique") || name.contains("Italic");
+        int style = (bold ? Font.BOLD : 0) | (italic ? Font.ITALIC : 0);
+        float size = font.getSize() * SCALE;
+
+        Font[] fonts = new Font[2 + FALLBACKS.size()];
+        fonts[0] = font;
+        fonts[1] = new Font(UNICODE, size, style, font.getColor());
+        for (int i = 0; i < FALLBACKS.size(); i++) {
+            fonts[i + 2] = new Font(FALLBACKS.get(i), size, style, font.getColor());
+        }
+        return fonts;
+    }
+
+    // The first font with the glyph, or the primary font, which then leaves the character out
+    private static Font fontFor(int c, Font[] fonts) {
+        for (Font font : fonts) {
+            if (font.getCalculatedBaseFont(false).charExists(c)) {
+                return font;
+            }
+        }
+        if (!Character.isISOControl(c) && MISSING.add(c)) {
+            log.warn("No salary slip font covers U+{} ({}), so it is left out of slips; add a font that has it under fonts/fallback/",
+                    String.format("%04X", c), Character.getName(c));
+        }
+        return fonts[0];
+    }
+
+    /**
+     * Checks that the fonts cover each of the scripts, judged by the script's first letter, so
+     * that a build missing its fallback fonts fails at startup rather than leaving names out of
+     * slips.
+     *
+     * @throws IllegalStateException listing the scripts no font covers
+     */
+    static void requireScripts(Collection<Character.UnicodeScript> scripts) {
+        Map<Character.UnicodeScript, Integer> firstLetters = new EnumMap<>(Character.UnicodeScript.class);
+        for (int c = 0; c <= Character.MAX_CODE_POINT && firstLetters.size() < scripts.size(); c++) {
+            Character.UnicodeScript script = Character.UnicodeScript.of(c);
+            if (scripts.contains(script) && !firstLetters.containsKey(script) && Character.isLetter(c)) {
+                firstLetters.put(script, c);
+            }
+        }
+
+        List<BaseFont> fonts = new ArrayList<>();
+        fonts.add(FontFactory.getFont(FontFactory.HELVETICA).getCalculatedBaseFont(false));
+        fonts.add(UNICODE);
+        fonts.addAll(FALLBACKS);
+        List<Character.UnicodeScript> missing = new ArrayList<>();
+        for (Character.UnicodeScript script : scripts) {
+            Integer letter = firstLetters.get(script);
+            if (letter == null || fonts.stream().noneMatch(font -> font.charExists(letter))) {
+                missing.add(script);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("No salary slip font covers " + missing + ". Put fonts for them under "
+                    + "src/main/resources/fonts/fallback/ (the Docker build does) or drop them from "
+                    + "app.payroll.slip.fonts.required-scripts");
+        }
+    }
+
+    private static boolean covered(String text, BaseFont font) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c > 0x7E && !font.charExists(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<BaseFont> loadFallbacks() {
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver().getResources("classpath*:fonts/fallback/*.ttf");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list fallback fonts", e);
+        }
+        if (resources.length == 0) {
+            return List.of();
+        }
+
+        Arrays.sort(resources, Comparator.comparing(Resource::getFilename));
+        LayoutProcessor.enable();
+        List<BaseFont> fallbacks = new ArrayList<>();
+        for (Resource resource : resources) {
+            // Loaded after enabling, so the LayoutProcessor shapes the face too
+            fallbacks.add(load(resource));
+            log.info("Salary slips fall back to {} for glyphs missing from DejaVu Sans", resource.getFilename());
+        }
+        return List.copyOf(fallbacks);
+    }
+
+    private static BaseFont load(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            // IDENTITY_H and embedding make OpenPDF subset the font into each document. The
+            // LayoutProcessor re-reads shaped faces by name, so the name is the resource URL
+            BaseFont font = BaseFont.createFont(resource.getURL().toString(), BaseFont.IDENTITY_H, BaseFont.EMBEDDED,
+                    BaseFont.NOT_CACHED, in.readAllBytes(), null);
+            // Otherwise every document seeds a SecureRandom of its own for the subset name prefix
+            font.setSecureRandom(SUBSET_PREFIXES);
+            return font;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not load font " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.karandev.paymaster.helper;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A few long-lived, authenticated SMTP connections shared by everything that sends mail.
+ * {@link JavaMailSenderImpl#send} connects, runs STARTTLS and AUTH for every call; a pooled
+ * connection does that once and is only re-established after a send over it fails or it has
+ * sat idle for longer than {@code app.mail.max-idle-ms}, by which time the server may have
+ * dropped it.
+ * <p>
+ * Senders that find every connection in use wait for one, so {@code app.mail.transports} also
+ * caps the number of concurrent SMTP sessions. With {@code app.mail.rate-limit.per-minute}
+ * set, every message also waits for a token from the provider's {@link TokenBucket}, keeping
+ * all senders together within the provider's sending quota.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<PooledTransport> transports;
+    private final int size;
+    private final long maxIdleMs;
+    private final TokenBucket rateLimit;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             @Value("${app.mail.transports:4}") int size,
+                             @Value("${app.mail.max-idle-ms:60000}") long maxIdleMs,
+                             @Value("${app.mail.rate-limit.per-minute:0}") long perMinute,
+                             @Value("${app.mail.rate-limit.burst:1}") int burst) {
+        this.mailSender = mailSender;
+        this.size = size;
+        this.maxIdleMs = maxIdleMs;
+        this.rateLimit = perMinute > 0 ? new TokenBucket(perMinute, burst) : null;
+        this.transports = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            transports.add(new PooledTransport());
+        }
+        if (rateLimit != null) {
+            log.info("Mail to {} is limited to {} messages a minute (bursts of {})", mailSender.getHost(), perMinute, burst);
+        }
+    }
+
+    /**
+     * Sends the messages in order over one connection.
+     *
+     * @return one entry per message: null if it was sent, otherwise why it was not
+     */
+    public List<MessagingException> send(List<MimeMessage> messages) throws InterruptedException {
+        PooledTransport transport = transports.take();
+        try {
+            List<MessagingException> failures = new ArrayList<>(messages.size());
+            for (MimeMessage message : messages) {
+                if (rateLimit != null) {
+                    rateLimit.acquire();
+                }
+                failures.add(transport.send(message));
+            }
+            return failures;
+        } finally {
+            transports.add(transport);
+        }
+    }
+
+    /**
+     * Sends a batch spread over all connections at once.
+     *
+     * @return one entry per message: null if it was sent, otherwise why it was not
+     */
+    public List<MessagingException> sendAll(List<MimeMessage> messages) throws InterruptedException {
+        int slices = Math.min(size, messages.size());
+        if (slices <= 1) {
+            return send(messages);
+        }
+
+        List<Future<List<MessagingException>>> sent = new ArrayList<>(slices);
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < slices; i++) {
+                List<MimeMessage> slice = messages.subList(i * messages.size() / slices, (i + 1) * messages.size() / slices);
+                sent.add(senders.submit(() -> send(slice)));
+            }
+        }
+        // Closing the executor waits for the slices, and interrupts them if we are interrupted
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        List<MessagingException> failures = new ArrayList<>(messages.size());
+        for (Future<List<MessagingException>> slice : sent) {
+            failures.addAll(slice.resultNow());
+        }
+        return failures;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transports.forEach(PooledTransport::close);
+    }
+
+    private final class PooledTransport {
+
+        private Transport transport;
+        private long lastUsed;
+
+        MessagingException send(MimeMessage message) {
+            try {
+                prepare(message);
+                try {
+                    connected().sendMessage(message, message.getAllRecipients());
+                } catch (SendFailedException e) {
+                    // Refused by the server, which a fresh connection would not change
+                    throw e;
+                } catch (MessagingException e) {
+                    // Most likely a connection the server has dropped
+                    log.debug("SMTP send failed, reconnecting: {}", e.getMessage());
+                    close();
+                    connected().sendMessage(message, message.getAllRecipients());
+                }
+                lastUsed = System.currentTimeMillis();
+                return null;
+            } catch (SendFailedException e) {
+                // The server reset the transaction; a dead connection shows up on the next send
+                return e;
+            } catch (MessagingException e) {
+                close();
+                return e;
+            }
+        }
+
+        private Transport connected() throws MessagingException {
+            if (transport != null && System.currentTimeMillis() - lastUsed > maxIdleMs) {
+                close();
+            }
+            if (transport == null) {
+                Transport fresh = mailSender.getSession().getTransport(protocol());
+                fresh.connect(mailSender.getHost(), mailSender.getPort(),
+                        blankToNull(mailSender.getUsername()), blankToNull(mailSender.getPassword()));
+                transport = fresh;
+                lastUsed = System.currentTimeMillis();
+            }
+            return transport;
+        }
+
+        void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Could not close SMTP connection cleanly: {}", e.getMessage());
+            }
+            transport = null;
+        }
+    }
+
+    // Same message preparation as JavaMailSenderImpl#send
+    private static void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader("Message-ID", messageId);
+        }
+    }
+
+    // Same default as JavaMailSenderImpl#getTransport
+    private String protocol() {
+        String protocol = mailSender.getProtocol();
+        if (protocol == null) {
+            protocol = mailSender.getSession().getProperty("mail.transport.protocol");
+        }
+        return protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+    }
+
+    private static String blankToNull(String value) {
+        return value != null && !value.isEmpty() ? value : null;
+    }
+}
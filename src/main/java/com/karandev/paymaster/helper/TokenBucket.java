@@ -0,0 +1,55 @@
+package com.karandev.paymaster.helper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that refills at a steady rate and holds at most {@code burst} tokens. A caller
+ * that finds it empty still takes the next token, leaving the bucket in debt, and sleeps until
+ * that token is due, so saturated callers are paced at exactly the configured rate.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(long perMinute, int burst) {
+        this(perMinute, burst, System::nanoTime);
+    }
+
+    TokenBucket(long perMinute, int burst, LongSupplier nanoClock) {
+        if (perMinute <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + perMinute);
+        }
+        this.tokensPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.capacity = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a token, waiting until it is due.
+     */
+    void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Takes a token and returns how many nanoseconds remain until it is due.
+     */
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+}
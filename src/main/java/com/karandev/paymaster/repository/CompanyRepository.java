@@ -2,9 +2,23 @@ package com.karandev.paymaster.repository;
 
 import com.karandev.paymaster.entity.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, UUID> {
+
+    @Query("select min(c.nextPayrollRunAt) from Company c")
+    LocalDateTime findEarliestNextPayrollRunAt();
+
+    List<Company> findByNextPayrollRunAtLessThanEqual(LocalDateTime now);
+
+    @Modifying
+    @Query("update Company c set c.nextPayrollRunAt = :runAt where c.nextPayrollRunAt is null")
+    int initialiseNextPayrollRunAt(@Param("runAt") LocalDateTime runAt);
 }
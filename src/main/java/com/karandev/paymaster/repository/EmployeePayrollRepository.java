@@ -1,14 +1,21 @@
 package com.karandev.paymaster.repository;
 
+import com.karandev.paymaster.dto.PayrollRegisterRow;
 import com.karandev.paymaster.entity.EmployeePayroll;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeePayrollRepository extends JpaRepository<EmployeePayroll, UUID> {
@@ -19,6 +26,49 @@ public interface EmployeePayrollRepository extends JpaRepository<EmployeePayroll
 
     boolean existsByEmployee_EmployeeIdAndMonthAndYear(UUID employeeId, int month, int year);
 
+    List<EmployeePayroll> findByMonthAndYearAndEmployee_EmployeeIdIn(int month, int year, Collection<UUID> employeeIds);
+
+    @Query("select p.payRollId from EmployeePayroll p where p.company.companyId = :companyId " +
+            "and p.month = :month and p.year = :year order by p.employee.empCode")
+    List<UUID> findPayrollIdsByCompanyAndMonth(@Param("companyId") UUID companyId, @Param("month") int month, @Param("year") int year);
+
+    boolean existsByCompany_CompanyIdAndMonthAndYear(UUID companyId, int month, int year);
+
+    /**
+     * Cursor over a company's payroll register for a month in employee-code order. Rows are
+     * projections, so the persistence context stays empty however many are read. Must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "100"))
+    @Query("""
+            select new com.karandev.paymaster.dto.PayrollRegisterRow(e.empCode, e.name, e.designation, e.department,
+                   p.basicSalary, p.hra, p.conveyance, p.medicalAllowance, p.specialAllowance, p.bonusAmount,
+                   p.grossSalary, p.pfEmployeeAmount, p.esiEmployeeAmount, p.professionalTaxAmount,
+                   p.incomeTaxAmount, p.netSalary)
+            from EmployeePayroll p
+            join p.employee e
+            where p.company.companyId = :companyId and p.month = :month and p.year = :year
+            order by e.empCode
+            """)
+    Stream<PayrollRegisterRow> streamRegisterRows(@Param("companyId") UUID companyId, @Param("month") int month, @Param("year") int year);
+
+    /**
+     * Records the stored slip in place of {@code replacedHash}, unless the payroll has been
+     * regenerated since it was read, that is its fingerprint is no longer the one the slip was
+     * rendered from, or another slip has been recorded in the meantime. Returns the rows updated.
+     */
+    @Transactional
+    @Modifying
+    @Query("update EmployeePayroll p set p.slipHash = :slipHash where p.payRollId = :payrollId " +
+            "and (p.fingerprint = :fingerprint or (p.fingerprint is null and :fingerprint is null)) " +
+            "and (p.slipHash = :replacedHash or (p.slipHash is null and :replacedHash is null))")
+    int updateSlipHash(@Param("payrollId") UUID payrollId, @Param("fingerprint") String fingerprint,
+                       @Param("replacedHash") String replacedHash, @Param("slipHash") String slipHash);
+
+    @Query("select p.slipHash from EmployeePayroll p where p.payRollId = :payrollId " +
+            "and (p.fingerprint = :fingerprint or (p.fingerprint is null and :fingerprint is null))")
+    Optional<String> findSlipHash(@Param("payrollId") UUID payrollId, @Param("fingerprint") String fingerprint);
+
 
 
 
@@ -2,6 +2,8 @@ package com.karandev.paymaster.repository;
 
 import com.karandev.paymaster.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,7 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
     Optional<Employee> findByEmail(String email);
     List<Employee> findAllByCompany_CompanyId(UUID companyId);
     Optional<Employee> findByPasswordToken(String token);
+
+    @Query("select e.employeeId from Employee e where e.company.companyId = :companyId order by e.employeeId")
+    List<UUID> findEmployeeIdsByCompanyId(@Param("companyId") UUID companyId);
 }
@@ -1,13 +1,43 @@
 package com.karandev.paymaster.repository;
 
+import com.karandev.paymaster.dto.PayrollWorkItem;
 import com.karandev.paymaster.entity.EmployeeSalaryStructure;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface EmployeeSalaryStructureRepository extends JpaRepository<EmployeeSalaryStructure, UUID> {
     Optional<EmployeeSalaryStructure> findByEmployee_EmployeeIdAndCompany_CompanyId(UUID employeeId, UUID companyId);
+
+    /**
+     * Loads the next page of active employees of a company, ordered by id and bounded by
+     * {@code (afterEmployeeId, upToEmployeeId]} (null bounds are open), with their salary
+     * structure and an "already generated for month/year" flag in a single round trip.
+     */
+    @Query("""
+            select new com.karandev.paymaster.dto.PayrollWorkItem(e, s,
+                   case when exists (select 1 from EmployeePayroll p
+                                     where p.employee = e and p.month = :month and p.year = :year)
+                        then true else false end)
+            from Employee e
+            left join fetch e.salaryStructure s
+            where e.company.companyId = :companyId
+              and (:afterEmployeeId is null or e.employeeId > :afterEmployeeId)
+              and (:upToEmployeeId is null or e.employeeId <= :upToEmployeeId)
+              and e.status = com.karandev.paymaster.entity.EmployeeStatus.ACTIVE
+            order by e.employeeId
+            """)
+    List<PayrollWorkItem> findPayrollWorkItems(@Param("companyId") UUID companyId,
+                                               @Param("afterEmployeeId") UUID afterEmployeeId,
+                                               @Param("upToEmployeeId") UUID upToEmployeeId,
+                                               @Param("month") int month,
+                                               @Param("year") int year,
+                                               Pageable pageable);
 }
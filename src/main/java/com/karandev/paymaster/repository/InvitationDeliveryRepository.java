@@ -0,0 +1,37 @@
+package com.karandev.paymaster.repository;
+
+import com.karandev.paymaster.entity.DeliveryStatus;
+import com.karandev.paymaster.entity.InvitationDelivery;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface InvitationDeliveryRepository extends JpaRepository<InvitationDelivery, UUID> {
+
+    boolean existsByEmployee_EmployeeIdAndStatus(UUID employeeId, DeliveryStatus status);
+
+    /**
+     * Locks the next due invitations with their employees, skipping rows another dispatcher
+     * instance already holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select i from InvitationDelivery i join fetch i.employee where i.status = :status and i.nextAttemptAt <= :now " +
+            "order by i.nextAttemptAt")
+    List<InvitationDelivery> findDueForUpdate(@Param("status") DeliveryStatus status,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    @Modifying
+    @Query("update InvitationDelivery i set i.status = com.karandev.paymaster.entity.DeliveryStatus.PENDING " +
+            "where i.status = com.karandev.paymaster.entity.DeliveryStatus.IN_PROGRESS and i.updatedAt < :cutoff")
+    int releaseStaleClaims(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -3,6 +3,7 @@ package com.karandev.paymaster.repository;
 import com.karandev.paymaster.entity.PayrollConfiguration;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +18,12 @@ public interface PayrollConfigurationRepository extends JpaRepository<PayrollCon
     Optional<PayrollConfiguration> findByCompany_CompanyIdAndIsActiveTrue(UUID companyId);
 
     Optional<PayrollConfiguration> findFirstByCompany_CompanyIdAndIsActiveTrueOrderByCreatedAtDesc(UUID companyId);
+
+    @Query("""
+            SELECT c FROM PayrollConfiguration c
+            JOIN FETCH c.company
+            LEFT JOIN FETCH c.incomeTaxSlabs
+            WHERE c.payrollConfigurationId = :payrollConfigurationId
+            """)
+    Optional<PayrollConfiguration> findWithIncomeTaxSlabsById(@Param("payrollConfigurationId") UUID payrollConfigurationId);
 }
@@ -0,0 +1,20 @@
+package com.karandev.paymaster.repository;
+
+import com.karandev.paymaster.entity.PayrollRunPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PayrollRunPartitionRepository extends JpaRepository<PayrollRunPartition, UUID> {
+
+    @Query("select p.partitionId from PayrollRunPartition p where p.run.runId = :runId " +
+            "and p.status <> com.karandev.paymaster.entity.PayrollRunStatus.COMPLETED order by p.chunkIndex")
+    List<UUID> findUnfinishedPartitionIds(@Param("runId") UUID runId);
+
+    List<PayrollRunPartition> findByRun_RunId(UUID runId);
+}
@@ -0,0 +1,20 @@
+package com.karandev.paymaster.repository;
+
+import com.karandev.paymaster.entity.PayrollRun;
+import com.karandev.paymaster.entity.PayrollRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, UUID> {
+    Optional<PayrollRun> findFirstByMonthAndYearOrderByCreatedAtDesc(int month, int year);
+
+    List<PayrollRun> findTop50ByOrderByCreatedAtDesc();
+
+    List<PayrollRun> findByStatusIn(Collection<PayrollRunStatus> statuses);
+}
@@ -0,0 +1,22 @@
+package com.karandev.paymaster.repository;
+
+import com.karandev.paymaster.entity.SalarySlipDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SalarySlipDeadLetterRepository extends JpaRepository<SalarySlipDeadLetter, UUID> {
+
+    /**
+     * Dead letters not replayed yet, oldest first, for one company or for all when it is null.
+     */
+    @Query("select l from SalarySlipDeadLetter l join fetch l.delivery d join fetch d.payroll p " +
+            "join fetch p.employee join fetch p.company c " +
+            "where l.replayedAt is null and (:companyId is null or c.companyId = :companyId) order by l.failedAt")
+    List<SalarySlipDeadLetter> findUnreplayed(@Param("companyId") UUID companyId);
+}
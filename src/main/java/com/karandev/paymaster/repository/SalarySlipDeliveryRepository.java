@@ -0,0 +1,60 @@
+package com.karandev.paymaster.repository;
+
+import com.karandev.paymaster.entity.DeliveryStatus;
+import com.karandev.paymaster.entity.SalarySlipDelivery;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface SalarySlipDeliveryRepository extends JpaRepository<SalarySlipDelivery, UUID> {
+
+    /**
+     * Locks the next due deliveries, skipping rows another dispatcher instance already holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select d from SalarySlipDelivery d where d.status = :status and d.nextAttemptAt <= :now order by d.nextAttemptAt")
+    List<SalarySlipDelivery> findDueForUpdate(@Param("status") DeliveryStatus status,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    /**
+     * Payrolls among the given ones that still have a delivery in one of the statuses.
+     */
+    @Query("select distinct d.payroll.payRollId from SalarySlipDelivery d where d.payroll.payRollId in :payrollIds and d.status in :statuses")
+    Set<UUID> findPayrollIdsWithStatusIn(@Param("payrollIds") Collection<UUID> payrollIds,
+                                         @Param("statuses") Collection<DeliveryStatus> statuses);
+
+    @Modifying
+    @Query("update SalarySlipDelivery d set d.status = com.karandev.paymaster.entity.DeliveryStatus.PENDING " +
+            "where d.status = com.karandev.paymaster.entity.DeliveryStatus.IN_PROGRESS and d.updatedAt < :cutoff")
+    int releaseStaleClaims(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Marks claims a live dispatcher still holds as fresh, so they are not released as stale.
+     */
+    @Modifying
+    @Query("update SalarySlipDelivery d set d.updatedAt = :now " +
+            "where d.deliveryId in :deliveryIds and d.status = com.karandev.paymaster.entity.DeliveryStatus.IN_PROGRESS")
+    int touchClaims(@Param("deliveryIds") Collection<UUID> deliveryIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Takes over a claim for sending, provided it is still the claim made at {@code version}:
+     * not released and claimed again since. Returns the rows updated.
+     */
+    @Modifying
+    @Query("update SalarySlipDelivery d set d.version = d.version + 1, d.updatedAt = :now " +
+            "where d.deliveryId = :deliveryId and d.version = :version " +
+            "and d.status = com.karandev.paymaster.entity.DeliveryStatus.IN_PROGRESS")
+    int takeClaim(@Param("deliveryId") UUID deliveryId, @Param("version") long version, @Param("now") LocalDateTime now);
+}
@@ -1,7 +1,9 @@
 package com.karandev.paymaster.service;
 
 import com.karandev.paymaster.dto.EmployeePayrollResponseDto;
-import com.karandev.paymaster.dto.SalaryStructureRequestDto;
+import com.karandev.paymaster.dto.PayrollRunResponseDto;
+import com.karandev.paymaster.dto.SalarySlipDeadLetterResponseDto;
+import com.karandev.paymaster.entity.PayrollRunMode;
 
 import java.io.IOException;
 import java.util.List;
@@ -13,5 +15,13 @@ public interface EmployeePayrollService {
     List<EmployeePayrollResponseDto> fetchEmployeePayrollByCompanyIdAndEmployeeID(UUID employeeID,UUID companyID);
 
     void createEmployeePayrollByCompanyId() throws IOException;
+
+    List<PayrollRunResponseDto> fetchPayrollRuns();
+    PayrollRunResponseDto fetchPayrollRun(UUID runId);
+    PayrollRunResponseDto startPayrollRun(int month, int year, PayrollRunMode mode);
+    PayrollRunResponseDto resumePayrollRun(UUID runId);
+
+    List<SalarySlipDeadLetterResponseDto> fetchSlipDeadLetters(UUID companyId);
+    int replaySlipDeadLetters(UUID companyId, List<UUID> deadLetterIds);
 //    void generatePayrollForCompanyManually(UUID companyId) throws IOException;
 }
@@ -23,6 +23,8 @@ public interface EmployeeService {
 
     void setPassword(String token, String newPassword);
 
+    void sendSetPasswordEmail(UUID employeeId);
+
     void deactivateEmployee(UUID employeeId);
 }
 
@@ -1,11 +1,15 @@
 package com.karandev.paymaster.service.impl;
 
+import com.karandev.paymaster.calculation.PayrollCalculatorCache;
+import com.karandev.paymaster.calculation.ProfessionalTaxRules;
 import com.karandev.paymaster.dto.CompanyResponseDto;
 import com.karandev.paymaster.dto.CompanyUpdateDTO;
 import com.karandev.paymaster.dto.CompanyRegisterWithAdminDto;
 import com.karandev.paymaster.entity.*;
 import com.karandev.paymaster.exception.CompanyNotFoundException;
-import com.karandev.paymaster.helper.EmailService;
+import com.karandev.paymaster.helper.InvitationDispatcher;
+import com.karandev.paymaster.helper.PayrollCalendar;
+import com.karandev.paymaster.helper.SalarySlipTemplateRenderer;
 import com.karandev.paymaster.helper.UniqueEmployeeCodeGenerator;
 import com.karandev.paymaster.repository.CompanyRepository;
 import com.karandev.paymaster.repository.EmployeeRepository;
@@ -17,8 +21,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -28,12 +33,20 @@ public class CompanyServiceImpl implements CompanyService {
 
     private final CompanyRepository companyRepository;
     private final EmployeeRepository employeeRepository;
-    private final EmailService emailService;
-
-    public CompanyServiceImpl(JavaMailSender mailSender, CompanyRepository companyRepository, EmployeeRepository employeeRepository, EmailService emailService) {
+    private final InvitationDispatcher invitationDispatcher;
+    private final ProfessionalTaxRules professionalTaxRules;
+    private final PayrollCalculatorCache payrollCalculatorCache;
+    private final SalarySlipTemplateRenderer salarySlipTemplateRenderer;
+
+    public CompanyServiceImpl(JavaMailSender mailSender, CompanyRepository companyRepository, EmployeeRepository employeeRepository, InvitationDispatcher invitationDispatcher,
+                              ProfessionalTaxRules professionalTaxRules, PayrollCalculatorCache payrollCalculatorCache,
+                              SalarySlipTemplateRenderer salarySlipTemplateRenderer) {
         this.companyRepository = companyRepository;
         this.employeeRepository = employeeRepository;
-        this.emailService = emailService;
+        this.invitationDispatcher = invitationDispatcher;
+        this.professionalTaxRules = professionalTaxRules;
+        this.payrollCalculatorCache = payrollCalculatorCache;
+        this.salarySlipTemplateRenderer = salarySlipTemplateRenderer;
     }
 
     @Transactional
@@ -46,6 +59,12 @@ public class CompanyServiceImpl implements CompanyService {
         company.setContactNumber(dto.getContactNumber());
         company.setAddress(dto.getAddress());
         company.setRegistrationNumber(dto.getRegistrationNumber());
+        company.setState(professionalTaxRules.requireSupported(dto.getState()));
+
+        PayrollCalendar.validate(dto.getPayDay(), dto.getPayrollCutoffDay());
+        company.setPayDay(dto.getPayDay());
+        company.setPayrollCutoffDay(dto.getPayrollCutoffDay());
+        company.setNextPayrollRunAt(PayrollCalendar.cutoff(company, YearMonth.now()));
 
         Company savedCompany = companyRepository.save(company);
         log.info("Company saved with ID: {}", savedCompany.getCompanyId());
@@ -69,15 +88,12 @@ public class CompanyServiceImpl implements CompanyService {
 
         admin.setEmpCode(UniqueEmployeeCodeGenerator.generateEmpCode(dto.getName()));
 
-        String token = UUID.randomUUID().toString();
-        admin.setPasswordToken(token);
-        admin.setTokenExpiry(LocalDateTime.now().plusHours(24));
-
         Employee employee = employeeRepository.save(admin);
         log.info("Admin created with ID: {}", employee.getEmployeeId());
 
-        emailService.sendSetPasswordEmail(employee.getEmployeeId());
-        log.info("Set password email sent to admin: {}", employee.getEmail());
+        // Queued in the outbox with the company and mailed in the background
+        invitationDispatcher.invite(employee.getEmployeeId());
+        log.info("Set password email queued for admin: {}", employee.getEmail());
     }
 
 
@@ -91,6 +107,10 @@ public class CompanyServiceImpl implements CompanyService {
         dto.setContactNumber(company.getContactNumber());
         dto.setAddress(company.getAddress());
         dto.setRegistrationNumber(company.getRegistrationNumber());
+        dto.setState(company.getState());
+        dto.setPayDay(company.getPayDay());
+        dto.setPayrollCutoffDay(company.getPayrollCutoffDay());
+        dto.setNextPayrollRunAt(company.getNextPayrollRunAt());
 
         return dto;
     }
@@ -128,7 +148,33 @@ public class CompanyServiceImpl implements CompanyService {
         existing.setAddress(dto.getAddress());
         existing.setRegistrationNumber(dto.getRegistrationNumber());
 
+        boolean stateChanged = false;
+        if (dto.getState() != null) {
+            String state = professionalTaxRules.requireSupported(dto.getState());
+            stateChanged = !Objects.equals(state, existing.getState());
+            existing.setState(state);
+        }
+
+        if (dto.getPayDay() != null || dto.getPayrollCutoffDay() != null) {
+            Integer payDay = dto.getPayDay() != null ? dto.getPayDay() : existing.getPayDay();
+            Integer cutoffDay = dto.getPayrollCutoffDay() != null ? dto.getPayrollCutoffDay() : existing.getPayrollCutoffDay();
+            PayrollCalendar.validate(payDay, cutoffDay);
+
+            existing.setPayDay(payDay);
+            existing.setPayrollCutoffDay(cutoffDay);
+
+            // Move the pending run to the new cut-off of the same payroll month
+            YearMonth period = existing.getNextPayrollRunAt() != null
+                    ? PayrollCalendar.period(existing.getNextPayrollRunAt())
+                    : YearMonth.now();
+            existing.setNextPayrollRunAt(PayrollCalendar.cutoff(existing, period));
+        }
+
         companyRepository.save(existing);
+        if (stateChanged) {
+            // Calculators carry the company's Professional Tax table
+            payrollCalculatorCache.evictAll();
+        }
         log.info("Company updated successfully");
     }
 
@@ -141,6 +187,7 @@ public class CompanyServiceImpl implements CompanyService {
                 .orElseThrow(() -> new CompanyNotFoundException(companyId));
 
         companyRepository.delete(company);
+        salarySlipTemplateRenderer.evict(companyId);
         log.info("Company deleted successfully");
     }
 }
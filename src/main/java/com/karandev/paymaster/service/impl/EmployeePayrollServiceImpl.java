@@ -2,10 +2,22 @@
 package com.karandev.paymaster.service.impl;
 
 import com.karandev.paymaster.dto.EmployeePayrollResponseDto;
-import com.karandev.paymaster.entity.*;
-import com.karandev.paymaster.helper.EmailService;
-import com.karandev.paymaster.helper.PdfGenerationService;
-import com.karandev.paymaster.repository.*;
+import com.karandev.paymaster.dto.PayrollRunPartitionResponseDto;
+import com.karandev.paymaster.dto.PayrollRunResponseDto;
+import com.karandev.paymaster.dto.SalarySlipDeadLetterResponseDto;
+import com.karandev.paymaster.entity.DeliveryStatus;
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.entity.PayrollRun;
+import com.karandev.paymaster.entity.PayrollRunMode;
+import com.karandev.paymaster.entity.PayrollRunPartition;
+import com.karandev.paymaster.entity.PayrollRunStatus;
+import com.karandev.paymaster.entity.SalarySlipDeadLetter;
+import com.karandev.paymaster.entity.SalarySlipDelivery;
+import com.karandev.paymaster.exception.PayrollRunNotFoundException;
+import com.karandev.paymaster.repository.CompanyRepository;
+import com.karandev.paymaster.repository.EmployeePayrollRepository;
+import com.karandev.paymaster.repository.PayrollRunRepository;
+import com.karandev.paymaster.repository.SalarySlipDeadLetterRepository;
 import com.karandev.paymaster.service.EmployeePayrollService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,8 +26,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.List;
@@ -25,195 +35,23 @@ import java.util.UUID;
 public class EmployeePayrollServiceImpl implements EmployeePayrollService {
 
     private static final Logger log = LoggerFactory.getLogger(EmployeePayrollServiceImpl.class);
-    private static final BigDecimal ZERO = BigDecimal.ZERO;
-    private static final BigDecimal ESI_LIMIT = new BigDecimal("21000");
 
     private final EmployeePayrollRepository employeePayrollRepository;
-    private final EmployeeRepository employeeRepository;
-    private final EmployeeSalaryStructureRepository employeeSalaryStructureRepository;
+    private final PayrollRunRepository payrollRunRepository;
     private final CompanyRepository companyRepository;
-    private final PayrollConfigurationRepository payrollConfigurationRepository;
-    private final EmailService emailService;
-    private final PdfGenerationService pdfGenerationService;
+    private final PayrollRunEngine payrollRunEngine;
+    private final SalarySlipDeadLetterRepository deadLetterRepository;
 
     public EmployeePayrollServiceImpl(EmployeePayrollRepository employeePayrollRepository,
-                                      EmployeeRepository employeeRepository,
-                                      EmployeeSalaryStructureRepository employeeSalaryStructureRepository,
+                                      PayrollRunRepository payrollRunRepository,
                                       CompanyRepository companyRepository,
-                                      PayrollConfigurationRepository payrollConfigurationRepository,
-                                      EmailService emailService,
-                                      PdfGenerationService pdfGenerationService) {
+                                      PayrollRunEngine payrollRunEngine,
+                                      SalarySlipDeadLetterRepository deadLetterRepository) {
         this.employeePayrollRepository = employeePayrollRepository;
-        this.employeeRepository = employeeRepository;
-        this.employeeSalaryStructureRepository = employeeSalaryStructureRepository;
+        this.payrollRunRepository = payrollRunRepository;
         this.companyRepository = companyRepository;
-        this.payrollConfigurationRepository = payrollConfigurationRepository;
-        this.emailService = emailService;
-        this.pdfGenerationService = pdfGenerationService;
-    }
-
-
-    private BigDecimal calculateProfessionalTax(BigDecimal grossSalary, String gender, int month) {
-        if (grossSalary == null || grossSalary.compareTo(ZERO) <= 0) {
-            return ZERO;
-        }
-
-        boolean isFemale = "FEMALE".equalsIgnoreCase(gender != null ? gender.trim() : "");
-        boolean isFebruary = (month == 2);
-
-        BigDecimal pt;
-
-        if (isFemale) {
-            pt = grossSalary.compareTo(new BigDecimal("25000")) > 0 ? new BigDecimal("200") : ZERO;
-        } else {
-            if (grossSalary.compareTo(new BigDecimal("7500")) <= 0) {
-                pt = ZERO;
-            } else if (grossSalary.compareTo(new BigDecimal("10000")) <= 0) {
-                pt = new BigDecimal("175");
-            } else {
-                pt = new BigDecimal("200");
-            }
-        }
-
-        if (isFebruary && pt.compareTo(new BigDecimal("175")) > 0) {
-            pt = new BigDecimal("300");
-        }
-
-        return pt;
-    }
-
-
-    private EmployeePayroll calculatePayroll(Employee employee, Company company,
-                                             EmployeeSalaryStructure structure, PayrollConfiguration config,
-                                             int month, int year) {
-
-        BigDecimal basic = nullSafe(structure.getBasicSalary());
-        BigDecimal specialAllowance = nullSafe(structure.getSpecialAllowance());
-        BigDecimal bonus = nullSafe(structure.getBonusAmount());
-
-        BigDecimal hra = ZERO;
-        if (Boolean.TRUE.equals(config.getHraApplicable()) && config.getHraPercentage() != null) {
-            hra = basic.multiply(config.getHraPercentage())
-                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        }
-
-        BigDecimal conveyance = ZERO;
-        if (Boolean.TRUE.equals(config.getConveyanceApplicable()) && config.getConveyanceAmount() != null) {
-            conveyance = config.getConveyanceAmount();
-        }
-
-        BigDecimal medical = ZERO;
-        if (Boolean.TRUE.equals(config.getMedicalApplicable()) && config.getMedicalAllowanceAmount() != null) {
-            medical = config.getMedicalAllowanceAmount();
-        }
-
-        BigDecimal grossSalary = basic
-                .add(hra)
-                .add(conveyance)
-                .add(medical)
-                .add(specialAllowance)
-                .add(bonus);
-
-        BigDecimal pfEmployee = ZERO;
-        BigDecimal pfEmployer = ZERO;
-        if (Boolean.TRUE.equals(config.getPfApplicable())) {
-            if (config.getPfEmployeePercentage() != null) {
-                pfEmployee = basic.multiply(config.getPfEmployeePercentage())
-                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-            }
-            if (config.getPfEmployerPercentage() != null) {
-                pfEmployer = basic.multiply(config.getPfEmployerPercentage())
-                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-            }
-        }
-
-        BigDecimal esiEmployee = ZERO;
-        BigDecimal esiEmployer = ZERO;
-        if (Boolean.TRUE.equals(config.getEsiApplicable()) && grossSalary.compareTo(ESI_LIMIT) <= 0) {
-            BigDecimal esiEmpRate = config.getEsiEmployeePercentage() != null
-                    ? config.getEsiEmployeePercentage() : new BigDecimal("0.75");
-            BigDecimal esiEmprRate = config.getEsiEmployerPercentage() != null
-                    ? config.getEsiEmployerPercentage() : new BigDecimal("3.25");
-
-            esiEmployee = grossSalary.multiply(esiEmpRate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-            esiEmployer = grossSalary.multiply(esiEmprRate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        }
-
-        BigDecimal professionalTax = calculateProfessionalTax(grossSalary, employee.getGender().toString(), month);
-
-        BigDecimal incomeTaxMonthly = ZERO;
-        BigDecimal annualGross = grossSalary.multiply(BigDecimal.valueOf(12));
-        if (annualGross.compareTo(ZERO) > 0 && config.getTaxSlab1Limit() != null) {
-            BigDecimal annualTax = calculateProgressiveIncomeTax(annualGross, config);
-            incomeTaxMonthly = annualTax.divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
-        }
-
-        BigDecimal totalDeductions = pfEmployee
-                .add(esiEmployee)
-                .add(professionalTax)
-                .add(incomeTaxMonthly);
-
-        BigDecimal netSalary = grossSalary.subtract(totalDeductions);
-
-        EmployeePayroll payroll = new EmployeePayroll();
-        payroll.setCompany(company);
-        payroll.setEmployee(employee);
-        payroll.setMonth(month);
-        payroll.setYear(year);
-        payroll.setGeneratedAt(LocalDateTime.now());
-
-        payroll.setBasicSalary(basic);
-        payroll.setHra(hra);
-        payroll.setConveyance(conveyance);
-        payroll.setMedicalAllowance(medical);
-        payroll.setSpecialAllowance(specialAllowance);
-        payroll.setBonusAmount(bonus);
-        payroll.setGrossSalary(grossSalary);
-
-        payroll.setPfEmployeeAmount(pfEmployee);
-        payroll.setPfEmployerAmount(pfEmployer);
-        payroll.setEsiEmployeeAmount(esiEmployee);
-        payroll.setEsiEmployerAmount(esiEmployer);
-        payroll.setProfessionalTaxAmount(professionalTax);
-        payroll.setIncomeTaxAmount(incomeTaxMonthly);
-
-        payroll.setNetSalary(netSalary);
-
-        return payroll;
-    }
-
-    private BigDecimal calculateProgressiveIncomeTax(BigDecimal annualIncome, PayrollConfiguration config) {
-        BigDecimal tax = ZERO;
-        BigDecimal income = annualIncome;
-
-        BigDecimal slab1Limit = nullSafe(config.getTaxSlab1Limit());
-        BigDecimal slab1Rate = nullSafe(config.getTaxSlab1Rate());
-        BigDecimal slab2Limit = nullSafe(config.getTaxSlab2Limit());
-        BigDecimal slab2Rate = nullSafe(config.getTaxSlab2Rate());
-        BigDecimal slab3Rate = nullSafe(config.getTaxSlab3Rate());
-
-        if (income.compareTo(slab1Limit) <= 0) {
-            return income.multiply(slab1Rate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        }
-
-        tax = tax.add(slab1Limit.multiply(slab1Rate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
-        income = income.subtract(slab1Limit);
-
-        BigDecimal slab2Width = slab2Limit.subtract(slab1Limit);
-        if (income.compareTo(slab2Width) <= 0) {
-            return tax.add(income.multiply(slab2Rate).divide(BigDecimal.valueOf(100),  2, RoundingMode.HALF_UP));
-        }
-
-        tax = tax.add(slab2Width.multiply(slab2Rate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
-        income = income.subtract(slab2Width);
-
-        tax = tax.add(income.multiply(slab3Rate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
-        return tax;
-    }
-
-
-    private BigDecimal nullSafe(BigDecimal value) {
-        return value != null ? value : ZERO;
+        this.payrollRunEngine = payrollRunEngine;
+        this.deadLetterRepository = deadLetterRepository;
     }
 
 
@@ -279,71 +117,157 @@ public class EmployeePayrollServiceImpl implements EmployeePayrollService {
 
 
     @Override
-    @Transactional
-    @Scheduled(fixedDelay = 30000)
+    @Scheduled(fixedDelayString = "${app.payroll.scheduler.poll-interval-ms:60000}")
     public void createEmployeePayrollByCompanyId() {
-        log.info("Monthly payroll generation started at {}", LocalDateTime.now());
+        // Fast path: one indexed aggregate tells whether any company has reached its cut-off
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextDue = companyRepository.findEarliestNextPayrollRunAt();
+        if (nextDue == null || nextDue.isAfter(now)) {
+            return;
+        }
 
-        int currentMonth = LocalDate.now().getMonthValue();
-        int currentYear = LocalDate.now().getYear();
+        log.info("Monthly payroll generation started at {}", now);
+        payrollRunEngine.runDue(now);
+    }
 
-        List<Company> companies = companyRepository.findAll();
+    private PayrollRunResponseDto mapToPayrollRunResponse(PayrollRun run, boolean includePartitions) {
+        PayrollRunResponseDto dto = new PayrollRunResponseDto();
+
+        dto.setRunId(run.getRunId());
+        dto.setMonth(run.getMonth());
+        dto.setYear(run.getYear());
+        dto.setMode(run.getMode());
+        dto.setStatus(run.getStatus());
+        dto.setExecuting(payrollRunEngine.isActive(run.getRunId()));
+
+        List<PayrollRunPartition> partitions = run.getPartitions();
+        dto.setTotalPartitions(partitions.size());
+        dto.setCompletedPartitions((int) partitions.stream().filter(p -> p.getStatus() == PayrollRunStatus.COMPLETED).count());
+        dto.setFailedPartitions((int) partitions.stream().filter(p -> p.getStatus() == PayrollRunStatus.FAILED).count());
+        dto.setPlannedEmployees(partitions.stream().mapToInt(PayrollRunPartition::getPlannedEmployees).sum());
+        dto.setProcessedEmployees(partitions.stream().mapToInt(PayrollRunPartition::getProcessedEmployees).sum());
+        dto.setGeneratedPayrolls(partitions.stream().mapToInt(PayrollRunPartition::getGeneratedPayrolls).sum());
+
+        dto.setStartedAt(run.getStartedAt());
+        dto.setCompletedAt(run.getCompletedAt());
+
+        if (includePartitions) {
+            dto.setPartitions(partitions.stream().map(this::mapToPartitionResponse).toList());
+        }
 
-        for (Company company : companies) {
-            UUID companyId = company.getCompanyId();
+        return dto;
+    }
 
-            PayrollConfiguration config = payrollConfigurationRepository
-                    .findByCompany_CompanyIdAndIsActiveTrue(companyId)
-                    .orElse(null);
+    private PayrollRunPartitionResponseDto mapToPartitionResponse(PayrollRunPartition partition) {
+        PayrollRunPartitionResponseDto dto = new PayrollRunPartitionResponseDto();
+
+        dto.setPartitionId(partition.getPartitionId());
+        dto.setCompanyId(partition.getCompany().getCompanyId());
+        dto.setCompanyName(partition.getCompany().getName());
+        dto.setChunkIndex(partition.getChunkIndex());
+        dto.setStatus(partition.getStatus());
+        dto.setPlannedEmployees(partition.getPlannedEmployees());
+        dto.setProcessedEmployees(partition.getProcessedEmployees());
+        dto.setGeneratedPayrolls(partition.getGeneratedPayrolls());
+        dto.setCursorEmployeeId(partition.getCursorEmployeeId());
+        dto.setLastError(partition.getLastError());
+        dto.setCompletedAt(partition.getCompletedAt());
+        dto.setUpdatedAt(partition.getUpdatedAt());
 
-            if (config == null) {
-                log.warn("No active payroll configuration found for company: {}", company.getName());
-                continue;
-            }
+        return dto;
+    }
 
-            List<Employee> employees = employeeRepository.findAllByCompany_CompanyId(companyId);
+    private SalarySlipDeadLetterResponseDto mapToDeadLetterResponse(SalarySlipDeadLetter deadLetter) {
+        SalarySlipDeadLetterResponseDto dto = new SalarySlipDeadLetterResponseDto();
+        SalarySlipDelivery delivery = deadLetter.getDelivery();
+        EmployeePayroll payroll = delivery.getPayroll();
 
-            for (Employee employee : employees) {
-                try {
-                    boolean alreadyExists = employeePayrollRepository.existsByEmployee_EmployeeIdAndMonthAndYear(
-                            employee.getEmployeeId(), currentMonth, currentYear);
+        dto.setDeadLetterId(deadLetter.getDeadLetterId());
+        dto.setDeliveryId(delivery.getDeliveryId());
+        dto.setPayrollId(payroll.getPayRollId());
+        dto.setCompanyId(payroll.getCompany().getCompanyId());
+        dto.setEmployeeName(payroll.getEmployee().getName());
+        dto.setEmpCode(payroll.getEmployee().getEmpCode());
+        dto.setMonth(payroll.getMonth());
+        dto.setYear(payroll.getYear());
+        dto.setRecipientEmail(deadLetter.getRecipientEmail());
+        dto.setAttempts(deadLetter.getAttempts());
+        dto.setLastError(deadLetter.getLastError());
+        dto.setFailedAt(deadLetter.getFailedAt());
 
-                    if (alreadyExists) {
-                        log.info("Payroll already generated for {} - {}/{}", employee.getName(), currentMonth, currentYear);
-                        continue;
-                    }
+        return dto;
+    }
 
-                    EmployeeSalaryStructure structure = employeeSalaryStructureRepository
-                            .findByEmployee_EmployeeIdAndCompany_CompanyId(employee.getEmployeeId(), companyId)
-                            .orElse(null);
+    @Override
+    @Transactional(readOnly = true)
+    public List<PayrollRunResponseDto> fetchPayrollRuns() {
+        return payrollRunRepository.findTop50ByOrderByCreatedAtDesc()
+                .stream()
+                .map(run -> mapToPayrollRunResponse(run, false))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PayrollRunResponseDto fetchPayrollRun(UUID runId) {
+        PayrollRun run = payrollRunRepository.findById(runId)
+                .orElseThrow(() -> new PayrollRunNotFoundException(runId));
+        return mapToPayrollRunResponse(run, true);
+    }
 
-                    if (structure == null || structure.getBasicSalary() == null || structure.getBasicSalary().compareTo(ZERO) <= 0) {
-                        log.warn("Valid salary structure not found for employee: {} ({})", employee.getName(), employee.getEmpCode());
-                        continue;
-                    }
+    @Override
+    public PayrollRunResponseDto startPayrollRun(int month, int year, PayrollRunMode mode) {
+        log.info("Manual payroll run ({}) requested for {}/{}", mode, month, year);
+        UUID runId = payrollRunEngine.startAsync(month, year, mode);
+        return fetchPayrollRun(runId);
+    }
 
-                    EmployeePayroll payroll = calculatePayroll(employee, company, structure, config, currentMonth, currentYear);
-                    EmployeePayroll savedPayroll = employeePayrollRepository.save(payroll);
+    @Override
+    public PayrollRunResponseDto resumePayrollRun(UUID runId) {
+        PayrollRun run = payrollRunRepository.findById(runId)
+                .orElseThrow(() -> new PayrollRunNotFoundException(runId));
 
-                    byte[] pdf = pdfGenerationService.generateSalarySlipPdf(savedPayroll);
-                    String fileName = String.format("Salary_Slip_%s_%s_%d.pdf", employee.getEmpCode(), Month.of(currentMonth), currentYear);
+        if (run.getStatus() != PayrollRunStatus.COMPLETED) {
+            log.info("Resuming payroll run {} for {}/{}", runId, run.getMonth(), run.getYear());
+            payrollRunEngine.resumeAsync(runId);
+        }
+        return fetchPayrollRun(runId);
+    }
 
-                    emailService.sendSalarySlip(
-                            employee.getEmail(),
-                            company.getName() + " - Salary Slip for " + Month.of(currentMonth) + " " + currentYear,
-                            "Dear " + employee.getName() + ",<br><br>Please find your salary slip attached for the month of <strong>" + Month.of(currentMonth) + " " + currentYear + "</strong>.<br><br>Regards,<br>" + company.getName() + " HR Team",
-                            pdf,
-                            fileName
-                    );
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalarySlipDeadLetterResponseDto> fetchSlipDeadLetters(UUID companyId) {
+        return deadLetterRepository.findUnreplayed(companyId)
+                .stream()
+                .map(this::mapToDeadLetterResponse)
+                .toList();
+    }
 
-                    log.info("Payroll generated and emailed to {} ({})", employee.getName(), employee.getEmpCode());
+    /**
+     * Hands dead-lettered deliveries back to the outbox with a fresh set of attempts: the given
+     * ones, or every one not replayed yet when no ids are given.
+     */
+    @Override
+    @Transactional
+    public int replaySlipDeadLetters(UUID companyId, List<UUID> deadLetterIds) {
+        LocalDateTime now = LocalDateTime.now();
+        int replayed = 0;
 
-                } catch (Exception e) {
-                    log.error("Failed to generate payroll for employee: {} ({})", employee.getName(), employee.getEmployeeId(), e);
-                }
+        for (SalarySlipDeadLetter deadLetter : deadLetterRepository.findUnreplayed(companyId)) {
+            if (deadLetterIds != null && !deadLetterIds.isEmpty() && !deadLetterIds.contains(deadLetter.getDeadLetterId())) {
+                continue;
+            }
+            SalarySlipDelivery delivery = deadLetter.getDelivery();
+            if (delivery.getStatus() == DeliveryStatus.FAILED) {
+                delivery.setStatus(DeliveryStatus.PENDING);
+                delivery.setAttempts(0);
+                delivery.setNextAttemptAt(now);
             }
+            deadLetter.setReplayedAt(now);
+            replayed++;
         }
 
-        log.info("Payroll generation completed at {}", LocalDateTime.now());
+        log.info("Replayed {} dead-lettered salary slip deliveries", replayed);
+        return replayed;
     }
-}
\ No newline at end of file
+}
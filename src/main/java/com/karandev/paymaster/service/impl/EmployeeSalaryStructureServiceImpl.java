@@ -2,6 +2,9 @@
 
 package com.karandev.paymaster.service.impl;
 
+import com.karandev.paymaster.calculation.PayrollAmounts;
+import com.karandev.paymaster.calculation.PayrollCalculator;
+import com.karandev.paymaster.calculation.PayrollCalculatorCache;
 import com.karandev.paymaster.dto.SalaryStructureRequestDto;
 import com.karandev.paymaster.dto.SalaryStructureResponseDto;
 import com.karandev.paymaster.entity.*;
@@ -25,20 +28,21 @@ import java.util.UUID;
 public class EmployeeSalaryStructureServiceImpl implements EmployeeSalaryStructureService {
 
     private static final Logger log = LoggerFactory.getLogger(EmployeeSalaryStructureServiceImpl.class);
-    private static final BigDecimal ESI_WAGE_LIMIT = new BigDecimal("21000");
-    private static final BigDecimal ZERO = BigDecimal.ZERO;
 
     private final EmployeeSalaryStructureRepository salaryStructureRepo;
     private final EmployeeRepository employeeRepo;
     private final PayrollConfigurationRepository configRepo;
+    private final PayrollCalculatorCache payrollCalculatorCache;
 
     public EmployeeSalaryStructureServiceImpl(
             EmployeeSalaryStructureRepository salaryStructureRepo,
             EmployeeRepository employeeRepo,
-            PayrollConfigurationRepository configRepo) {
+            PayrollConfigurationRepository configRepo,
+            PayrollCalculatorCache payrollCalculatorCache) {
         this.salaryStructureRepo = salaryStructureRepo;
         this.employeeRepo = employeeRepo;
         this.configRepo = configRepo;
+        this.payrollCalculatorCache = payrollCalculatorCache;
     }
 
     @Override
@@ -90,6 +94,7 @@ public class EmployeeSalaryStructureServiceImpl implements EmployeeSalaryStructu
 
         target.setNetSalary(source.getNetSalary());
         target.setCtc(source.getCtc());
+        target.setCalculatedConfigurationId(source.getCalculatedConfigurationId());
         target.setUpdatedAt(LocalDateTime.now());
     }
 
@@ -103,59 +108,16 @@ public class EmployeeSalaryStructureServiceImpl implements EmployeeSalaryStructu
         s.setEmployee(employee);
         s.setCompany(employee.getCompany());
 
-        BigDecimal basic = dto.getBasicSalary();
-        BigDecimal special = nullSafe(dto.getSpecialAllowance());
-        BigDecimal bonus = nullSafe(dto.getBonusAmount());
+        // Same calculator as the monthly run, which reuses these figures while the config is active
+        PayrollCalculator calculator = payrollCalculatorCache.get(config.getPayrollConfigurationId());
+        PayrollAmounts amounts = calculator.calculate(dto.getBasicSalary(), dto.getSpecialAllowance(),
+                dto.getBonusAmount(), employee.getGender(), currentMonth);
+        amounts.applyTo(s);
+        s.setCalculatedConfigurationId(calculator.getConfigurationId());
 
-        s.setBasicSalary(basic);
-        s.setSpecialAllowance(special);
-        s.setBonusAmount(bonus);
-
-        BigDecimal hra = calcIfApplicable(basic, config.getHraApplicable(), config.getHraPercentage());
-        BigDecimal conveyance = config.getConveyanceApplicable() ? nullSafe(config.getConveyanceAmount()) : ZERO;
-        BigDecimal medical = config.getMedicalApplicable() ? nullSafe(config.getMedicalAllowanceAmount()) : ZERO;
-
-        s.setHra(hra);
-        s.setConveyance(conveyance);
-        s.setMedicalAllowance(medical);
-
-        BigDecimal grossSalary = basic
-                .add(hra)
-                .add(conveyance)
-                .add(medical)
-                .add(special)
-                .add(bonus);
-
-        s.setGrossSalary(grossSalary);
-
-        BigDecimal pfEmployee = calcIfApplicable(basic, config.getPfApplicable(), config.getPfEmployeePercentage());
-        BigDecimal pfEmployer = calcIfApplicable(basic, config.getPfApplicable(), config.getPfEmployerPercentage());
-
-        s.setPfEmployee(pfEmployee);
-        s.setPfEmployer(pfEmployer);
-
-        BigDecimal esiEmployee = ZERO;
-        BigDecimal esiEmployer = ZERO;
-        if (config.getEsiApplicable() && grossSalary.compareTo(ESI_WAGE_LIMIT) <= 0) {
-            esiEmployee = calcPercentage(grossSalary, config.getEsiEmployeePercentage());
-            esiEmployer = calcPercentage(grossSalary, config.getEsiEmployerPercentage());
-        }
-        s.setEsiEmployee(esiEmployee);
-        s.setEsiEmployer(esiEmployer);
-
-        s.setProfessionalTax(calculateProfessionalTax(grossSalary, employee.getGender(), currentMonth));
-        s.setIncomeTax(calculateMonthlyIncomeTax(grossSalary, config));
-
-        BigDecimal totalDeduction = pfEmployee
-                .add(esiEmployee)
-                .add(s.getProfessionalTax())
-                .add(s.getIncomeTax());
-
-        s.setNetSalary(grossSalary.subtract(totalDeduction));
-
-        BigDecimal annualCtc = grossSalary
-                .add(pfEmployer)
-                .add(esiEmployer)
+        BigDecimal annualCtc = amounts.grossSalary()
+                .add(amounts.pfEmployer())
+                .add(amounts.esiEmployer())
                 .multiply(BigDecimal.valueOf(12))
                 .setScale(0, RoundingMode.HALF_UP);
 
@@ -167,23 +129,6 @@ public class EmployeeSalaryStructureServiceImpl implements EmployeeSalaryStructu
         return s;
     }
 
-    private BigDecimal calcIfApplicable(BigDecimal base, Boolean applicable, BigDecimal percent) {
-        if (Boolean.TRUE.equals(applicable) && percent != null && base != null) {
-            return calcPercentage(base, percent);
-        }
-        return ZERO;
-    }
-
-    private BigDecimal calcPercentage(BigDecimal base, BigDecimal percent) {
-        if (base == null || percent == null || base.compareTo(ZERO) <= 0) return ZERO;
-        return base.multiply(percent)
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal nullSafe(BigDecimal val) {
-        return val != null ? val : ZERO;
-    }
-
     private PayrollConfiguration getActiveConfig(UUID companyId) {
         return configRepo.findByCompany_CompanyIdAndIsActiveTrue(companyId)
                 .orElseThrow(() -> new PayrollConfigurationNotFoundException(companyId));
@@ -194,69 +139,6 @@ public class EmployeeSalaryStructureServiceImpl implements EmployeeSalaryStructu
                 .orElseThrow(() -> new EmployeeNotFoundException(employeeId));
     }
 
-    // Maharashtra Professional Tax - 100% Compliant (2025)
-    private BigDecimal calculateProfessionalTax(BigDecimal grossSalary, Gender gender, int month) {
-        if (grossSalary == null || grossSalary.compareTo(ZERO) <= 0) {
-            return ZERO;
-        }
-
-        boolean isFemale = gender == Gender.FEMALE;
-        boolean isFebruary = (month == 2);
-        BigDecimal pt = ZERO;
-
-        if (isFemale) {
-            if (grossSalary.compareTo(new BigDecimal("25000")) > 0) {
-                pt = new BigDecimal("200");
-            }
-        } else {
-            if (grossSalary.compareTo(new BigDecimal("7500")) <= 0) {
-                return ZERO;
-            } else if (grossSalary.compareTo(new BigDecimal("10000")) <= 0) {
-                pt = new BigDecimal("175");
-            } else {
-                pt = new BigDecimal("200");
-            }
-        }
-
-        // February surcharge: ₹300 instead of ₹200 (₹175 stays ₹175)
-        if (isFebruary && pt.compareTo(new BigDecimal("175")) > 0) {
-            pt = new BigDecimal("300");
-        }
-
-        return pt;
-    }
-
-    private BigDecimal calculateMonthlyIncomeTax(BigDecimal monthlyGross, PayrollConfiguration config) {
-        if (monthlyGross == null || config == null) return ZERO;
-
-        BigDecimal annualGross = monthlyGross.multiply(BigDecimal.valueOf(12));
-        BigDecimal tax = ZERO;
-
-        BigDecimal slab1 = nullSafe(config.getTaxSlab1Limit());
-        BigDecimal slab2 = nullSafe(config.getTaxSlab2Limit());
-
-        BigDecimal rate1 = nullSafe(config.getTaxSlab1Rate());
-        BigDecimal rate2 = nullSafe(config.getTaxSlab2Rate());
-        BigDecimal rate3 = nullSafe(config.getTaxSlab3Rate());
-
-        if (annualGross.compareTo(slab1) <= 0) {
-            tax = annualGross.multiply(rate1).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        } else {
-            tax = tax.add(slab1.multiply(rate1).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
-            BigDecimal remaining = annualGross.subtract(slab1);
-
-            BigDecimal slab2Width = slab2.subtract(slab1);
-            if (remaining.compareTo(slab2Width) <= 0) {
-                tax = tax.add(remaining.multiply(rate2).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
-            } else {
-                tax = tax.add(slab2Width.multiply(rate2).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
-                tax = tax.add(remaining.subtract(slab2Width).multiply(rate3).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
-            }
-        }
-
-        return tax.divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
-    }
-
     @Override
     public SalaryStructureResponseDto getSalaryStructureForEmployeeByEmpIdAndCompanyId(UUID employeeId, UUID companyId) {
         EmployeeSalaryStructure entity = salaryStructureRepo
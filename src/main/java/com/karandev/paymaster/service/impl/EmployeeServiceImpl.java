@@ -8,7 +8,7 @@ import com.karandev.paymaster.entity.Employee;
 import com.karandev.paymaster.entity.EmployeeStatus;
 import com.karandev.paymaster.entity.Gender;
 import com.karandev.paymaster.exception.EmployeeNotFoundException;
-import com.karandev.paymaster.helper.EmailService;
+import com.karandev.paymaster.helper.InvitationDispatcher;
 import com.karandev.paymaster.helper.UniqueEmployeeCodeGenerator;
 import com.karandev.paymaster.repository.CompanyRepository;
 import com.karandev.paymaster.repository.EmployeeRepository;
@@ -29,14 +29,14 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private final CompanyRepository companyRepository;
     private final EmployeeRepository employeeRepository;
-    private final EmailService emailService;
+    private final InvitationDispatcher invitationDispatcher;
 
     public EmployeeServiceImpl(CompanyRepository companyRepository,
                                EmployeeRepository employeeRepository,
-                               EmailService emailService) {
+                               InvitationDispatcher invitationDispatcher) {
         this.companyRepository = companyRepository;
         this.employeeRepository = employeeRepository;
-        this.emailService = emailService;
+        this.invitationDispatcher = invitationDispatcher;
     }
 
     private Employee mapDtoToEntity(EmployeeRequestDto dto) {
@@ -87,7 +87,8 @@ public class EmployeeServiceImpl implements EmployeeService {
         Employee employee = mapDtoToEntity(dto);
         Employee saved = employeeRepository.save(employee);
 
-        emailService.sendSetPasswordEmail(saved.getEmployeeId());
+        // Queued in the outbox with the employee and mailed in the background
+        invitationDispatcher.invite(saved.getEmployeeId());
 
         log.info("Employee created | ID: {} | Code: {}", saved.getEmployeeId(), saved.getEmpCode());
     }
@@ -171,6 +172,16 @@ public class EmployeeServiceImpl implements EmployeeService {
         log.info("Password updated successfully for employee: {}", employee.getEmployeeId());
     }
 
+    @Override
+    public void sendSetPasswordEmail(UUID employeeId) {
+        log.info("Queueing set-password email for employee: {}", employeeId);
+
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new EmployeeNotFoundException(employeeId);
+        }
+        invitationDispatcher.invite(employeeId);
+    }
+
 
     @Override
     @Transactional
@@ -1,8 +1,13 @@
 package com.karandev.paymaster.service.impl;
 
+import com.karandev.paymaster.calculation.IncomeTaxTable;
+import com.karandev.paymaster.calculation.PayrollCalculatorCache;
+import com.karandev.paymaster.dto.IncomeTaxSlabDto;
 import com.karandev.paymaster.dto.PayrollConfigurationRequestDto;
 import com.karandev.paymaster.dto.PayrollConfigurationResponseDto;
 import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.IncomeTaxSlab;
+import com.karandev.paymaster.entity.IncomeTaxSlabType;
 import com.karandev.paymaster.entity.PayrollConfiguration;
 import com.karandev.paymaster.exception.CompanyNotFoundException;
 import com.karandev.paymaster.exception.PayrollConfigurationNotFoundException;
@@ -26,11 +31,14 @@ public class PayrollConfigurationServiceImpl implements PayrollConfigurationServ
 
     private final PayrollConfigurationRepository payrollConfigRepo;
     private final CompanyRepository companyRepository;
+    private final PayrollCalculatorCache payrollCalculatorCache;
 
     public PayrollConfigurationServiceImpl(PayrollConfigurationRepository payrollConfigRepo,
-                                           CompanyRepository companyRepository) {
+                                           CompanyRepository companyRepository,
+                                           PayrollCalculatorCache payrollCalculatorCache) {
         this.payrollConfigRepo = payrollConfigRepo;
         this.companyRepository = companyRepository;
+        this.payrollCalculatorCache = payrollCalculatorCache;
     }
 
     @Override
@@ -46,6 +54,7 @@ public class PayrollConfigurationServiceImpl implements PayrollConfigurationServ
                     config.setIsActive(false);
                     config.setUpdatedAt(LocalDateTime.now());
                     configsToSave.add(config);
+                    payrollCalculatorCache.evict(config.getPayrollConfigurationId());
                 });
 
         PayrollConfiguration newConfig = createNewConfig(dto, company);
@@ -69,6 +78,7 @@ public class PayrollConfigurationServiceImpl implements PayrollConfigurationServ
                     config.setIsActive(false);
                     config.setUpdatedAt(LocalDateTime.now());
                     configsToSave.add(config);
+                    payrollCalculatorCache.evict(config.getPayrollConfigurationId());
                 });
 
         PayrollConfiguration newConfig = createNewConfig(dto, company);
@@ -80,6 +90,7 @@ public class PayrollConfigurationServiceImpl implements PayrollConfigurationServ
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PayrollConfigurationResponseDto fetchCompanyPayrollConfigurationByCompanyId(UUID companyId) {
         PayrollConfiguration config = payrollConfigRepo
                 .findByCompany_CompanyIdAndIsActiveTrue(companyId)
@@ -126,6 +137,22 @@ public class PayrollConfigurationServiceImpl implements PayrollConfigurationServ
         entity.setTaxSlab2Rate(dto.getTaxSlab2Rate());
         entity.setTaxSlab3Limit(dto.getTaxSlab3Limit());
         entity.setTaxSlab3Rate(dto.getTaxSlab3Rate());
+        entity.setTaxCessPercentage(dto.getTaxCessPercentage());
+
+        entity.getIncomeTaxSlabs().clear();
+        if (dto.getIncomeTaxSlabs() != null) {
+            for (IncomeTaxSlabDto slabDto : dto.getIncomeTaxSlabs()) {
+                IncomeTaxSlab slab = new IncomeTaxSlab();
+                slab.setPayrollConfiguration(entity);
+                slab.setType(slabDto.getType() != null ? slabDto.getType() : IncomeTaxSlabType.TAX);
+                slab.setFromAmount(slabDto.getFromAmount());
+                slab.setRate(slabDto.getRate());
+                entity.getIncomeTaxSlabs().add(slab);
+            }
+        }
+
+        // Rejects overlapping or out-of-range slabs before anything is saved
+        IncomeTaxTable.compile(entity);
     }
 
     private PayrollConfigurationResponseDto mapEntityToDto(PayrollConfiguration entity) {
@@ -154,6 +181,16 @@ public class PayrollConfigurationServiceImpl implements PayrollConfigurationServ
         dto.setTaxSlab2Rate(entity.getTaxSlab2Rate());
         dto.setTaxSlab3Limit(entity.getTaxSlab3Limit());
         dto.setTaxSlab3Rate(entity.getTaxSlab3Rate());
+        dto.setTaxCessPercentage(entity.getTaxCessPercentage());
+        dto.setIncomeTaxSlabs(entity.getIncomeTaxSlabs().stream()
+                .map(slab -> {
+                    IncomeTaxSlabDto slabDto = new IncomeTaxSlabDto();
+                    slabDto.setType(slab.getType());
+                    slabDto.setFromAmount(slab.getFromAmount());
+                    slabDto.setRate(slab.getRate());
+                    return slabDto;
+                })
+                .toList());
 
         dto.setIsActive(entity.getIsActive());
 
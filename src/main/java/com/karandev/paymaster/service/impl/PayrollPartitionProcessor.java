@@ -0,0 +1,337 @@
+package com.karandev.paymaster.service.impl;
+
+import com.karandev.paymaster.calculation.PayrollAmounts;
+import com.karandev.paymaster.calculation.PayrollBatch;
+import com.karandev.paymaster.calculation.PayrollCalculator;
+import com.karandev.paymaster.calculation.PayrollCalculatorCache;
+import com.karandev.paymaster.calculation.PayrollFingerprint;
+import com.karandev.paymaster.dto.PayrollWorkItem;
+import com.karandev.paymaster.entity.*;
+import com.karandev.paymaster.exception.PayrollRunNotFoundException;
+import com.karandev.paymaster.helper.PayrollCalendar;
+import com.karandev.paymaster.helper.SalarySlipLinks;
+import com.karandev.paymaster.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Generates the payroll of a {@link PayrollRunPartition} one checkpoint at a time. Every
+ * checkpoint commits the generated payrolls together with the advanced partition cursor, so a
+ * slow or failing tenant never holds or rolls back the work of others and an interrupted run
+ * resumes from the last committed employee.
+ */
+@Service
+public class PayrollPartitionProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollPartitionProcessor.class);
+    private static final BigDecimal ZERO = BigDecimal.ZERO;
+
+    private final EmployeePayrollRepository employeePayrollRepository;
+    private final EmployeeSalaryStructureRepository employeeSalaryStructureRepository;
+    private final PayrollCalculatorCache payrollCalculatorCache;
+    private final PayrollRunPartitionRepository partitionRepository;
+    private final SalarySlipDeliveryRepository salarySlipDeliveryRepository;
+    private final SalarySlipLinks salarySlipLinks;
+    private final int checkpointSize;
+
+    public PayrollPartitionProcessor(EmployeePayrollRepository employeePayrollRepository,
+                                     EmployeeSalaryStructureRepository employeeSalaryStructureRepository,
+                                     PayrollCalculatorCache payrollCalculatorCache,
+                                     PayrollRunPartitionRepository partitionRepository,
+                                     SalarySlipDeliveryRepository salarySlipDeliveryRepository,
+                                     SalarySlipLinks salarySlipLinks,
+                                     @Value("${app.payroll.run.checkpoint-size:100}") int checkpointSize) {
+        this.employeePayrollRepository = employeePayrollRepository;
+        this.employeeSalaryStructureRepository = employeeSalaryStructureRepository;
+        this.payrollCalculatorCache = payrollCalculatorCache;
+        this.partitionRepository = partitionRepository;
+        this.salarySlipDeliveryRepository = salarySlipDeliveryRepository;
+        this.salarySlipLinks = salarySlipLinks;
+        this.checkpointSize = checkpointSize;
+    }
+
+    /**
+     * Generates the next checkpoint of the partition.
+     *
+     * @return true once the partition has no employees left
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean processCheckpoint(UUID partitionId) {
+        PayrollRunPartition partition = partitionRepository.findById(partitionId)
+                .orElseThrow(() -> new PayrollRunNotFoundException("Payroll run partition not found with ID: " + partitionId));
+
+        if (partition.getStatus() == PayrollRunStatus.COMPLETED) {
+            return true;
+        }
+
+        Company company = partition.getCompany();
+        PayrollCalculator calculator = payrollCalculatorCache.get(partition.getPayrollConfigurationId());
+
+        int currentMonth = partition.getRun().getMonth();
+        int currentYear = partition.getRun().getYear();
+
+        UUID after = partition.getCursorEmployeeId() != null
+                ? partition.getCursorEmployeeId()
+                : partition.getLowerBoundEmployeeId();
+
+        List<PayrollWorkItem> workItems = employeeSalaryStructureRepository.findPayrollWorkItems(
+                company.getCompanyId(), after, partition.getUpperBoundEmployeeId(),
+                currentMonth, currentYear, PageRequest.of(0, checkpointSize));
+
+        boolean regenerate = partition.getRun().getMode() == PayrollRunMode.REGENERATE;
+        Map<UUID, EmployeePayroll> existingPayrolls = regenerate
+                ? findExistingPayrolls(workItems, currentMonth, currentYear)
+                : Map.of();
+
+        List<PendingPayroll> pending = new ArrayList<>(workItems.size());
+        for (PayrollWorkItem item : workItems) {
+            Employee employee = item.employee();
+            EmployeeSalaryStructure structure = item.structure();
+
+            if (item.alreadyGenerated() && !regenerate) {
+                log.info("Payroll already generated for {} - {}/{}", employee.getName(), currentMonth, currentYear);
+                continue;
+            }
+
+            if (structure == null || structure.getBasicSalary() == null || structure.getBasicSalary().compareTo(ZERO) <= 0) {
+                log.warn("Valid salary structure not found for employee: {} ({})", employee.getName(), employee.getEmpCode());
+                continue;
+            }
+
+            String fingerprint = PayrollFingerprint.of(structure, employee, calculator.getConfigurationId(),
+                    calculator.getProfessionalTaxTable());
+            EmployeePayroll payroll = existingPayrolls.get(employee.getEmployeeId());
+            if (payroll != null && fingerprint.equals(payroll.getFingerprint())) {
+                continue;
+            }
+            if (payroll == null) {
+                payroll = newPayroll(employee, company, currentMonth, currentYear);
+            }
+            pending.add(new PendingPayroll(item, payroll, fingerprint));
+        }
+
+        PayrollAmounts[] calculated = calculatePayrolls(pending, calculator, currentMonth);
+
+        // Payrolls are applied in employee order up to the first one that cannot be calculated,
+        // so the cursor never moves past an employee without a payroll
+        List<EmployeePayroll> payrolls = new ArrayList<>(pending.size());
+        PendingPayroll failed = null;
+        String failure = null;
+        for (int i = 0; i < pending.size(); i++) {
+            PendingPayroll entry = pending.get(i);
+            PayrollAmounts amounts = calculated[i];
+            if (amounts == null) {
+                Employee employee = entry.item().employee();
+                EmployeeSalaryStructure structure = entry.item().structure();
+                try {
+                    amounts = calculator.calculate(structure.getBasicSalary(), structure.getSpecialAllowance(),
+                            structure.getBonusAmount(), employee.getGender(), currentMonth);
+                } catch (Exception e) {
+                    log.error("Failed to generate payroll for employee: {} ({})", employee.getName(), employee.getEmployeeId(), e);
+                    failed = entry;
+                    failure = "Payroll calculation failed for employee " + employee.getName()
+                            + " (" + employee.getEmpCode() + "): " + e.getMessage();
+                    break;
+                }
+            }
+            payrolls.add(entry.apply(amounts));
+        }
+        if (failed != null) {
+            int failedAt = 0;
+            while (workItems.get(failedAt) != failed.item()) {
+                failedAt++;
+            }
+            workItems = workItems.subList(0, failedAt);
+        }
+
+        // Inserts and updates are grouped into JDBC batches (hibernate.jdbc.batch_size)
+        List<EmployeePayroll> savedPayrolls = employeePayrollRepository.saveAll(payrolls);
+
+        // A regenerated payroll whose earlier slip is still queued gets the new amounts from that delivery
+        Set<UUID> queued = regenerate ? findQueuedSlips(savedPayrolls) : Set.of();
+
+        // Slips are rendered and mailed by the delivery dispatcher once this transaction commits
+        List<SalarySlipDelivery> deliveries = new ArrayList<>(savedPayrolls.size());
+        for (EmployeePayroll savedPayroll : savedPayrolls) {
+            Employee employee = savedPayroll.getEmployee();
+            if (employee.getEmail() == null || employee.getEmail().isBlank()) {
+                log.warn("No email address for employee: {} ({}), salary slip will not be mailed", employee.getName(), employee.getEmpCode());
+                continue;
+            }
+            if (queued.contains(savedPayroll.getPayRollId())) {
+                log.info("Payroll regenerated for {} ({}), salary slip already queued", employee.getName(), employee.getEmpCode());
+                continue;
+            }
+            deliveries.add(createSlipDelivery(savedPayroll, company));
+            log.info("Payroll generated for {} ({}), salary slip queued", employee.getName(), employee.getEmpCode());
+        }
+        salarySlipDeliveryRepository.saveAll(deliveries);
+
+        // The cursor commits atomically with the payrolls above
+        partition.setStatus(PayrollRunStatus.RUNNING);
+        partition.setLastError(null);
+        partition.setProcessedEmployees(partition.getProcessedEmployees() + workItems.size());
+        partition.setGeneratedPayrolls(partition.getGeneratedPayrolls() + savedPayrolls.size());
+        if (!workItems.isEmpty()) {
+            partition.setCursorEmployeeId(workItems.get(workItems.size() - 1).employee().getEmployeeId());
+        }
+
+        if (failed != null) {
+            // Stops before the employee, so resuming the run retries them once their data is fixed
+            partition.setStatus(PayrollRunStatus.FAILED);
+            partition.setLastError(failure.length() > 1000 ? failure.substring(0, 1000) : failure);
+            return true;
+        }
+
+        boolean finished = workItems.size() < checkpointSize;
+        if (finished) {
+            partition.setStatus(PayrollRunStatus.COMPLETED);
+            partition.setCompletedAt(LocalDateTime.now());
+        }
+        return finished;
+    }
+
+    /**
+     * Existing payrolls of the month for the checkpoint's employees, by employee id.
+     */
+    private Map<UUID, EmployeePayroll> findExistingPayrolls(List<PayrollWorkItem> workItems, int month, int year) {
+        List<UUID> employeeIds = workItems.stream()
+                .filter(PayrollWorkItem::alreadyGenerated)
+                .map(item -> item.employee().getEmployeeId())
+                .toList();
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, EmployeePayroll> existing = new HashMap<>();
+        for (EmployeePayroll payroll : employeePayrollRepository.findByMonthAndYearAndEmployee_EmployeeIdIn(month, year, employeeIds)) {
+            existing.put(payroll.getEmployee().getEmployeeId(), payroll);
+        }
+        return existing;
+    }
+
+    private Set<UUID> findQueuedSlips(List<EmployeePayroll> payrolls) {
+        List<UUID> payrollIds = payrolls.stream().map(EmployeePayroll::getPayRollId).toList();
+        if (payrollIds.isEmpty()) {
+            return Set.of();
+        }
+        return salarySlipDeliveryRepository.findPayrollIdsWithStatusIn(payrollIds,
+                List.of(DeliveryStatus.PENDING, DeliveryStatus.IN_PROGRESS));
+    }
+
+    private SalarySlipDelivery createSlipDelivery(EmployeePayroll payroll, Company company) {
+        Employee employee = payroll.getEmployee();
+        Month month = Month.of(payroll.getMonth());
+
+        SalarySlipDelivery delivery = new SalarySlipDelivery();
+        delivery.setPayroll(payroll);
+        delivery.setRecipientEmail(employee.getEmail());
+        delivery.setSubject(company.getName() + " - Salary Slip for " + month + " " + payroll.getYear());
+        delivery.setMode(salarySlipLinks.mode());
+        if (delivery.getMode() == SalarySlipDeliveryMode.LINK) {
+            // The link is signed when the email goes out, so it is valid from the day it arrives
+            delivery.setBody("Dear " + employee.getName() + ",<br><br>Your salary slip for the month of <strong>" + month + " " + payroll.getYear() + "</strong> is ready. <a href=\"" + SalarySlipLinks.PLACEHOLDER + "\">Download your salary slip</a>; the link is valid for " + salarySlipLinks.validity() + ".<br><br>Regards,<br>" + company.getName() + " HR Team");
+        } else {
+            delivery.setBody("Dear " + employee.getName() + ",<br><br>Please find your salary slip attached for the month of <strong>" + month + " " + payroll.getYear() + "</strong>.<br><br>Regards,<br>" + company.getName() + " HR Team");
+        }
+        delivery.setFileName(String.format("Salary_Slip_%s_%s_%d.pdf", employee.getEmpCode(), month, payroll.getYear()));
+        // Held back until the company's pay day, if it has one
+        delivery.setNextAttemptAt(PayrollCalendar.payDate(company, YearMonth.of(payroll.getYear(), payroll.getMonth())));
+        return delivery;
+    }
+
+    /**
+     * Structures calculated with the active configuration reuse their stored components and
+     * only get this month's Professional Tax. The rest of the checkpoint is calculated as one
+     * columnar batch. An employee whose amounts cannot be held in paise is left out of the batch
+     * and calculated on their own.
+     *
+     * @return the amounts of each pending payroll, in order, or null where they still have to be
+     * calculated individually
+     */
+    private PayrollAmounts[] calculatePayrolls(List<PendingPayroll> pending, PayrollCalculator calculator, int month) {
+        PayrollAmounts[] calculated = new PayrollAmounts[pending.size()];
+        List<Integer> batched = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            PendingPayroll entry = pending.get(i);
+            EmployeeSalaryStructure structure = entry.item().structure();
+            PayrollAmounts stored = calculator.getConfigurationId().equals(structure.getCalculatedConfigurationId())
+                    ? PayrollAmounts.of(structure) : null;
+            if (stored == null) {
+                batched.add(i);
+                continue;
+            }
+            calculated[i] = calculator.forMonth(stored, entry.item().employee().getGender(), month);
+        }
+        if (batched.isEmpty()) {
+            return calculated;
+        }
+
+        PayrollBatch batch = new PayrollBatch(batched.size(), month);
+        List<Integer> rows = new ArrayList<>(batched.size());
+        for (int i : batched) {
+            PendingPayroll entry = pending.get(i);
+            Employee employee = entry.item().employee();
+            EmployeeSalaryStructure structure = entry.item().structure();
+            try {
+                batch.add(structure.getBasicSalary(), structure.getSpecialAllowance(), structure.getBonusAmount(),
+                        employee.getGender());
+                rows.add(i);
+            } catch (ArithmeticException e) {
+                log.warn("Salary structure of employee: {} ({}) cannot be held in paise, calculating it individually: {}",
+                        employee.getName(), employee.getEmpCode(), e.getMessage());
+            }
+        }
+
+        try {
+            calculator.calculate(batch);
+        } catch (ArithmeticException e) {
+            log.warn("Checkpoint results cannot be held in paise, calculating {} employees individually", rows.size(), e);
+            return calculated;
+        }
+        for (int row = 0; row < batch.size(); row++) {
+            calculated[rows.get(row)] = batch.amounts(row);
+        }
+        return calculated;
+    }
+
+    private EmployeePayroll newPayroll(Employee employee, Company company, int month, int year) {
+        EmployeePayroll payroll = new EmployeePayroll();
+        payroll.setCompany(company);
+        payroll.setEmployee(employee);
+        payroll.setMonth(month);
+        payroll.setYear(year);
+        payroll.setGeneratedAt(LocalDateTime.now());
+        return payroll;
+    }
+
+    // The payroll a work item is calculated into: a new one, or an existing one being regenerated.
+    // Existing payrolls are managed, so nothing is written to them until the amounts are known.
+    private record PendingPayroll(PayrollWorkItem item, EmployeePayroll payroll, String fingerprint) {
+
+        EmployeePayroll apply(PayrollAmounts amounts) {
+            amounts.applyTo(payroll);
+            payroll.setFingerprint(fingerprint);
+            // The stored slip shows the old amounts
+            payroll.setSlipHash(null);
+            payroll.setGeneratedAt(LocalDateTime.now());
+            return payroll;
+        }
+    }
+}
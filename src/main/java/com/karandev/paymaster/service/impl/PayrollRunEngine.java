@@ -0,0 +1,144 @@
+package com.karandev.paymaster.service.impl;
+
+import com.karandev.paymaster.entity.PayrollRun;
+import com.karandev.paymaster.entity.PayrollRunMode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executes payroll runs recorded in the {@link PayrollRunLedger} one after another: partitions
+ * of a run execute concurrently on a bounded pool and advance checkpoint by checkpoint, so an
+ * interrupted run is resumed from the last committed cursor of each partition rather than
+ * rescanned.
+ */
+@Service
+public class PayrollRunEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollRunEngine.class);
+
+    private final PayrollRunLedger ledger;
+    private final PayrollPartitionProcessor partitionProcessor;
+    private final int chunkSize;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("payroll-run-coordinator-"));
+    private final AtomicReference<UUID> activeRun = new AtomicReference<>();
+
+    public PayrollRunEngine(PayrollRunLedger ledger,
+                            PayrollPartitionProcessor partitionProcessor,
+                            @Value("${app.payroll.run.parallelism:4}") int parallelism,
+                            @Value("${app.payroll.run.queue-capacity:100}") int queueCapacity,
+                            @Value("${app.payroll.run.chunk-size:500}") int chunkSize) {
+        this.ledger = ledger;
+        this.partitionProcessor = partitionProcessor;
+        this.chunkSize = chunkSize;
+        // Callers run the partition themselves once the queue is full, which throttles
+        // submission instead of dropping work.
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("payroll-run-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Plans runs for every company whose cut-off has passed and queues them for execution.
+     */
+    public void runDue(LocalDateTime now) {
+        for (UUID runId : ledger.planDueRuns(now, chunkSize)) {
+            coordinator.execute(() -> execute(runId));
+        }
+    }
+
+    /**
+     * Brings companies without a pay calendar onto it and resumes runs the previous instance
+     * left unfinished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        ledger.initialiseCalendars(YearMonth.now());
+
+        for (UUID runId : ledger.findInterruptedRunIds()) {
+            log.info("Resuming interrupted payroll run {}", runId);
+            coordinator.execute(() -> execute(runId));
+        }
+    }
+
+    /**
+     * Plans a fresh run for month/year and executes it in the background.
+     */
+    public UUID startAsync(int month, int year, PayrollRunMode mode) {
+        UUID runId = ledger.planRun(month, year, mode, chunkSize).getRunId();
+        coordinator.execute(() -> execute(runId));
+        return runId;
+    }
+
+    /**
+     * Continues an existing run from its committed checkpoints in the background.
+     */
+    public void resumeAsync(UUID runId) {
+        coordinator.execute(() -> execute(runId));
+    }
+
+    public boolean isActive(UUID runId) {
+        return runId.equals(activeRun.get());
+    }
+
+    // Always called on the single coordinator thread, so runs never overlap
+    private void execute(UUID runId) {
+        activeRun.set(runId);
+        try {
+            List<UUID> partitionIds = ledger.startRun(runId);
+            log.info("Payroll run {} executing {} unfinished partitions", runId, partitionIds.size());
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>(partitionIds.size());
+            for (UUID partitionId : partitionIds) {
+                futures.add(CompletableFuture
+                        .runAsync(() -> processPartition(partitionId), executor)
+                        .exceptionally(ex -> {
+                            log.error("Payroll partition {} of run {} failed", partitionId, runId, ex);
+                            ledger.failPartition(partitionId, ex.getCause() != null ? ex.getCause() : ex);
+                            return null;
+                        }));
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            PayrollRun run = ledger.finishRun(runId);
+            log.info("Payroll run {} for {}/{} finished with status {}", runId, run.getMonth(), run.getYear(), run.getStatus());
+        } finally {
+            activeRun.set(null);
+        }
+    }
+
+    private void processPartition(UUID partitionId) {
+        boolean finished;
+        do {
+            finished = partitionProcessor.processCheckpoint(partitionId);
+        } while (!finished);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdown();
+        executor.shutdown();
+    }
+}
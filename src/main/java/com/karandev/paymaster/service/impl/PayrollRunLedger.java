@@ -0,0 +1,176 @@
+package com.karandev.paymaster.service.impl;
+
+import com.karandev.paymaster.entity.*;
+import com.karandev.paymaster.exception.PayrollRunNotFoundException;
+import com.karandev.paymaster.helper.PayrollCalendar;
+import com.karandev.paymaster.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Persists the state of payroll runs: plans their partitions and records run and partition
+ * transitions, each in its own short transaction.
+ */
+@Service
+public class PayrollRunLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollRunLedger.class);
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollRunPartitionRepository partitionRepository;
+    private final CompanyRepository companyRepository;
+    private final PayrollConfigurationRepository payrollConfigurationRepository;
+    private final EmployeeRepository employeeRepository;
+
+    public PayrollRunLedger(PayrollRunRepository payrollRunRepository,
+                            PayrollRunPartitionRepository partitionRepository,
+                            CompanyRepository companyRepository,
+                            PayrollConfigurationRepository payrollConfigurationRepository,
+                            EmployeeRepository employeeRepository) {
+        this.payrollRunRepository = payrollRunRepository;
+        this.partitionRepository = partitionRepository;
+        this.companyRepository = companyRepository;
+        this.payrollConfigurationRepository = payrollConfigurationRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Creates a run for month/year over all companies.
+     */
+    @Transactional
+    public PayrollRun planRun(int month, int year, PayrollRunMode mode, int chunkSize) {
+        return planRun(month, year, mode, companyRepository.findAll(), chunkSize);
+    }
+
+    /**
+     * Creates one run per payroll month for the companies whose cut-off has passed, and moves
+     * each of them on to next month's cut-off in the same transaction.
+     */
+    @Transactional
+    public List<UUID> planDueRuns(LocalDateTime now, int chunkSize) {
+        Map<YearMonth, List<Company>> dueByPeriod = new TreeMap<>();
+        for (Company company : companyRepository.findByNextPayrollRunAtLessThanEqual(now)) {
+            YearMonth period = PayrollCalendar.period(company.getNextPayrollRunAt());
+            dueByPeriod.computeIfAbsent(period, key -> new ArrayList<>()).add(company);
+            company.setNextPayrollRunAt(PayrollCalendar.cutoff(company, period.plusMonths(1)));
+        }
+
+        List<UUID> runIds = new ArrayList<>();
+        dueByPeriod.forEach((period, companies) ->
+                runIds.add(planRun(period.getMonthValue(), period.getYear(), PayrollRunMode.GENERATE, companies, chunkSize).getRunId()));
+        return runIds;
+    }
+
+    /**
+     * Puts companies that predate the pay calendar on it, due at the current month's cut-off.
+     */
+    @Transactional
+    public void initialiseCalendars(YearMonth period) {
+        int updated = companyRepository.initialiseNextPayrollRunAt(PayrollCalendar.defaultCutoff(period));
+        if (updated > 0) {
+            log.info("Scheduled {} companies without a pay calendar for {}", updated, period);
+        }
+    }
+
+    /**
+     * Runs that were planned or running when the application last stopped.
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> findInterruptedRunIds() {
+        return payrollRunRepository.findByStatusIn(List.of(PayrollRunStatus.PENDING, PayrollRunStatus.RUNNING))
+                .stream()
+                .map(PayrollRun::getRunId)
+                .toList();
+    }
+
+    private PayrollRun planRun(int month, int year, PayrollRunMode mode, List<Company> companies, int chunkSize) {
+        PayrollRun run = new PayrollRun();
+        run.setMonth(month);
+        run.setYear(year);
+        run.setMode(mode);
+
+        int chunkIndex = 0;
+        for (Company company : companies) {
+            UUID companyId = company.getCompanyId();
+
+            PayrollConfiguration config = payrollConfigurationRepository
+                    .findByCompany_CompanyIdAndIsActiveTrue(companyId)
+                    .orElse(null);
+
+            if (config == null) {
+                log.warn("No active payroll configuration found for company: {}", company.getName());
+                continue;
+            }
+
+            List<UUID> employeeIds = employeeRepository.findEmployeeIdsByCompanyId(companyId);
+            for (int from = 0; from < employeeIds.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, employeeIds.size());
+
+                PayrollRunPartition partition = new PayrollRunPartition();
+                partition.setRun(run);
+                partition.setCompany(company);
+                partition.setPayrollConfigurationId(config.getPayrollConfigurationId());
+                partition.setChunkIndex(chunkIndex++);
+                // Open bounds on both ends so employees added after planning are still covered
+                partition.setLowerBoundEmployeeId(from == 0 ? null : employeeIds.get(from - 1));
+                partition.setUpperBoundEmployeeId(to == employeeIds.size() ? null : employeeIds.get(to - 1));
+                partition.setPlannedEmployees(to - from);
+                run.getPartitions().add(partition);
+            }
+        }
+
+        PayrollRun saved = payrollRunRepository.save(run);
+        log.info("Payroll run {} ({}) planned for {}/{} with {} partitions", saved.getRunId(), mode, month, year, chunkIndex);
+        return saved;
+    }
+
+    /**
+     * Marks the run as running and returns the partitions that still have work left.
+     */
+    @Transactional
+    public List<UUID> startRun(UUID runId) {
+        PayrollRun run = payrollRunRepository.findById(runId)
+                .orElseThrow(() -> new PayrollRunNotFoundException(runId));
+
+        run.setStatus(PayrollRunStatus.RUNNING);
+        if (run.getStartedAt() == null) {
+            run.setStartedAt(LocalDateTime.now());
+        }
+        run.setCompletedAt(null);
+
+        return partitionRepository.findUnfinishedPartitionIds(runId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void failPartition(UUID partitionId, Throwable cause) {
+        partitionRepository.findById(partitionId).ifPresent(partition -> {
+            partition.setStatus(PayrollRunStatus.FAILED);
+            String message = String.valueOf(cause.getMessage());
+            partition.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        });
+    }
+
+    @Transactional
+    public PayrollRun finishRun(UUID runId) {
+        PayrollRun run = payrollRunRepository.findById(runId)
+                .orElseThrow(() -> new PayrollRunNotFoundException(runId));
+
+        boolean allCompleted = run.getPartitions().stream()
+                .allMatch(partition -> partition.getStatus() == PayrollRunStatus.COMPLETED);
+
+        run.setStatus(allCompleted ? PayrollRunStatus.COMPLETED : PayrollRunStatus.FAILED);
+        run.setCompletedAt(LocalDateTime.now());
+        return run;
+    }
+}
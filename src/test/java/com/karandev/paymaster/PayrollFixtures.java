@@ -0,0 +1,139 @@
+package com.karandev.paymaster;
+
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.entity.EmployeeSalaryStructure;
+import com.karandev.paymaster.entity.Gender;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+import com.karandev.paymaster.entity.SalarySlipDelivery;
+import com.karandev.paymaster.repository.CompanyRepository;
+import com.karandev.paymaster.repository.EmployeePayrollRepository;
+import com.karandev.paymaster.repository.EmployeeRepository;
+import com.karandev.paymaster.repository.EmployeeSalaryStructureRepository;
+import com.karandev.paymaster.repository.InvitationDeliveryRepository;
+import com.karandev.paymaster.repository.PayrollConfigurationRepository;
+import com.karandev.paymaster.repository.PayrollRunRepository;
+import com.karandev.paymaster.repository.SalarySlipDeadLetterRepository;
+import com.karandev.paymaster.repository.SalarySlipDeliveryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Companies, employees and payrolls for tests running against the {@code h2} profile. Every test
+ * starts from an empty database by calling {@link #clear()}.
+ */
+@TestComponent
+public class PayrollFixtures {
+
+	@Autowired CompanyRepository companyRepository;
+	@Autowired PayrollConfigurationRepository configurationRepository;
+	@Autowired EmployeeRepository employeeRepository;
+	@Autowired EmployeeSalaryStructureRepository structureRepository;
+	@Autowired EmployeePayrollRepository payrollRepository;
+	@Autowired PayrollRunRepository runRepository;
+	@Autowired SalarySlipDeliveryRepository deliveryRepository;
+	@Autowired SalarySlipDeadLetterRepository deadLetterRepository;
+	@Autowired InvitationDeliveryRepository invitationRepository;
+
+	public void clear() {
+		deadLetterRepository.deleteAllInBatch();
+		deliveryRepository.deleteAllInBatch();
+		payrollRepository.deleteAllInBatch();
+		// Partitions go with their runs
+		runRepository.deleteAll();
+		invitationRepository.deleteAllInBatch();
+		structureRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+		configurationRepository.deleteAllInBatch();
+		companyRepository.deleteAllInBatch();
+	}
+
+	public Company company() {
+		Company company = new Company();
+		company.setName("Test Company");
+		company.setAddress("1 Test Street");
+		company.setState("MH");
+		return companyRepository.save(company);
+	}
+
+	public PayrollConfiguration configuration(Company company) {
+		PayrollConfiguration configuration = new PayrollConfiguration();
+		configuration.setCompany(company);
+		configuration.setHraPercentage(new BigDecimal("40"));
+		configuration.setPfEmployeePercentage(new BigDecimal("12"));
+		configuration.setPfEmployerPercentage(new BigDecimal("12"));
+		configuration.setTaxSlab1Limit(new BigDecimal("300000"));
+		configuration.setTaxSlab1Rate(BigDecimal.ZERO);
+		configuration.setTaxSlab2Limit(new BigDecimal("700000"));
+		configuration.setTaxSlab2Rate(new BigDecimal("5"));
+		configuration.setTaxSlab3Rate(new BigDecimal("20"));
+		return configurationRepository.save(configuration);
+	}
+
+	/**
+	 * Employees with a salary structure each.
+	 */
+	public List<Employee> employees(Company company, int count) {
+		List<Employee> staff = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Employee employee = new Employee();
+			employee.setCompany(company);
+			employee.setEmpCode(String.format("E%05d", i));
+			employee.setName("Employee " + i);
+			employee.setEmail("employee" + i + "@example.com");
+			employee.setGender(i % 2 == 0 ? Gender.MALE : Gender.FEMALE);
+			staff.add(employee);
+		}
+		staff = employeeRepository.saveAll(staff);
+
+		List<EmployeeSalaryStructure> structures = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			EmployeeSalaryStructure structure = new EmployeeSalaryStructure();
+			structure.setCompany(company);
+			structure.setEmployee(staff.get(i));
+			structure.setBasicSalary(new BigDecimal(20000 + (i % 50) * 1000));
+			structures.add(structure);
+		}
+		structureRepository.saveAll(structures);
+
+		return staff;
+	}
+
+	public EmployeePayroll payroll(Employee employee, int month, int year) {
+		EmployeePayroll payroll = new EmployeePayroll();
+		payroll.setCompany(employee.getCompany());
+		payroll.setEmployee(employee);
+		payroll.setMonth(month);
+		payroll.setYear(year);
+		payroll.setBasicSalary(new BigDecimal("30000.00"));
+		payroll.setHra(new BigDecimal("12000.00"));
+		payroll.setConveyance(BigDecimal.ZERO);
+		payroll.setMedicalAllowance(BigDecimal.ZERO);
+		payroll.setSpecialAllowance(BigDecimal.ZERO);
+		payroll.setBonusAmount(BigDecimal.ZERO);
+		payroll.setGrossSalary(new BigDecimal("42000.00"));
+		payroll.setPfEmployeeAmount(new BigDecimal("3600.00"));
+		payroll.setPfEmployerAmount(new BigDecimal("3600.00"));
+		payroll.setEsiEmployeeAmount(BigDecimal.ZERO);
+		payroll.setEsiEmployerAmount(BigDecimal.ZERO);
+		payroll.setProfessionalTaxAmount(new BigDecimal("200.00"));
+		payroll.setIncomeTaxAmount(new BigDecimal("1000.00"));
+		payroll.setNetSalary(new BigDecimal("37200.00"));
+		return payrollRepository.save(payroll);
+	}
+
+	public SalarySlipDelivery delivery(EmployeePayroll payroll) {
+		SalarySlipDelivery delivery = new SalarySlipDelivery();
+		delivery.setPayroll(payroll);
+		delivery.setRecipientEmail(payroll.getEmployee().getEmail());
+		delivery.setSubject("Salary Slip");
+		delivery.setBody("Your salary slip is attached.");
+		delivery.setFileName("Salary_Slip.pdf");
+		return deliveryRepository.save(delivery);
+	}
+}
@@ -0,0 +1,230 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.Gender;
+import com.karandev.paymaster.entity.IncomeTaxSlab;
+import com.karandev.paymaster.entity.IncomeTaxSlabType;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential test: the fixed-point engine must produce the same rupee amounts as the decimal
+ * engine for any configuration and salary structure expressible in paise.
+ */
+class FixedPointPayrollCalculatorTest {
+
+	private static final int EMPLOYEES_PER_CONFIGURATION = 2_000;
+	private static final ProfessionalTaxRules PROFESSIONAL_TAX_RULES =
+			new ProfessionalTaxRules(new ClassPathResource("professional-tax-rules.json"));
+	private static final String[] STATES = {"MH", "KA", "WB", "GJ", "TS"};
+	private static final ProfessionalTaxTable MAHARASHTRA = PROFESSIONAL_TAX_RULES.forState("MH");
+
+	@RepeatedTest(50)
+	void matchesDecimalEngineOnRandomInputs(RepetitionInfo repetition) {
+		Random random = new Random(repetition.getCurrentRepetition());
+		PayrollConfiguration config = randomConfiguration(random);
+		ProfessionalTaxTable professionalTax = PROFESSIONAL_TAX_RULES.forState(STATES[random.nextInt(STATES.length)]);
+
+		DecimalPayrollCalculator decimal = DecimalPayrollCalculator.compile(config, professionalTax);
+		FixedPointPayrollCalculator fixedPoint = FixedPointPayrollCalculator.compile(config, professionalTax);
+		assertThat(fixedPoint).isNotNull();
+
+		for (int i = 0; i < EMPLOYEES_PER_CONFIGURATION; i++) {
+			BigDecimal basic = randomAmount(random, 2_00_000);
+			BigDecimal special = random.nextInt(4) == 0 ? null : randomAmount(random, 50_000);
+			BigDecimal bonus = random.nextInt(3) == 0 ? null : randomAmount(random, 20_000);
+			Gender gender = Gender.values()[random.nextInt(Gender.values().length)];
+			int month = 1 + random.nextInt(12);
+
+			assertSameAmounts(decimal.calculate(basic, special, bonus, gender, month),
+					fixedPoint.calculate(basic, special, bonus, gender, month));
+		}
+	}
+
+	@RepeatedTest(20)
+	void batchMatchesDecimalEngineOnRandomInputs(RepetitionInfo repetition) {
+		Random random = new Random(1_000 + repetition.getCurrentRepetition());
+		PayrollConfiguration config = randomConfiguration(random);
+		ProfessionalTaxTable professionalTax = PROFESSIONAL_TAX_RULES.forState(STATES[random.nextInt(STATES.length)]);
+		DecimalPayrollCalculator decimal = DecimalPayrollCalculator.compile(config, professionalTax);
+		FixedPointPayrollCalculator fixedPoint = FixedPointPayrollCalculator.compile(config, professionalTax);
+		int month = 1 + random.nextInt(12);
+
+		PayrollBatch batch = new PayrollBatch(EMPLOYEES_PER_CONFIGURATION, month);
+		PayrollAmounts[] expected = new PayrollAmounts[EMPLOYEES_PER_CONFIGURATION];
+		for (int i = 0; i < EMPLOYEES_PER_CONFIGURATION; i++) {
+			BigDecimal basic = randomAmount(random, 2_00_000);
+			BigDecimal special = random.nextInt(4) == 0 ? null : randomAmount(random, 50_000);
+			BigDecimal bonus = random.nextInt(3) == 0 ? null : randomAmount(random, 20_000);
+			Gender gender = random.nextBoolean() ? Gender.FEMALE : Gender.MALE;
+
+			batch.add(basic, special, bonus, gender);
+			expected[i] = decimal.calculate(basic, special, bonus, gender, month);
+		}
+
+		fixedPoint.calculate(batch);
+
+		for (int i = 0; i < EMPLOYEES_PER_CONFIGURATION; i++) {
+			assertSameAmounts(expected[i], batch.amounts(i));
+		}
+	}
+
+	@Test
+	void matchesDecimalEngineAtThresholds() {
+		PayrollConfiguration config = configuration();
+		config.setEsiApplicable(true);
+		DecimalPayrollCalculator decimal = DecimalPayrollCalculator.compile(config, MAHARASHTRA);
+		FixedPointPayrollCalculator fixedPoint = FixedPointPayrollCalculator.compile(config, MAHARASHTRA);
+
+		// ESI limit, PT slabs and the first tax slab boundary (2.5L / 12 = 20833.33)
+		String[] grossBoundaries = {"7500", "7500.01", "10000", "10000.01", "20833.33", "20833.34",
+				"21000", "21000.01", "25000", "25000.01"};
+		for (String boundary : grossBoundaries) {
+			BigDecimal basic = new BigDecimal(boundary);
+			for (Gender gender : Gender.values()) {
+				for (int month = 1; month <= 12; month++) {
+					assertSameAmounts(decimal.calculate(basic, null, null, gender, month),
+							fixedPoint.calculate(basic, null, null, gender, month));
+				}
+			}
+		}
+	}
+
+	@Test
+	void fallsBackToDecimalEngineForSubPaisaInputs() {
+		PayrollConfiguration config = configuration();
+		DecimalPayrollCalculator decimal = DecimalPayrollCalculator.compile(config, MAHARASHTRA);
+		FixedPointPayrollCalculator fixedPoint = FixedPointPayrollCalculator.compile(config, MAHARASHTRA);
+
+		BigDecimal basic = new BigDecimal("33333.333");
+		assertSameAmounts(decimal.calculate(basic, null, null, Gender.MALE, 2),
+				fixedPoint.calculate(basic, null, null, Gender.MALE, 2));
+	}
+
+	@Test
+	void rejectsConfigurationsNotRepresentableInPaise() {
+		PayrollConfiguration config = configuration();
+		config.setHraPercentage(new BigDecimal("33.333"));
+
+		assertThat(FixedPointPayrollCalculator.compile(config, MAHARASHTRA)).isNull();
+	}
+
+	@Test
+	void calculatesPrimitivePaiseColumns() {
+		FixedPointPayrollCalculator fixedPoint = FixedPointPayrollCalculator.compile(configuration(), MAHARASHTRA);
+		long[] out = new long[FixedPointPayrollCalculator.OUTPUT_SIZE];
+
+		fixedPoint.calculate(50_000_00, 10_000_00, 0, false, 2, out);
+
+		assertThat(out[FixedPointPayrollCalculator.HRA]).isEqualTo(20_000_00);
+		assertThat(out[FixedPointPayrollCalculator.GROSS]).isEqualTo(80_000_00);
+		assertThat(out[FixedPointPayrollCalculator.PF_EMPLOYEE]).isEqualTo(6_000_00);
+		assertThat(out[FixedPointPayrollCalculator.PROFESSIONAL_TAX]).isEqualTo(300_00);
+		assertThat(out[FixedPointPayrollCalculator.NET]).isEqualTo(80_000_00 - 6_000_00 - 300_00
+				- out[FixedPointPayrollCalculator.INCOME_TAX]);
+	}
+
+	private static void assertSameAmounts(PayrollAmounts expected, PayrollAmounts actual) {
+		assertThat(actual.basicSalary()).isEqualByComparingTo(expected.basicSalary());
+		assertThat(actual.hra()).isEqualByComparingTo(expected.hra());
+		assertThat(actual.conveyance()).isEqualByComparingTo(expected.conveyance());
+		assertThat(actual.medicalAllowance()).isEqualByComparingTo(expected.medicalAllowance());
+		assertThat(actual.specialAllowance()).isEqualByComparingTo(expected.specialAllowance());
+		assertThat(actual.bonusAmount()).isEqualByComparingTo(expected.bonusAmount());
+		assertThat(actual.grossSalary()).isEqualByComparingTo(expected.grossSalary());
+		assertThat(actual.pfEmployee()).isEqualByComparingTo(expected.pfEmployee());
+		assertThat(actual.pfEmployer()).isEqualByComparingTo(expected.pfEmployer());
+		assertThat(actual.esiEmployee()).isEqualByComparingTo(expected.esiEmployee());
+		assertThat(actual.esiEmployer()).isEqualByComparingTo(expected.esiEmployer());
+		assertThat(actual.professionalTax()).isEqualByComparingTo(expected.professionalTax());
+		assertThat(actual.incomeTax()).isEqualByComparingTo(expected.incomeTax());
+		assertThat(actual.netSalary()).isEqualByComparingTo(expected.netSalary());
+	}
+
+	private static PayrollConfiguration configuration() {
+		PayrollConfiguration config = new PayrollConfiguration();
+		config.setPayrollConfigurationId(UUID.randomUUID());
+		config.setHraApplicable(true);
+		config.setHraPercentage(new BigDecimal("40"));
+		config.setPfApplicable(true);
+		config.setPfEmployeePercentage(new BigDecimal("12"));
+		config.setPfEmployerPercentage(new BigDecimal("12"));
+		config.setTaxSlab1Limit(new BigDecimal("250000"));
+		config.setTaxSlab1Rate(BigDecimal.ZERO);
+		config.setTaxSlab2Limit(new BigDecimal("500000"));
+		config.setTaxSlab2Rate(new BigDecimal("5"));
+		config.setTaxSlab3Limit(new BigDecimal("1000000"));
+		config.setTaxSlab3Rate(new BigDecimal("20"));
+		return config;
+	}
+
+	private static PayrollConfiguration randomConfiguration(Random random) {
+		PayrollConfiguration config = new PayrollConfiguration();
+		config.setPayrollConfigurationId(UUID.randomUUID());
+		config.setHraApplicable(random.nextBoolean());
+		config.setHraPercentage(nullable(random, randomRate(random)));
+		config.setConveyanceApplicable(random.nextBoolean());
+		config.setConveyanceAmount(nullable(random, randomAmount(random, 5_000)));
+		config.setMedicalApplicable(random.nextBoolean());
+		config.setMedicalAllowanceAmount(nullable(random, randomAmount(random, 5_000)));
+		config.setPfApplicable(random.nextBoolean());
+		config.setPfEmployeePercentage(nullable(random, randomRate(random)));
+		config.setPfEmployerPercentage(nullable(random, randomRate(random)));
+		config.setEsiApplicable(random.nextBoolean());
+		config.setEsiEmployeePercentage(nullable(random, randomRate(random)));
+		config.setEsiEmployerPercentage(nullable(random, randomRate(random)));
+
+		BigDecimal slab1 = randomAmount(random, 5_00_000);
+		config.setTaxSlab1Limit(nullable(random, slab1));
+		config.setTaxSlab1Rate(nullable(random, randomRate(random)));
+		config.setTaxSlab2Limit(nullable(random, slab1.add(randomAmount(random, 10_00_000))));
+		config.setTaxSlab2Rate(nullable(random, randomRate(random)));
+		config.setTaxSlab3Rate(nullable(random, randomRate(random)));
+
+		// Half of the configurations use an N-slab table, some with surcharge and cess
+		if (random.nextBoolean()) {
+			BigDecimal from = BigDecimal.ZERO;
+			for (int slabs = 1 + random.nextInt(8); slabs > 0; slabs--) {
+				config.getIncomeTaxSlabs().add(slab(IncomeTaxSlabType.TAX, from, randomRate(random)));
+				from = from.add(randomAmount(random, 5_00_000)).add(BigDecimal.ONE);
+			}
+			if (random.nextBoolean()) {
+				config.getIncomeTaxSlabs().add(slab(IncomeTaxSlabType.SURCHARGE, randomAmount(random, 10_00_000), randomRate(random)));
+				config.getIncomeTaxSlabs().add(slab(IncomeTaxSlabType.SURCHARGE, randomAmount(random, 50_00_000).add(new BigDecimal("1000001")), randomRate(random)));
+			}
+			config.setTaxCessPercentage(nullable(random, randomRate(random)));
+		}
+		return config;
+	}
+
+	private static IncomeTaxSlab slab(IncomeTaxSlabType type, BigDecimal fromAmount, BigDecimal rate) {
+		IncomeTaxSlab slab = new IncomeTaxSlab();
+		slab.setType(type);
+		slab.setFromAmount(fromAmount);
+		slab.setRate(rate);
+		return slab;
+	}
+
+	// Up to two decimal places, like the DECIMAL(19,2) columns they come from
+	private static BigDecimal randomAmount(Random random, int maxRupees) {
+		return random.nextInt(3) == 0
+				? BigDecimal.valueOf(random.nextInt(maxRupees + 1))
+				: BigDecimal.valueOf(random.nextLong(maxRupees * 100L + 1), 2);
+	}
+
+	private static BigDecimal randomRate(Random random) {
+		return BigDecimal.valueOf(random.nextInt(100_01), 2);
+	}
+
+	private static BigDecimal nullable(Random random, BigDecimal value) {
+		return random.nextInt(5) == 0 ? null : value;
+	}
+}
@@ -0,0 +1,107 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.IncomeTaxSlab;
+import com.karandev.paymaster.entity.IncomeTaxSlabType;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncomeTaxTableTest {
+
+	@Test
+	void calculatesNewRegimeSlabsWithSurchargeAndCess() {
+		PayrollConfiguration config = new PayrollConfiguration();
+		slab(config, IncomeTaxSlabType.TAX, "0", "0");
+		slab(config, IncomeTaxSlabType.TAX, "400000", "5");
+		slab(config, IncomeTaxSlabType.TAX, "800000", "10");
+		slab(config, IncomeTaxSlabType.TAX, "1200000", "15");
+		slab(config, IncomeTaxSlabType.TAX, "1600000", "20");
+		slab(config, IncomeTaxSlabType.TAX, "2000000", "25");
+		slab(config, IncomeTaxSlabType.TAX, "2400000", "30");
+		slab(config, IncomeTaxSlabType.SURCHARGE, "5000000", "10");
+		slab(config, IncomeTaxSlabType.SURCHARGE, "10000000", "15");
+		config.setTaxCessPercentage(new BigDecimal("4"));
+
+		IncomeTaxTable table = IncomeTaxTable.compile(config);
+
+		assertThat(table.annualTax(new BigDecimal("400000"))).isEqualByComparingTo("0");
+		// 20,000 + 20,000, plus 4% cess
+		assertThat(table.annualTax(new BigDecimal("1000000"))).isEqualByComparingTo("41600");
+		// 3,00,000 + 30% of 36L = 13,80,000; +10% surcharge; +4% cess
+		assertThat(table.annualTax(new BigDecimal("6000000"))).isEqualByComparingTo("1578720");
+	}
+
+	@Test
+	void matchesLegacyThreeSlabCalculation() {
+		Random random = new Random(7);
+		for (int i = 0; i < 10_000; i++) {
+			BigDecimal slab1Limit = BigDecimal.valueOf(random.nextInt(5_00_000));
+			BigDecimal slab2Limit = slab1Limit.add(BigDecimal.valueOf(random.nextInt(10_00_000)));
+			BigDecimal[] rates = {BigDecimal.valueOf(random.nextInt(100_01), 2),
+					BigDecimal.valueOf(random.nextInt(100_01), 2), BigDecimal.valueOf(random.nextInt(100_01), 2)};
+
+			PayrollConfiguration config = new PayrollConfiguration();
+			config.setTaxSlab1Limit(slab1Limit);
+			config.setTaxSlab1Rate(rates[0]);
+			config.setTaxSlab2Limit(slab2Limit);
+			config.setTaxSlab2Rate(rates[1]);
+			config.setTaxSlab3Limit(slab2Limit.add(BigDecimal.ONE));
+			config.setTaxSlab3Rate(rates[2]);
+
+			BigDecimal income = BigDecimal.valueOf(random.nextLong(30_00_000_00L), 2);
+			assertThat(IncomeTaxTable.compile(config).annualTax(income))
+					.isEqualByComparingTo(legacyTax(income, slab1Limit, slab2Limit, rates));
+		}
+	}
+
+	@Test
+	void hasNoTableWithoutSlabs() {
+		assertThat(IncomeTaxTable.compile(new PayrollConfiguration())).isNull();
+	}
+
+	@Test
+	void rejectsInconsistentSlabs() {
+		PayrollConfiguration notFromZero = new PayrollConfiguration();
+		slab(notFromZero, IncomeTaxSlabType.TAX, "250000", "5");
+		assertThatThrownBy(() -> IncomeTaxTable.compile(notFromZero)).isInstanceOf(IllegalArgumentException.class);
+
+		PayrollConfiguration duplicate = new PayrollConfiguration();
+		slab(duplicate, IncomeTaxSlabType.TAX, "0", "0");
+		slab(duplicate, IncomeTaxSlabType.TAX, "0", "5");
+		assertThatThrownBy(() -> IncomeTaxTable.compile(duplicate)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// The three-slab walk the monthly run used before slab tables
+	private static BigDecimal legacyTax(BigDecimal income, BigDecimal slab1Limit, BigDecimal slab2Limit, BigDecimal[] rates) {
+		if (income.compareTo(slab1Limit) <= 0) {
+			return percentOf(income, rates[0]);
+		}
+		BigDecimal tax = percentOf(slab1Limit, rates[0]);
+		BigDecimal remaining = income.subtract(slab1Limit);
+		BigDecimal slab2Width = slab2Limit.subtract(slab1Limit);
+		if (remaining.compareTo(slab2Width) <= 0) {
+			return tax.add(percentOf(remaining, rates[1]));
+		}
+		tax = tax.add(percentOf(slab2Width, rates[1]));
+		return tax.add(percentOf(remaining.subtract(slab2Width), rates[2]));
+	}
+
+	private static BigDecimal percentOf(BigDecimal amount, BigDecimal rate) {
+		return amount.multiply(rate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+	}
+
+	private static void slab(PayrollConfiguration config, IncomeTaxSlabType type, String fromAmount, String rate) {
+		IncomeTaxSlab slab = new IncomeTaxSlab();
+		slab.setPayrollConfiguration(config);
+		slab.setType(type);
+		slab.setFromAmount(new BigDecimal(fromAmount));
+		slab.setRate(new BigDecimal(rate));
+		config.getIncomeTaxSlabs().add(slab);
+	}
+}
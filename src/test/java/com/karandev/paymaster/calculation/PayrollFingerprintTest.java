@@ -0,0 +1,102 @@
+package com.karandev.paymaster.calculation;
+
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.EmployeeSalaryStructure;
+import com.karandev.paymaster.entity.EmployeeStatus;
+import com.karandev.paymaster.entity.Gender;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayrollFingerprintTest {
+
+	private static final ProfessionalTaxRules PROFESSIONAL_TAX_RULES =
+			new ProfessionalTaxRules(new ClassPathResource("professional-tax-rules.json"));
+	private static final ProfessionalTaxTable MAHARASHTRA = PROFESSIONAL_TAX_RULES.forState("MH");
+	private static final UUID CONFIGURATION_ID = UUID.randomUUID();
+
+	private final EmployeeSalaryStructure structure = structure("50000", "5000", null);
+	private final Employee employee = employee(Gender.FEMALE);
+	private final String fingerprint = PayrollFingerprint.of(structure, employee, CONFIGURATION_ID, MAHARASHTRA);
+
+	@Test
+	void isUnchangedForTheSameInputs() {
+		EmployeeSalaryStructure reloaded = structure("50000.00", "5000.0", null);
+		// Amounts the payroll is calculated from, not the stored results, make up the fingerprint
+		reloaded.setNetSalary(new BigDecimal("41234.00"));
+
+		assertThat(PayrollFingerprint.of(reloaded, employee(Gender.FEMALE), CONFIGURATION_ID,
+				PROFESSIONAL_TAX_RULES.forState("mh"))).isEqualTo(fingerprint);
+	}
+
+	@Test
+	void changesWithTheSalaryStructure() {
+		assertThat(PayrollFingerprint.of(structure("50001", "5000", null), employee, CONFIGURATION_ID, MAHARASHTRA))
+				.isNotEqualTo(fingerprint);
+		assertThat(PayrollFingerprint.of(structure("50000", null, null), employee, CONFIGURATION_ID, MAHARASHTRA))
+				.isNotEqualTo(fingerprint);
+		assertThat(PayrollFingerprint.of(structure("50000", "5000", "1000"), employee, CONFIGURATION_ID, MAHARASHTRA))
+				.isNotEqualTo(fingerprint);
+	}
+
+	@Test
+	void changesWithTheEmployee() {
+		assertThat(PayrollFingerprint.of(structure, employee(Gender.MALE), CONFIGURATION_ID, MAHARASHTRA))
+				.isNotEqualTo(fingerprint);
+
+		Employee inactive = employee(Gender.FEMALE);
+		inactive.setStatus(EmployeeStatus.INACTIVE);
+		assertThat(PayrollFingerprint.of(structure, inactive, CONFIGURATION_ID, MAHARASHTRA))
+				.isNotEqualTo(fingerprint);
+	}
+
+	@Test
+	void changesWithThePayrollConfiguration() {
+		assertThat(PayrollFingerprint.of(structure, employee, UUID.randomUUID(), MAHARASHTRA))
+				.isNotEqualTo(fingerprint);
+	}
+
+	@Test
+	void changesWithTheProfessionalTaxState() {
+		assertThat(PayrollFingerprint.of(structure, employee, CONFIGURATION_ID, PROFESSIONAL_TAX_RULES.forState("KA")))
+				.isNotEqualTo(fingerprint);
+	}
+
+	@Test
+	void changesWithTheProfessionalTaxRules() throws IOException {
+		String rules = new ClassPathResource("professional-tax-rules.json").getContentAsString(StandardCharsets.UTF_8);
+		ProfessionalTaxRules reloaded = new ProfessionalTaxRules(new ByteArrayResource(rules.getBytes(StandardCharsets.UTF_8)));
+		assertThat(PayrollFingerprint.of(structure, employee, CONFIGURATION_ID, reloaded.forState("MH")))
+				.isEqualTo(fingerprint);
+
+		// Maharashtra's February top-up goes from 300 to 325
+		String revised = rules.replace("{ \"month\": 2, \"amount\": 200, \"replacement\": 300 }",
+				"{ \"month\": 2, \"amount\": 200, \"replacement\": 325 }");
+		assertThat(revised).isNotEqualTo(rules);
+		ProfessionalTaxRules revisedRules = new ProfessionalTaxRules(new ByteArrayResource(revised.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(PayrollFingerprint.of(structure, employee, CONFIGURATION_ID, revisedRules.forState("MH")))
+				.isNotEqualTo(fingerprint);
+	}
+
+	private static EmployeeSalaryStructure structure(String basic, String special, String bonus) {
+		EmployeeSalaryStructure structure = new EmployeeSalaryStructure();
+		structure.setBasicSalary(new BigDecimal(basic));
+		structure.setSpecialAllowance(special != null ? new BigDecimal(special) : null);
+		structure.setBonusAmount(bonus != null ? new BigDecimal(bonus) : null);
+		return structure;
+	}
+
+	private static Employee employee(Gender gender) {
+		Employee employee = new Employee();
+		employee.setGender(gender);
+		return employee;
+	}
+}
@@ -0,0 +1,52 @@
+package com.karandev.paymaster.calculation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProfessionalTaxRulesTest {
+
+	private final ProfessionalTaxRules rules = new ProfessionalTaxRules(new ClassPathResource("professional-tax-rules.json"));
+
+	@Test
+	void appliesMaharashtraSlabsWithFemaleAndFebruaryOverrides() {
+		ProfessionalTaxTable maharashtra = rules.forState("mh");
+
+		assertThat(maharashtra.amount(7_500_00, false, 1)).isZero();
+		assertThat(maharashtra.amount(7_500_01, false, 1)).isEqualTo(175_00);
+		assertThat(maharashtra.amount(10_000_00, false, 2)).isEqualTo(175_00);
+		assertThat(maharashtra.amount(10_000_01, false, 1)).isEqualTo(200_00);
+		assertThat(maharashtra.amount(10_000_01, false, 2)).isEqualTo(300_00);
+
+		assertThat(maharashtra.amount(25_000_00, true, 1)).isZero();
+		assertThat(maharashtra.amount(25_000_01, true, 2)).isEqualTo(300_00);
+	}
+
+	@Test
+	void decimalLookupMatchesPaiseLookup() {
+		ProfessionalTaxTable westBengal = rules.forState("WB");
+
+		for (long gross = 0; gross <= 50_000_00; gross += 2_499) {
+			for (int month = 1; month <= 12; month++) {
+				assertThat(westBengal.amount(BigDecimal.valueOf(gross, 2), false, month))
+						.isEqualByComparingTo(BigDecimal.valueOf(westBengal.amount(gross, false, month), 2));
+			}
+		}
+	}
+
+	@Test
+	void usesDefaultStateWhenCompanyHasNone() {
+		assertThat(rules.forState(null).getState()).isEqualTo("MH");
+		assertThat(rules.requireSupported(" ka ")).isEqualTo("KA");
+		assertThat(rules.requireSupported(null)).isNull();
+	}
+
+	@Test
+	void rejectsUnknownStates() {
+		assertThatThrownBy(() -> rules.forState("XX")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,134 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.PayrollFixtures;
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.DeliveryStatus;
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.InvitationDelivery;
+import com.karandev.paymaster.repository.EmployeeRepository;
+import com.karandev.paymaster.repository.InvitationDeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Runs the dispatcher against the {@code h2} profile, where no SMTP server listens, so every
+ * mail fails.
+ */
+@SpringBootTest(properties = {
+		"app.invitations.linger-ms=0",
+		"app.invitations.max-attempts=2",
+		"app.invitations.retry-delay-ms=1000"
+})
+@ActiveProfiles("h2")
+@Import(PayrollFixtures.class)
+class InvitationDispatcherTest {
+
+	@Autowired PayrollFixtures fixtures;
+	@Autowired InvitationDispatcher dispatcher;
+	@Autowired InvitationDeliveryRepository invitationRepository;
+	@Autowired EmployeeRepository employeeRepository;
+	@Autowired PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate tx;
+	private Company company;
+
+	@BeforeEach
+	void setUp() {
+		fixtures.clear();
+		tx = new TransactionTemplate(transactionManager);
+		company = fixtures.company();
+	}
+
+	@Test
+	void invitationIsQueuedWithTheEmployeesTransaction() {
+		// Rolled back with the employee, so never sent
+		tx.executeWithoutResult(status -> {
+			dispatcher.invite(fixtures.employees(company, 1).get(0).getEmployeeId());
+			status.setRollbackOnly();
+		});
+		assertThat(employeeRepository.count()).isZero();
+		assertThat(invitationRepository.count()).isZero();
+
+		Employee employee = tx.execute(status -> {
+			Employee created = fixtures.employees(company, 1).get(0);
+			dispatcher.invite(created.getEmployeeId());
+			return created;
+		});
+		// Invited again before the mail went out
+		dispatcher.invite(employee.getEmployeeId());
+
+		assertThat(invitationRepository.findAll()).singleElement().satisfies(invitation -> {
+			assertThat(invitation.getStatus()).isEqualTo(DeliveryStatus.PENDING);
+			assertThat(invitation.getAttempts()).isZero();
+		});
+	}
+
+	@Test
+	void failedMailIsRetriedAndThenGivenUp() {
+		Employee employee = fixtures.employees(company, 1).get(0);
+		dispatcher.invite(employee.getEmployeeId());
+
+		dispatcher.dispatch();
+
+		InvitationDelivery invitation = invitationRepository.findAll().get(0);
+		assertThat(invitation.getStatus()).isEqualTo(DeliveryStatus.PENDING);
+		assertThat(invitation.getAttempts()).isOne();
+		assertThat(invitation.getLastError()).isNotBlank();
+		assertThat(Duration.between(invitation.getUpdatedAt(), invitation.getNextAttemptAt()).toMillis())
+				.isCloseTo(1000, within(250L));
+		// The token is issued when the mail is sent
+		Employee invited = employeeRepository.findById(employee.getEmployeeId()).orElseThrow();
+		assertThat(invited.getPasswordToken()).isNotBlank();
+		assertThat(invited.getTokenExpiry()).isAfter(LocalDateTime.now().plusHours(23));
+
+		// Not due yet
+		dispatcher.dispatch();
+		assertThat(invitationRepository.findAll().get(0).getAttempts()).isOne();
+
+		makeDue(invitation);
+		dispatcher.dispatch();
+		invitation = invitationRepository.findAll().get(0);
+		assertThat(invitation.getStatus()).isEqualTo(DeliveryStatus.FAILED);
+		assertThat(invitation.getAttempts()).isEqualTo(2);
+
+		// Given up on, so never claimed again
+		makeDue(invitation);
+		dispatcher.dispatch();
+		assertThat(invitationRepository.findAll().get(0).getAttempts()).isEqualTo(2);
+	}
+
+	@Test
+	void staleClaimIsHandedBack() {
+		dispatcher.invite(fixtures.employees(company, 1).get(0).getEmployeeId());
+
+		// Claimed by a dispatcher that died before recording the outcome
+		tx.executeWithoutResult(status -> invitationRepository
+				.findDueForUpdate(DeliveryStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, 10))
+				.forEach(invitation -> invitation.setStatus(DeliveryStatus.IN_PROGRESS)));
+		dispatcher.dispatch();
+		assertThat(invitationRepository.findAll().get(0).getStatus()).isEqualTo(DeliveryStatus.IN_PROGRESS);
+
+		int released = tx.execute(status -> invitationRepository.releaseStaleClaims(LocalDateTime.now().plusSeconds(1)));
+		assertThat(released).isOne();
+		assertThat(invitationRepository.findAll().get(0).getStatus()).isEqualTo(DeliveryStatus.PENDING);
+	}
+
+	private void makeDue(InvitationDelivery invitation) {
+		InvitationDelivery due = invitationRepository.findById(invitation.getInvitationId()).orElseThrow();
+		due.setNextAttemptAt(LocalDateTime.now());
+		invitationRepository.save(due);
+	}
+}
@@ -0,0 +1,77 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.PayrollFixtures;
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.Employee;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(PayrollFixtures.class)
+class PdfGenerationServiceTest {
+
+	// More than one chunk of summary rows
+	private static final int EMPLOYEES = 60;
+
+	@Autowired PayrollFixtures fixtures;
+	@Autowired PdfGenerationService pdfGenerationService;
+
+	private Company company;
+
+	@BeforeEach
+	void setUp() {
+		fixtures.clear();
+		company = fixtures.company();
+		for (Employee employee : fixtures.employees(company, EMPLOYEES)) {
+			fixtures.payroll(employee, 1, 2026);
+		}
+		// Another month's payrolls stay out of the register
+		fixtures.payroll(fixtures.employees(company, 1).get(0), 2, 2026);
+	}
+
+	@Test
+	void writesTheSummaryFollowedByOneSlipPerEmployee() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		pdfGenerationService.writePayrollRegister(company.getCompanyId(), 1, 2026, out);
+
+		PdfReader reader = new PdfReader(out.toByteArray());
+		try {
+			PdfTextExtractor extractor = new PdfTextExtractor(reader);
+			List<String> pages = new ArrayList<>();
+			for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+				pages.add(extractor.getTextFromPage(page));
+			}
+
+			List<String> slips = pages.stream().filter(text -> text.contains("Salary Slip - January 2026")).toList();
+			List<String> summary = pages.subList(0, pages.size() - slips.size());
+			assertThat(slips).hasSize(EMPLOYEES);
+			// The summary comes first, though it is written last
+			assertThat(summary).isNotEmpty().noneMatch(text -> text.contains("Salary Slip"));
+			assertThat(summary.get(0)).contains("Payroll Register - January 2026", "Test Company");
+
+			String summaryText = String.join("\n", summary);
+			assertThat(summaryText).contains("Total (" + EMPLOYEES + " employees)");
+			for (int i = 0; i < EMPLOYEES; i++) {
+				String empCode = String.format("E%05d", i);
+				assertThat(summaryText).contains(empCode);
+				// Slips follow in employee-code order
+				assertThat(slips.get(i)).contains(empCode, "Employee " + i);
+			}
+		} finally {
+			reader.close();
+		}
+	}
+}
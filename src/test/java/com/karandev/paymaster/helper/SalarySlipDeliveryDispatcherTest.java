@@ -0,0 +1,135 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.PayrollFixtures;
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.DeliveryStatus;
+import com.karandev.paymaster.entity.SalarySlipDeadLetter;
+import com.karandev.paymaster.entity.SalarySlipDelivery;
+import com.karandev.paymaster.repository.SalarySlipDeadLetterRepository;
+import com.karandev.paymaster.repository.SalarySlipDeliveryRepository;
+import com.karandev.paymaster.service.EmployeePayrollService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Runs the dispatcher against the {@code h2} profile, where no SMTP server listens, so every
+ * attempt fails.
+ */
+@SpringBootTest(properties = {
+		"app.slip-delivery.max-attempts=4",
+		"app.slip-delivery.initial-backoff-ms=1000",
+		"app.slip-delivery.max-backoff-ms=3000"
+})
+@ActiveProfiles("h2")
+@Import(PayrollFixtures.class)
+class SalarySlipDeliveryDispatcherTest {
+
+	@Autowired PayrollFixtures fixtures;
+	@Autowired SalarySlipDeliveryDispatcher dispatcher;
+	@Autowired SalarySlipDeliveryRepository deliveryRepository;
+	@Autowired SalarySlipDeadLetterRepository deadLetterRepository;
+	@Autowired EmployeePayrollService payrollService;
+
+	private Company company;
+	private UUID deliveryId;
+
+	@BeforeEach
+	void setUp() {
+		fixtures.clear();
+		company = fixtures.company();
+		deliveryId = fixtures.delivery(fixtures.payroll(fixtures.employees(company, 1).get(0), 1, 2026)).getDeliveryId();
+	}
+
+	@Test
+	void backsOffExponentiallyUpToTheMaximum() throws Exception {
+		long[] expectedBackoffMs = {1000, 2000, 3000};
+
+		for (int attempt = 1; attempt <= expectedBackoffMs.length; attempt++) {
+			SalarySlipDelivery delivery = attemptNow();
+
+			assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.PENDING);
+			assertThat(delivery.getAttempts()).isEqualTo(attempt);
+			assertThat(delivery.getLastError()).isNotBlank();
+			// The outcome is saved right after the backoff is scheduled
+			Duration backoff = Duration.between(delivery.getUpdatedAt(), delivery.getNextAttemptAt());
+			assertThat(backoff.toMillis()).isCloseTo(expectedBackoffMs[attempt - 1], within(250L));
+		}
+		assertThat(deadLetterRepository.count()).isZero();
+	}
+
+	@Test
+	void deadLettersTheDeliveryAfterMaxAttempts() throws Exception {
+		for (int attempt = 1; attempt < 4; attempt++) {
+			attemptNow();
+		}
+		SalarySlipDelivery delivery = attemptNow();
+
+		assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.FAILED);
+		assertThat(delivery.getAttempts()).isEqualTo(4);
+		List<SalarySlipDeadLetter> deadLetters = deadLetterRepository.findUnreplayed(company.getCompanyId());
+		assertThat(deadLetters).singleElement().satisfies(deadLetter -> {
+			assertThat(deadLetter.getAttempts()).isEqualTo(4);
+			assertThat(deadLetter.getLastError()).isEqualTo(delivery.getLastError());
+			assertThat(deadLetter.getRecipientEmail()).isEqualTo(delivery.getRecipientEmail());
+		});
+
+		// A dead-lettered delivery is never claimed again
+		dispatcher.dispatch();
+		assertThat(deliveryRepository.findById(deliveryId).orElseThrow().getStatus()).isEqualTo(DeliveryStatus.FAILED);
+	}
+
+	@Test
+	void replayHandsTheDeliveryBackWithFreshAttempts() throws Exception {
+		for (int attempt = 1; attempt <= 4; attempt++) {
+			attemptNow();
+		}
+
+		LocalDateTime replayedAfter = LocalDateTime.now();
+		assertThat(payrollService.replaySlipDeadLetters(company.getCompanyId(), null)).isOne();
+
+		SalarySlipDelivery delivery = deliveryRepository.findById(deliveryId).orElseThrow();
+		assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.PENDING);
+		assertThat(delivery.getAttempts()).isZero();
+		assertThat(delivery.getNextAttemptAt()).isAfterOrEqualTo(replayedAfter);
+		assertThat(deadLetterRepository.findUnreplayed(company.getCompanyId())).isEmpty();
+
+		// Picked up by the next poll, and backs off from the first step again
+		delivery = attemptNow();
+		assertThat(delivery.getAttempts()).isOne();
+		assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.PENDING);
+		assertThat(Duration.between(delivery.getUpdatedAt(), delivery.getNextAttemptAt()).toMillis())
+				.isCloseTo(1000, within(250L));
+	}
+
+	// Makes the delivery due, dispatches it and waits for the worker to record the outcome
+	private SalarySlipDelivery attemptNow() throws InterruptedException {
+		SalarySlipDelivery due = deliveryRepository.findById(deliveryId).orElseThrow();
+		int attempts = due.getAttempts();
+		due.setNextAttemptAt(LocalDateTime.now());
+		deliveryRepository.save(due);
+
+		dispatcher.dispatch();
+
+		LocalDateTime deadline = LocalDateTime.now().plusSeconds(30);
+		while (true) {
+			SalarySlipDelivery delivery = deliveryRepository.findById(deliveryId).orElseThrow();
+			if (delivery.getStatus() != DeliveryStatus.IN_PROGRESS && delivery.getAttempts() > attempts) {
+				return delivery;
+			}
+			assertThat(LocalDateTime.now()).as("delivery attempt recorded").isBefore(deadline);
+			Thread.sleep(50);
+		}
+	}
+}
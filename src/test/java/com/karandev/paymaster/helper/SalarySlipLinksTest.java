@@ -0,0 +1,82 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.entity.SalarySlipDeliveryMode;
+import com.karandev.paymaster.exception.InvalidSalarySlipLinkException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SalarySlipLinksTest {
+
+	private static final String BASE_URL = "https://payroll.example.com/";
+	private static final Instant NOW = Instant.parse("2025-04-30T10:00:00Z");
+
+	private final UUID payrollId = UUID.randomUUID();
+
+	@Test
+	void resolvesItsOwnLinksBackToThePayroll() {
+		SalarySlipLinks links = links("secret", NOW);
+
+		String link = links.linkFor(payrollId);
+
+		assertThat(link).startsWith("https://payroll.example.com/api/payrolls/slips/").hasSizeLessThan(140);
+		assertThat(links.verify(token(link))).isEqualTo(payrollId);
+	}
+
+	@Test
+	void rejectsExpiredLinks() {
+		String link = links("secret", NOW).linkFor(payrollId);
+
+		assertThat(links("secret", NOW.plus(Duration.ofDays(7)).minusSeconds(1)).verify(token(link))).isEqualTo(payrollId);
+		assertThatThrownBy(() -> links("secret", NOW.plus(Duration.ofDays(7))).verify(token(link)))
+				.isInstanceOf(InvalidSalarySlipLinkException.class)
+				.hasMessageContaining("expired");
+	}
+
+	@Test
+	void rejectsTamperedOrForeignLinks() {
+		String token = token(links("secret", NOW).linkFor(payrollId));
+		String otherPayroll = token(links("secret", NOW).linkFor(UUID.randomUUID()));
+		String spliced = otherPayroll.substring(0, otherPayroll.indexOf('.')) + token.substring(token.indexOf('.'));
+
+		SalarySlipLinks links = links("secret", NOW);
+		assertThatThrownBy(() -> links.verify(spliced)).isInstanceOf(InvalidSalarySlipLinkException.class);
+		assertThatThrownBy(() -> links("other-secret", NOW).verify(token)).isInstanceOf(InvalidSalarySlipLinkException.class);
+		assertThatThrownBy(() -> links.verify("not-a-token")).isInstanceOf(InvalidSalarySlipLinkException.class);
+		assertThatThrownBy(() -> links.verify("a.b.c")).isInstanceOf(InvalidSalarySlipLinkException.class);
+	}
+
+	@Test
+	void describesValidity() {
+		assertThat(links("secret", NOW).validity()).isEqualTo("7 days");
+		assertThat(new SalarySlipLinks(SalarySlipDeliveryMode.LINK, BASE_URL, Duration.ofHours(36), "secret",
+				Clock.fixed(NOW, ZoneOffset.UTC)).validity()).isEqualTo("36 hours");
+	}
+
+	@Test
+	void requiresASecretInLinkMode() {
+		assertThatThrownBy(() -> links("", NOW))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("app.slip-delivery.link.secret");
+
+		SalarySlipLinks attachments = new SalarySlipLinks(SalarySlipDeliveryMode.ATTACHMENT, BASE_URL, Duration.ofDays(7), "",
+				Clock.fixed(NOW, ZoneOffset.UTC));
+		assertThat(attachments.verify(token(attachments.linkFor(payrollId)))).isEqualTo(payrollId);
+	}
+
+	private static SalarySlipLinks links(String secret, Instant now) {
+		return new SalarySlipLinks(SalarySlipDeliveryMode.LINK, BASE_URL, Duration.ofDays(7), secret,
+				Clock.fixed(now, ZoneOffset.UTC));
+	}
+
+	private static String token(String link) {
+		return link.substring(link.lastIndexOf('/') + 1);
+	}
+}
@@ -0,0 +1,174 @@
+package com.karandev.paymaster.helper;
+
+import com.karandev.paymaster.PayrollFixtures;
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.exception.SalarySlipOutdatedException;
+import com.karandev.paymaster.repository.EmployeePayrollRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(PayrollFixtures.class)
+class SalarySlipStoreTest {
+
+	@Autowired PayrollFixtures fixtures;
+	@Autowired SalarySlipStore store;
+	@Autowired EmployeePayrollRepository payrollRepository;
+
+	@Value("${app.payroll.slip.store-dir}")
+	Path root;
+
+	private EmployeePayroll payroll;
+
+	@BeforeEach
+	void setUp() {
+		fixtures.clear();
+		payroll = fixtures.payroll(fixtures.employees(fixtures.company(), 1).get(0), 1, 2026);
+		payroll.setFingerprint("v1");
+		payroll = payrollRepository.save(payroll);
+	}
+
+	@Test
+	void rendersOnceAndServesTheStoredSlipAfterwards() throws Exception {
+		Path slip = store.awaitSlip(reload());
+
+		String hash = payrollRepository.findById(payroll.getPayRollId()).orElseThrow().getSlipHash();
+		assertThat(slip.getFileName()).hasToString(hash + ".pdf");
+		assertThat(store.slipFor(reload())).isEqualTo(slip);
+		assertThat(store.bytesFor(reload())).isEqualTo(Files.readAllBytes(slip));
+		assertThat(slips()).containsExactly(slip);
+	}
+
+	@Test
+	void concurrentCallersShareOneRender() throws Exception {
+		ExecutorService callers = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<Path>> calls = Stream.<Callable<Path>>generate(() -> () -> store.awaitSlip(reload()))
+					.limit(4)
+					.toList();
+			List<Path> stored = callers.invokeAll(calls).stream().map(SalarySlipStoreTest::get).toList();
+
+			assertThat(stored).containsOnly(stored.get(0));
+			assertThat(slips()).containsExactly(stored.get(0));
+		} finally {
+			callers.shutdownNow();
+		}
+	}
+
+	@Test
+	void slipHashIsOnlyReplacedForTheFingerprintAndHashItWasReadWith() {
+		// Stale fingerprint: the payroll was regenerated after the slip was rendered
+		assertThat(payrollRepository.updateSlipHash(payroll.getPayRollId(), "v0", null, "a")).isZero();
+		// Stale hash: another slip was recorded first
+		assertThat(payrollRepository.updateSlipHash(payroll.getPayRollId(), "v1", "b", "a")).isZero();
+		assertThat(payrollRepository.findSlipHash(payroll.getPayRollId(), "v1")).isEmpty();
+
+		assertThat(payrollRepository.updateSlipHash(payroll.getPayRollId(), "v1", null, "a")).isOne();
+		assertThat(payrollRepository.updateSlipHash(payroll.getPayRollId(), "v1", null, "b")).isZero();
+		assertThat(payrollRepository.updateSlipHash(payroll.getPayRollId(), "v1", "a", "b")).isOne();
+		assertThat(payrollRepository.findSlipHash(payroll.getPayRollId(), "v1")).contains("b");
+		assertThat(payrollRepository.findSlipHash(payroll.getPayRollId(), "v0")).isEmpty();
+	}
+
+	@Test
+	void adoptsTheSlipAnotherInstanceRecordedFirst() throws Exception {
+		EmployeePayroll stale = reload();
+
+		// Another instance stores and records its slip while this one renders
+		Path theirs = write("theirs", Instant.now());
+		assertThat(payrollRepository.updateSlipHash(payroll.getPayRollId(), "v1", null, "theirs")).isOne();
+
+		assertThat(store.awaitSlip(stale)).isEqualTo(theirs);
+		assertThat(stale.getSlipHash()).isEqualTo("theirs");
+		// Its own render is discarded
+		assertThat(slips()).containsExactly(theirs);
+	}
+
+	@Test
+	void discardsASlipRenderedFromARegeneratedPayroll() throws Exception {
+		EmployeePayroll stale = reload();
+
+		EmployeePayroll regenerated = reload();
+		regenerated.setFingerprint("v2");
+		payrollRepository.save(regenerated);
+
+		assertThatThrownBy(() -> store.awaitSlip(stale)).isInstanceOf(SalarySlipOutdatedException.class);
+		assertThat(payrollRepository.findById(payroll.getPayRollId()).orElseThrow().getSlipHash()).isNull();
+		assertThat(slips()).isEmpty();
+	}
+
+	@Test
+	void regenerationRemovesTheSupersededSlipButKeepsNewerOnes() throws Exception {
+		Instant now = Instant.now();
+		Path superseded = write("superseded", now.minus(1, ChronoUnit.HOURS));
+		assertThat(payrollRepository.updateSlipHash(payroll.getPayRollId(), "v1", null, "superseded")).isOne();
+		// Written by a render still in flight elsewhere
+		Path inFlight = write("in-flight", now.plus(1, ChronoUnit.HOURS));
+
+		// Regenerating the payroll clears the slip it points at
+		EmployeePayroll regenerated = reload();
+		regenerated.setFingerprint("v2");
+		regenerated.setSlipHash(null);
+		payrollRepository.save(regenerated);
+
+		Path current = store.awaitSlip(reload());
+
+		assertThat(current).isNotEqualTo(superseded);
+		assertThat(slips()).containsExactlyInAnyOrder(current, inFlight);
+	}
+
+	private EmployeePayroll reload() {
+		return payrollRepository.findById(payroll.getPayRollId()).orElseThrow();
+	}
+
+	private Path directory() {
+		return root.toAbsolutePath().normalize().resolve(payroll.getPayRollId().toString());
+	}
+
+	private Path write(String hash, Instant modified) throws IOException {
+		Path slip = Files.createDirectories(directory()).resolve(hash + ".pdf");
+		Files.write(slip, hash.getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(slip, FileTime.from(modified));
+		return slip;
+	}
+
+	private List<Path> slips() throws IOException {
+		if (!Files.isDirectory(directory())) {
+			return List.of();
+		}
+		try (Stream<Path> files = Files.list(directory())) {
+			return files.toList();
+		}
+	}
+
+	private static Path get(Future<Path> future) {
+		try {
+			return future.get();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
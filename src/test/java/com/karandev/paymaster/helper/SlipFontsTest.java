@@ -0,0 +1,30 @@
+package com.karandev.paymaster.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.Character.UnicodeScript;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlipFontsTest {
+
+	@Test
+	void requiresNothingWhenNoScriptsAreListed() {
+		assertThatCode(() -> SlipFonts.requireScripts(List.of())).doesNotThrowAnyException();
+	}
+
+	@Test
+	void acceptsScriptsTheBundledFontCovers() {
+		assertThatCode(() -> SlipFonts.requireScripts(List.of(UnicodeScript.LATIN))).doesNotThrowAnyException();
+	}
+
+	@Test
+	void listsEveryScriptNoFontCovers() {
+		assertThatThrownBy(() -> SlipFonts.requireScripts(List.of(UnicodeScript.LATIN, UnicodeScript.LINEAR_B, UnicodeScript.OLD_ITALIC)))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("[LINEAR_B, OLD_ITALIC]")
+				.hasMessageContaining("fonts/fallback/");
+	}
+}
@@ -0,0 +1,100 @@
+package com.karandev.paymaster.helper;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmtpTransportPoolTest {
+
+	private static final int MESSAGES = 100;
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+			.withConfiguration(GreenMailConfiguration.aConfig().withUser("payroll@example.com", "secret"));
+
+	private JavaMailSenderImpl mailSender;
+	private SmtpTransportPool pool;
+
+	@BeforeEach
+	void setUp() {
+		mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(ServerSetupTest.SMTP.getPort());
+		mailSender.setUsername("payroll@example.com");
+		mailSender.setPassword("secret");
+		Properties properties = new Properties();
+		properties.setProperty("mail.smtp.auth", "true");
+		mailSender.setJavaMailProperties(properties);
+		pool = new SmtpTransportPool(mailSender, 4, 60_000, 0, 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	void sendsABatchOverPooledConnections() throws Exception {
+		List<MessagingException> failures = pool.sendAll(messages(MESSAGES));
+
+		assertThat(failures).hasSize(MESSAGES).containsOnlyNulls();
+		assertThat(greenMail.getReceivedMessages()).hasSize(MESSAGES);
+	}
+
+	@Test
+	void reconnectsWhenTheServerDropsTheConnection() throws Exception {
+		assertThat(pool.send(messages(1))).containsOnlyNulls();
+
+		// Drops every open connection, and the user
+		greenMail.reset();
+		greenMail.setUser("payroll@example.com", "secret");
+
+		assertThat(pool.send(messages(3))).containsOnlyNulls();
+		assertThat(greenMail.getReceivedMessages()).hasSize(3);
+	}
+
+	@Test
+	void reportsFailuresPerMessage() throws Exception {
+		List<MimeMessage> batch = messages(3);
+		batch.get(1).setRecipients(MimeMessage.RecipientType.TO, new Address[0]);
+
+		List<MessagingException> failures = pool.sendAll(batch);
+
+		assertThat(failures).hasSize(3);
+		assertThat(failures.get(0)).isNull();
+		assertThat(failures.get(1)).isNotNull();
+		assertThat(failures.get(2)).isNull();
+		assertThat(greenMail.getReceivedMessages()).hasSize(2);
+	}
+
+	private List<MimeMessage> messages(int count) throws MessagingException {
+		List<MimeMessage> messages = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			MimeMessage message = mailSender.createMimeMessage();
+			MimeMessageHelper helper = new MimeMessageHelper(message, true);
+			helper.setFrom("payroll@example.com");
+			helper.setTo("employee" + i + "@example.com");
+			helper.setSubject("Salary slip " + i);
+			helper.setText("<p>Your salary slip is attached.</p>", true);
+			helper.addAttachment("Salary_Slip.pdf", new ByteArrayDataSource(new byte[4096], "application/pdf"));
+			messages.add(message);
+		}
+		return messages;
+	}
+}
@@ -0,0 +1,101 @@
+package com.karandev.paymaster.helper;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares sending over pooled connections with a connection per message. Timing depends on
+ * the machine, so it only runs with {@code mvn -Pperf test}.
+ */
+@Tag("perf")
+class SmtpTransportPoolThroughputTest {
+
+	private static final Logger log = LoggerFactory.getLogger(SmtpTransportPoolThroughputTest.class);
+	private static final int MESSAGES = 100;
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort())
+			.withConfiguration(GreenMailConfiguration.aConfig().withUser("payroll@example.com", "secret"));
+
+	private JavaMailSenderImpl mailSender;
+	private SmtpTransportPool pool;
+
+	@BeforeEach
+	void setUp() {
+		mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(greenMail.getSmtp().getPort());
+		mailSender.setUsername("payroll@example.com");
+		mailSender.setPassword("secret");
+		Properties properties = new Properties();
+		properties.setProperty("mail.smtp.auth", "true");
+		mailSender.setJavaMailProperties(properties);
+		pool = new SmtpTransportPool(mailSender, 4, 60_000, 0, 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	void sendsBatchesFasterOverPooledConnections() throws Exception {
+		// Warm up both paths
+		mailSender.send(messages(20).toArray(MimeMessage[]::new));
+		pool.sendAll(messages(20));
+
+		List<MimeMessage> oneByOne = messages(MESSAGES);
+		long started = System.nanoTime();
+		for (MimeMessage message : oneByOne) {
+			mailSender.send(message);
+		}
+		double connectionPerMessage = MESSAGES / seconds(started);
+
+		List<MimeMessage> batch = messages(MESSAGES);
+		started = System.nanoTime();
+		pool.sendAll(batch);
+		double pooled = MESSAGES / seconds(started);
+
+		log.info("SMTP throughput: {} msg/s with a connection per message, {} msg/s pooled",
+				Math.round(connectionPerMessage), Math.round(pooled));
+		assertThat(pooled).isGreaterThan(connectionPerMessage);
+	}
+
+	private List<MimeMessage> messages(int count) throws MessagingException {
+		List<MimeMessage> messages = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			MimeMessage message = mailSender.createMimeMessage();
+			MimeMessageHelper helper = new MimeMessageHelper(message, true);
+			helper.setFrom("payroll@example.com");
+			helper.setTo("employee" + i + "@example.com");
+			helper.setSubject("Salary slip " + i);
+			helper.setText("<p>Your salary slip is attached.</p>", true);
+			helper.addAttachment("Salary_Slip.pdf", new ByteArrayDataSource(new byte[4096], "application/pdf"));
+			messages.add(message);
+		}
+		return messages;
+	}
+
+	private static double seconds(long startedNanos) {
+		return (System.nanoTime() - startedNanos) / 1e9;
+	}
+}
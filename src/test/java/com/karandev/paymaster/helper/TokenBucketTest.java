@@ -0,0 +1,52 @@
+package com.karandev.paymaster.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+	@Test
+	void pacesSaturatedCallersAtTheConfiguredRate() {
+		TokenBucket bucket = new TokenBucket(60, 1, clock::get);
+
+		// One a second: the first is free, then each caller queues behind the previous one
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isEqualTo(SECOND);
+		assertThat(bucket.reserve()).isEqualTo(2 * SECOND);
+
+		clock.addAndGet(2 * SECOND);
+		assertThat(bucket.reserve()).isEqualTo(SECOND);
+	}
+
+	@Test
+	void allowsABurstAfterAnIdleSpell() {
+		TokenBucket bucket = new TokenBucket(60, 3, clock::get);
+
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isEqualTo(SECOND);
+
+		// A long idle spell refills the bucket to its burst, not beyond
+		clock.addAndGet(60 * SECOND);
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isEqualTo(SECOND);
+	}
+
+	@Test
+	void rejectsANonPositiveRate() {
+		assertThatThrownBy(() -> new TokenBucket(0, 1, clock::get))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,134 @@
+package com.karandev.paymaster.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP proxy in front of the embedded SMTP server that makes it behave more like a real
+ * provider: every server reply is held back by {@code replyLatencyMs}, so each SMTP round trip
+ * costs that much, and a {@code dropRate} share of messages have their connection dropped just
+ * before the end of DATA reaches the server, so they are never delivered.
+ */
+final class FaultInjectingSmtpProxy implements AutoCloseable {
+
+	private static final byte[] END_OF_DATA = "\r\n.\r\n".getBytes();
+
+	private final ServerSocket server;
+	private final int targetPort;
+	private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+	private final AtomicInteger dropped = new AtomicInteger();
+
+	private volatile long replyLatencyMs;
+	private volatile double dropRate;
+
+	FaultInjectingSmtpProxy(int port, int targetPort) throws IOException {
+		this.server = new ServerSocket(port, 100, InetAddress.getLoopbackAddress());
+		this.targetPort = targetPort;
+		connections.execute(this::accept);
+	}
+
+	void inject(long replyLatencyMs, double dropRate) {
+		this.replyLatencyMs = replyLatencyMs;
+		this.dropRate = dropRate;
+	}
+
+	int port() {
+		return server.getLocalPort();
+	}
+
+	int dropped() {
+		return dropped.get();
+	}
+
+	private void accept() {
+		while (!server.isClosed()) {
+			try {
+				Socket client = server.accept();
+				connections.execute(() -> relay(client));
+			} catch (IOException e) {
+				return;
+			}
+		}
+	}
+
+	private void relay(Socket client) {
+		try (client; Socket upstream = new Socket(InetAddress.getLoopbackAddress(), targetPort)) {
+			Thread replies = Thread.ofVirtual().start(() -> forwardReplies(upstream, client));
+			forwardCommands(client, upstream);
+			replies.join();
+		} catch (IOException | InterruptedException e) {
+			// Either side went away
+		}
+	}
+
+	private void forwardCommands(Socket client, Socket upstream) {
+		try (InputStream in = client.getInputStream(); OutputStream out = upstream.getOutputStream()) {
+			byte[] buffer = new byte[16 * 1024];
+			int matched = 0;
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				boolean endOfData = false;
+				for (int i = 0; i < read; i++) {
+					matched = buffer[i] == END_OF_DATA[matched] ? matched + 1 : (buffer[i] == END_OF_DATA[0] ? 1 : 0);
+					if (matched == END_OF_DATA.length) {
+						endOfData = true;
+						matched = 0;
+					}
+				}
+				if (endOfData && ThreadLocalRandom.current().nextDouble() < dropRate) {
+					dropped.incrementAndGet();
+					closeQuietly(client, upstream);
+					return;
+				}
+				out.write(buffer, 0, read);
+				out.flush();
+			}
+		} catch (IOException e) {
+			// Closed by the other direction
+		} finally {
+			closeQuietly(client, upstream);
+		}
+	}
+
+	private void forwardReplies(Socket upstream, Socket client) {
+		try (InputStream in = upstream.getInputStream(); OutputStream out = client.getOutputStream()) {
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				if (replyLatencyMs > 0) {
+					Thread.sleep(replyLatencyMs);
+				}
+				out.write(buffer, 0, read);
+				out.flush();
+			}
+		} catch (IOException | InterruptedException e) {
+			// Closed by the other direction
+		} finally {
+			closeQuietly(client, upstream);
+		}
+	}
+
+	private static void closeQuietly(Socket... sockets) {
+		for (Socket socket : sockets) {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// Already closed
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		server.close();
+		connections.shutdownNow();
+	}
+}
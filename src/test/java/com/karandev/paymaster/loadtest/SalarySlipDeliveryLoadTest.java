@@ -0,0 +1,203 @@
+package com.karandev.paymaster.loadtest;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.DeliveryStatus;
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.EmployeeSalaryStructure;
+import com.karandev.paymaster.entity.Gender;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+import com.karandev.paymaster.entity.PayrollRunMode;
+import com.karandev.paymaster.entity.SalarySlipDelivery;
+import com.karandev.paymaster.repository.CompanyRepository;
+import com.karandev.paymaster.repository.EmployeeRepository;
+import com.karandev.paymaster.repository.EmployeeSalaryStructureRepository;
+import com.karandev.paymaster.repository.PayrollConfigurationRepository;
+import com.karandev.paymaster.repository.SalarySlipDeliveryRepository;
+import com.karandev.paymaster.service.impl.PayrollRunEngine;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for salary slip delivery: runs a full payroll for a synthetic company and reports
+ * how fast the slips reach an embedded SMTP server. The {@code loadtest} profile replaces MySQL
+ * with H2 and Gmail with GreenMail behind a {@link FaultInjectingSmtpProxy}, both on free
+ * ports. It is tagged {@code perf} and left out of the default build; the defaults in
+ * {@code application-loadtest.yml} keep it short, and for a real load test they can be raised on
+ * the command line, for example
+ * <pre>
+ * mvn -Pperf test -Dtest=SalarySlipDeliveryLoadTest -Dloadtest.employees=5000 \
+ *     -Dloadtest.smtp.reply-latency-ms=25 -Dloadtest.smtp.drop-rate=0.02
+ * </pre>
+ */
+@Tag("perf")
+@SpringBootTest
+@ActiveProfiles("loadtest")
+// Stops the delivery workers once done
+@DirtiesContext
+class SalarySlipDeliveryLoadTest {
+
+	private static final Logger log = LoggerFactory.getLogger(SalarySlipDeliveryLoadTest.class);
+
+	static GreenMail greenMail;
+	static FaultInjectingSmtpProxy smtpProxy;
+
+	@DynamicPropertySource
+	static void smtp(DynamicPropertyRegistry registry) throws IOException {
+		greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+		greenMail.start();
+		// The account the loadtest profile sends as
+		greenMail.setUser("payroll@example.com", "secret");
+		smtpProxy = new FaultInjectingSmtpProxy(0, greenMail.getSmtp().getPort());
+		registry.add("spring.mail.port", smtpProxy::port);
+	}
+
+	@AfterAll
+	static void stopSmtp() throws IOException {
+		smtpProxy.close();
+		greenMail.stop();
+	}
+
+	@Autowired CompanyRepository companyRepository;
+	@Autowired EmployeeRepository employeeRepository;
+	@Autowired EmployeeSalaryStructureRepository salaryStructureRepository;
+	@Autowired PayrollConfigurationRepository payrollConfigurationRepository;
+	@Autowired SalarySlipDeliveryRepository deliveryRepository;
+	@Autowired PayrollRunEngine payrollRunEngine;
+
+	@Value("${loadtest.employees}")
+	int employees;
+
+	@Value("${loadtest.timeout-s}")
+	long timeoutSeconds;
+
+	@Value("${loadtest.smtp.reply-latency-ms}")
+	long replyLatencyMs;
+
+	@Value("${loadtest.smtp.drop-rate}")
+	double dropRate;
+
+	@Test
+	void deliversAPayrollRunsSlips() throws Exception {
+		createCompany(employees);
+		smtpProxy.inject(replyLatencyMs, dropRate);
+
+		YearMonth period = YearMonth.now();
+		LocalDateTime started = LocalDateTime.now();
+		payrollRunEngine.startAsync(period.getMonthValue(), period.getYear(), PayrollRunMode.GENERATE);
+
+		List<SalarySlipDelivery> deliveries = awaitDeliveries(started.plusSeconds(timeoutSeconds));
+
+		List<SalarySlipDelivery> sent = deliveries.stream().filter(d -> d.getStatus() == DeliveryStatus.SENT).toList();
+		long failed = deliveries.stream().filter(d -> d.getStatus() == DeliveryStatus.FAILED).count();
+		long pending = deliveries.size() - sent.size() - failed;
+		int retries = deliveries.stream().mapToInt(SalarySlipDelivery::getAttempts).sum();
+
+		// End to end: from the slip entering the outbox to the SMTP server accepting it
+		long[] latencies = sent.stream()
+				.mapToLong(d -> Duration.between(d.getCreatedAt(), d.getSentAt()).toMillis())
+				.sorted()
+				.toArray();
+		LocalDateTime finished = sent.stream().map(SalarySlipDelivery::getSentAt).max(LocalDateTime::compareTo).orElse(started);
+		double seconds = Math.max(1, Duration.between(started, finished).toMillis()) / 1000.0;
+
+		log.info("""
+						Salary slip delivery load test: {} employees, {} ms per SMTP reply, {}% of messages dropped
+						  delivered  {} slips in {} s, {} slips/s
+						  latency    p50 {} ms, p99 {} ms (outbox to SMTP)
+						  failures   {} dead-lettered, {} unfinished, {} retried attempts, {} connections dropped
+						  received   {} messages""",
+				employees, replyLatencyMs, String.format("%.1f", dropRate * 100),
+				sent.size(), String.format("%.1f", seconds), String.format("%.1f", sent.size() / seconds),
+				percentile(latencies, 50), percentile(latencies, 99),
+				failed, pending, retries, smtpProxy.dropped(),
+				greenMail.getReceivedMessages().length);
+
+		assertThat(deliveries).hasSize(employees);
+		assertThat(greenMail.getReceivedMessages()).hasSize(sent.size());
+		if (dropRate == 0) {
+			assertThat(sent).hasSize(employees);
+		}
+	}
+
+	private void createCompany(int employeeCount) {
+		Company company = new Company();
+		company.setName("Load Test Company");
+		company.setAddress("1 Test Street");
+		company = companyRepository.save(company);
+
+		PayrollConfiguration configuration = new PayrollConfiguration();
+		configuration.setCompany(company);
+		configuration.setHraPercentage(new BigDecimal("40"));
+		configuration.setPfEmployeePercentage(new BigDecimal("12"));
+		configuration.setPfEmployerPercentage(new BigDecimal("12"));
+		configuration.setTaxSlab1Limit(new BigDecimal("300000"));
+		configuration.setTaxSlab1Rate(BigDecimal.ZERO);
+		configuration.setTaxSlab2Limit(new BigDecimal("700000"));
+		configuration.setTaxSlab2Rate(new BigDecimal("5"));
+		configuration.setTaxSlab3Rate(new BigDecimal("20"));
+		payrollConfigurationRepository.save(configuration);
+
+		List<Employee> staff = new ArrayList<>(employeeCount);
+		for (int i = 0; i < employeeCount; i++) {
+			Employee employee = new Employee();
+			employee.setCompany(company);
+			employee.setEmpCode(String.format("LT%05d", i));
+			employee.setName("Employee " + i);
+			employee.setEmail("employee" + i + "@example.com");
+			employee.setGender(i % 2 == 0 ? Gender.MALE : Gender.FEMALE);
+			staff.add(employee);
+		}
+		staff = employeeRepository.saveAll(staff);
+
+		List<EmployeeSalaryStructure> structures = new ArrayList<>(employeeCount);
+		for (int i = 0; i < employeeCount; i++) {
+			EmployeeSalaryStructure structure = new EmployeeSalaryStructure();
+			structure.setCompany(company);
+			structure.setEmployee(staff.get(i));
+			structure.setBasicSalary(new BigDecimal(20000 + (i % 50) * 1000));
+			structures.add(structure);
+		}
+		salaryStructureRepository.saveAll(structures);
+	}
+
+	private List<SalarySlipDelivery> awaitDeliveries(LocalDateTime deadline) throws InterruptedException {
+		while (true) {
+			List<SalarySlipDelivery> deliveries = deliveryRepository.findAll();
+			boolean done = deliveries.size() == employees && deliveries.stream()
+					.allMatch(d -> d.getStatus() == DeliveryStatus.SENT || d.getStatus() == DeliveryStatus.FAILED);
+			if (done || LocalDateTime.now().isAfter(deadline)) {
+				return deliveries;
+			}
+			Thread.sleep(200);
+		}
+	}
+
+	private static long percentile(long[] sorted, int percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1)];
+	}
+}
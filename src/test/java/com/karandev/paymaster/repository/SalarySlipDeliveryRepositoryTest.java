@@ -0,0 +1,124 @@
+package com.karandev.paymaster.repository;
+
+import com.karandev.paymaster.PayrollFixtures;
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.DeliveryStatus;
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.SalarySlipDelivery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(PayrollFixtures.class)
+class SalarySlipDeliveryRepositoryTest {
+
+	private static final Duration STALE_CLAIM = Duration.ofMinutes(10);
+
+	@Autowired PayrollFixtures fixtures;
+	@Autowired SalarySlipDeliveryRepository deliveryRepository;
+	@Autowired PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate tx;
+
+	@BeforeEach
+	void setUp() {
+		fixtures.clear();
+		tx = new TransactionTemplate(transactionManager);
+
+		Company company = fixtures.company();
+		for (Employee employee : fixtures.employees(company, 10)) {
+			fixtures.delivery(fixtures.payroll(employee, 1, 2026));
+		}
+	}
+
+	@Test
+	void concurrentClaimersNeverGetTheSameRow() throws Exception {
+		CountDownLatch firstHoldsLocks = new CountDownLatch(1);
+		CountDownLatch secondDone = new CountDownLatch(1);
+
+		CompletableFuture<List<UUID>> first = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+			List<UUID> ids = claim(6);
+			firstHoldsLocks.countDown();
+			await(secondDone);
+			return ids;
+		}));
+		assertThat(firstHoldsLocks.await(10, TimeUnit.SECONDS)).isTrue();
+
+		List<UUID> second;
+		try {
+			// Skips the rows the first claimer holds instead of waiting for them. H2 locks every row
+			// the query reads, so this gets nothing here; MySQL hands out the other four.
+			second = tx.execute(status -> claim(10));
+		} finally {
+			secondDone.countDown();
+		}
+		List<UUID> firstClaimed = first.get(10, TimeUnit.SECONDS);
+		List<UUID> rest = tx.execute(status -> claim(10));
+
+		assertThat(firstClaimed).hasSize(6);
+		assertThat(second).doesNotContainAnyElementsOf(firstClaimed);
+		List<UUID> all = new ArrayList<>(firstClaimed);
+		all.addAll(second);
+		all.addAll(rest);
+		assertThat(all).hasSize(10).doesNotHaveDuplicates();
+		assertThat(deliveryRepository.findAll()).allMatch(d -> d.getStatus() == DeliveryStatus.IN_PROGRESS);
+	}
+
+	@Test
+	void expiredClaimIsPickedUpAgain() {
+		LocalDateTime claimedAt = LocalDateTime.now();
+		List<UUID> claimed = tx.execute(status -> claim(10));
+		long claimVersion = deliveryRepository.findById(claimed.get(0)).orElseThrow().getVersion();
+
+		// A live dispatcher refreshes the first half of its claims; the rest belong to one that died
+		LocalDateTime later = claimedAt.plus(STALE_CLAIM).plusMinutes(1);
+		tx.execute(status -> deliveryRepository.touchClaims(claimed.subList(0, 5), later));
+		int released = tx.execute(status -> deliveryRepository.releaseStaleClaims(later.minus(STALE_CLAIM)));
+
+		assertThat(released).isEqualTo(5);
+		List<UUID> reclaimed = tx.execute(status -> claim(10));
+		assertThat(reclaimed).containsExactlyInAnyOrderElementsOf(claimed.subList(5, 10));
+
+		// The dispatcher that lost the claim can no longer take it over for sending
+		int taken = tx.execute(status -> deliveryRepository.takeClaim(claimed.get(5), claimVersion, later));
+		assertThat(taken).isZero();
+		int stillHeld = tx.execute(status -> deliveryRepository.takeClaim(claimed.get(0), claimVersion, later));
+		assertThat(stillHeld).isOne();
+	}
+
+	// What the dispatcher does in its claim transaction
+	private List<UUID> claim(int limit) {
+		List<SalarySlipDelivery> due = deliveryRepository.findDueForUpdate(
+				DeliveryStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, limit));
+		due.forEach(delivery -> delivery.setStatus(DeliveryStatus.IN_PROGRESS));
+		deliveryRepository.flush();
+		return due.stream().map(SalarySlipDelivery::getDeliveryId).toList();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package com.karandev.paymaster.service.impl;
+
+import com.karandev.paymaster.PayrollFixtures;
+import com.karandev.paymaster.entity.Company;
+import com.karandev.paymaster.entity.Employee;
+import com.karandev.paymaster.entity.EmployeePayroll;
+import com.karandev.paymaster.entity.EmployeeSalaryStructure;
+import com.karandev.paymaster.entity.PayrollConfiguration;
+import com.karandev.paymaster.entity.PayrollRun;
+import com.karandev.paymaster.entity.PayrollRunMode;
+import com.karandev.paymaster.entity.PayrollRunPartition;
+import com.karandev.paymaster.entity.PayrollRunStatus;
+import com.karandev.paymaster.repository.EmployeePayrollRepository;
+import com.karandev.paymaster.repository.EmployeeSalaryStructureRepository;
+import com.karandev.paymaster.repository.PayrollConfigurationRepository;
+import com.karandev.paymaster.repository.PayrollRunPartitionRepository;
+import com.karandev.paymaster.repository.PayrollRunRepository;
+import com.karandev.paymaster.repository.SalarySlipDeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(PayrollFixtures.class)
+class PayrollRunEngineTest {
+
+	private static final int EMPLOYEES = 23;
+	private static final int MONTH = 1;
+	private static final int YEAR = 2026;
+
+	@Autowired PayrollFixtures fixtures;
+	@Autowired PayrollRunEngine engine;
+	@Autowired PayrollRunLedger ledger;
+	@Autowired PayrollPartitionProcessor partitionProcessor;
+	@Autowired PayrollRunRepository runRepository;
+	@Autowired PayrollRunPartitionRepository partitionRepository;
+	@Autowired EmployeePayrollRepository payrollRepository;
+	@Autowired SalarySlipDeliveryRepository deliveryRepository;
+	@Autowired EmployeeSalaryStructureRepository structureRepository;
+	@Autowired PayrollConfigurationRepository configurationRepository;
+
+	@Value("${app.payroll.run.chunk-size}")
+	int chunkSize;
+
+	@Value("${app.payroll.run.checkpoint-size}")
+	int checkpointSize;
+
+	private Company company;
+	private PayrollConfiguration configuration;
+	private List<Employee> employees;
+
+	@BeforeEach
+	void setUp() {
+		fixtures.clear();
+		company = fixtures.company();
+		configuration = fixtures.configuration(company);
+		employees = fixtures.employees(company, EMPLOYEES);
+	}
+
+	@Test
+	void resumesAnInterruptedRunFromEachPartitionsCursor() throws Exception {
+		UUID runId = ledger.planRun(MONTH, YEAR, PayrollRunMode.GENERATE, chunkSize).getRunId();
+		List<UUID> partitionIds = ledger.startRun(runId);
+		assertThat(partitionIds).hasSize(3);
+
+		// The instance stops after every partition committed its first checkpoint
+		for (UUID partitionId : partitionIds) {
+			partitionProcessor.processCheckpoint(partitionId);
+		}
+		int firstCheckpoints = 2 * checkpointSize + (EMPLOYEES - 2 * chunkSize);
+		assertThat(payrollRepository.count()).isEqualTo(firstCheckpoints);
+		assertThat(partitionRepository.findByRun_RunId(runId))
+				.allSatisfy(partition -> assertThat(partition.getCursorEmployeeId()).isNotNull());
+
+		// The next instance picks the run up on startup
+		LocalDateTime resumed = LocalDateTime.now();
+		engine.resumeInterruptedRuns();
+		PayrollRun run = awaitFinished(runId, resumed);
+
+		assertThat(run.getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+		List<PayrollRunPartition> partitions = partitionRepository.findByRun_RunId(runId);
+		assertThat(partitions).allSatisfy(partition -> {
+			assertThat(partition.getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+			// Resumed past the cursor, not rescanned from the partition's start
+			assertThat(partition.getProcessedEmployees()).isEqualTo(partition.getPlannedEmployees());
+			assertThat(partition.getGeneratedPayrolls()).isEqualTo(partition.getPlannedEmployees());
+		});
+
+		// One payroll and one queued slip for every employee
+		List<UUID> paid = payrollRepository.findByMonthAndYearAndEmployee_EmployeeIdIn(MONTH, YEAR,
+						employees.stream().map(Employee::getEmployeeId).toList())
+				.stream()
+				.map(payroll -> payroll.getEmployee().getEmployeeId())
+				.toList();
+		assertThat(paid).doesNotHaveDuplicates()
+				.containsExactlyInAnyOrderElementsOf(employees.stream().map(Employee::getEmployeeId).toList());
+		assertThat(deliveryRepository.count()).isEqualTo(EMPLOYEES);
+	}
+
+	@Test
+	void resumingACompletedRunGeneratesNothing() throws Exception {
+		LocalDateTime started = LocalDateTime.now();
+		UUID runId = engine.startAsync(MONTH, YEAR, PayrollRunMode.GENERATE);
+		assertThat(awaitFinished(runId, started).getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+		List<EmployeePayroll> generated = payrollRepository.findAll();
+
+		LocalDateTime resumed = LocalDateTime.now();
+		engine.resumeAsync(runId);
+		PayrollRun run = awaitFinished(runId, resumed);
+
+		assertThat(run.getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+		assertThat(payrollRepository.findAll()).hasSameSizeAs(generated).hasSize(EMPLOYEES);
+		assertThat(partitionRepository.findByRun_RunId(runId).stream().mapToInt(PayrollRunPartition::getProcessedEmployees).sum())
+				.isEqualTo(EMPLOYEES);
+	}
+
+	@Test
+	void regenerationRecalculatesOnlyChangedEmployees() throws Exception {
+		UUID generateRun = run(PayrollRunMode.GENERATE);
+		assertThat(generatedPayrolls(generateRun)).isEqualTo(EMPLOYEES);
+		Map<UUID, LocalDateTime> generatedAt = generatedAtByEmployee();
+
+		// Nothing changed: every employee is skipped
+		assertThat(generatedPayrolls(run(PayrollRunMode.REGENERATE))).isZero();
+		assertThat(generatedAtByEmployee()).isEqualTo(generatedAt);
+
+		// A raise for one employee recalculates only their payroll
+		Employee raised = employees.get(7);
+		EmployeeSalaryStructure structure = structureRepository
+				.findByEmployee_EmployeeIdAndCompany_CompanyId(raised.getEmployeeId(), company.getCompanyId())
+				.orElseThrow();
+		structure.setBasicSalary(structure.getBasicSalary().add(new BigDecimal("5000")));
+		structureRepository.save(structure);
+
+		assertThat(generatedPayrolls(run(PayrollRunMode.REGENERATE))).isOne();
+		Map<UUID, LocalDateTime> regeneratedAt = generatedAtByEmployee();
+		assertThat(regeneratedAt.get(raised.getEmployeeId())).isAfter(generatedAt.get(raised.getEmployeeId()));
+		regeneratedAt.remove(raised.getEmployeeId());
+		generatedAt.remove(raised.getEmployeeId());
+		assertThat(regeneratedAt).isEqualTo(generatedAt);
+		assertThat(payrollRepository.findByMonthAndYearAndEmployee_EmployeeIdIn(MONTH, YEAR, List.of(raised.getEmployeeId())))
+				.singleElement()
+				.satisfies(payroll -> assertThat(payroll.getBasicSalary()).isEqualByComparingTo(structure.getBasicSalary()));
+
+		// A new payroll configuration recalculates everyone
+		configuration.setIsActive(false);
+		configurationRepository.save(configuration);
+		fixtures.configuration(company);
+		assertThat(generatedPayrolls(run(PayrollRunMode.REGENERATE))).isEqualTo(EMPLOYEES);
+	}
+
+	private UUID run(PayrollRunMode mode) throws InterruptedException {
+		LocalDateTime started = LocalDateTime.now();
+		UUID runId = engine.startAsync(MONTH, YEAR, mode);
+		assertThat(awaitFinished(runId, started).getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+		return runId;
+	}
+
+	private int generatedPayrolls(UUID runId) {
+		return partitionRepository.findByRun_RunId(runId).stream().mapToInt(PayrollRunPartition::getGeneratedPayrolls).sum();
+	}
+
+	private Map<UUID, LocalDateTime> generatedAtByEmployee() {
+		return payrollRepository.findAll().stream()
+				.collect(Collectors.toMap(payroll -> payroll.getEmployee().getEmployeeId(), EmployeePayroll::getGeneratedAt));
+	}
+
+	// Waits for the execution started after the given time to finish the run
+	private PayrollRun awaitFinished(UUID runId, LocalDateTime startedAfter) throws InterruptedException {
+		LocalDateTime deadline = LocalDateTime.now().plusSeconds(30);
+		while (true) {
+			PayrollRun run = runRepository.findById(runId).orElseThrow();
+			if (run.getCompletedAt() != null && run.getCompletedAt().isAfter(startedAfter)) {
+				return run;
+			}
+			assertThat(LocalDateTime.now()).as("payroll run finished").isBefore(deadline);
+			Thread.sleep(50);
+		}
+	}
+}